@@ -7,12 +7,16 @@ if [ -z $CURRENT_PID ];
 then
   echo "> 현재 구동중인 Docker 컨테이너가 없으므로 종료하지 않습니다." >> /home/ubuntu/deploy.log
 else
-  echo "> sudo docker stop $CURRENT_PID" >> /home/ubuntu/deploy.log  # 현재 구동중인 Docker 컨테이너가 있다면 모두 중지
-  sudo docker stop $CURRENT_PID
+  echo "> sudo docker stop -t 40 $CURRENT_PID" >> /home/ubuntu/deploy.log  # 현재 구동중인 Docker 컨테이너가 있다면 모두 중지
+  # SSE 연결을 나눠서 끊을 시간을 준다 (기본 10초면 강제 종료됨)
+  sudo docker stop -t 40 $CURRENT_PID
   sudo docker rm $CURRENT_PID
   sleep 5
 fi
 
 cd /home/ubuntu/app
 sudo docker build -t ap .
-sudo docker run -d -p 8080:8080 ap
\ No newline at end of file
+# 채팅 보관 세그먼트는 컨테이너를 지워도 남도록 호스트 디렉터리에 둔다 (서버가 여러 대면 공유 저장소(NFS 등)를 마운트한 경로)
+CHAT_ARCHIVE_HOST_DIR=${CHAT_ARCHIVE_HOST_DIR:-/srv/todo/chat-archive}
+sudo mkdir -p $CHAT_ARCHIVE_HOST_DIR
+sudo docker run -d -p 8080:8080 -v $CHAT_ARCHIVE_HOST_DIR:/chat-archive -e CHAT_ARCHIVE_DIR=/chat-archive ap
@@ -0,0 +1,46 @@
+package com.example.todo.api.chat;
+
+import com.example.todo.dto.chat.ChatMessageDto;
+import com.example.todo.dto.chat.ChatRoomDto;
+import com.example.todo.service.chat.ChatRoomService;
+import com.example.todo.service.chat.ChatService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+public class ChatApiController {
+    private final ChatService chatService;
+    private final ChatRoomService chatRoomService;
+
+    //업무 채팅방 입장 (방이 없으면 만든다)
+    @PostMapping("/api/team/{teamId}/tasks/{taskId}/chat-room")
+    public ChatRoomDto enterRoom(
+            @PathVariable("teamId") Long teamId,
+            @PathVariable("taskId") Long taskId,
+            Authentication authentication) {
+        Long userId = Long.parseLong(authentication.getName());
+        return chatRoomService.enterRoom(userId, teamId, taskId);
+    }
+
+    @GetMapping("/chat/rooms/{roomId}/name")
+    public ChatRoomDto readRoomName(
+            @PathVariable("roomId") Long roomId,
+            Authentication authentication) {
+        Long userId = Long.parseLong(authentication.getName());
+        return chatRoomService.readRoom(userId, roomId);
+    }
+
+    //최신 메시지부터 조회, 다음 페이지는 받은 마지막 메시지 id를 beforeId로 보낸다
+    @GetMapping("/chat/rooms/{roomId}/messages")
+    public Slice<ChatMessageDto> readMessages(
+            @PathVariable("roomId") Long roomId,
+            @RequestParam(value = "beforeId", required = false) Long beforeId,
+            @RequestParam(value = "limit", defaultValue = "50") Integer limit,
+            Authentication authentication) {
+        Long userId = Long.parseLong(authentication.getName());
+        return chatService.readMessages(userId, roomId, beforeId, limit);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.todo.api.chat;
+
+import com.example.todo.config.filter.StompAuthInterceptor;
+import com.example.todo.dto.chat.ChatMessageDto;
+import com.example.todo.dto.chat.ChatPresenceDto;
+import com.example.todo.dto.chat.ChatTypingDto;
+import com.example.todo.service.chat.ChatPresence;
+import com.example.todo.service.chat.ChatRoomService;
+import com.example.todo.service.chat.ChatService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class ChatController {
+    private final ChatService chatService;
+    private final ChatRoomService chatRoomService;
+    private final ChatPresence chatPresence;
+
+    @GetMapping("/chat/{roomId}/{nickname}")
+    public String chatRoom(@PathVariable("roomId") Long roomId, @PathVariable("nickname") String nickname) {
+        return "chat-room";
+    }
+
+    //STOMP /app/chat 으로 보낸 메시지
+    @MessageMapping("/chat")
+    public void send(@Payload ChatMessageDto chatMessageDto, Principal principal, SimpMessageHeaderAccessor accessor) {
+        String writer = checkRoom(chatMessageDto.getRoomId(), principal, accessor);
+        chatService.send(chatMessageDto.getRoomId(), writer, chatMessageDto.getMessage());
+    }
+
+    //STOMP /app/chat/typing 입력 중 표시, 저장하지 않고 방 구독자에게만 전달
+    @MessageMapping("/chat/typing")
+    public void typing(@Payload ChatTypingDto chatTypingDto, Principal principal, SimpMessageHeaderAccessor accessor) {
+        String writer = checkRoom(chatTypingDto.getRoomId(), principal, accessor);
+        chatService.typing(chatTypingDto.getRoomId(), writer, chatTypingDto.isTyping());
+    }
+
+    //STOMP /app/chat/presence 접속 유지 하트비트
+    @MessageMapping("/chat/presence")
+    public void presence(@Payload ChatPresenceDto chatPresenceDto, Principal principal, SimpMessageHeaderAccessor accessor) {
+        String writer = checkRoom(chatPresenceDto.getRoomId(), principal, accessor);
+        chatPresence.refresh(chatPresenceDto.getRoomId(), writer);
+    }
+
+    //방 권한을 확인하고 세션의 사용자 이름을 돌려준다, 구독할 때 확인한 방이면 DB를 다시 조회하지 않는다
+    private String checkRoom(Long roomId, Principal principal, SimpMessageHeaderAccessor accessor) {
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        Set<Long> roomIds = StompAuthInterceptor.roomIds(sessionAttributes);
+        if (!roomIds.contains(roomId)) {
+            chatRoomService.checkMember(Long.parseLong(principal.getName()), roomId);
+            roomIds.add(roomId);
+        } else {
+            // 구독한 뒤에 지워진 방
+            chatRoomService.checkOpen(roomId);
+        }
+        return (String) sessionAttributes.get(StompAuthInterceptor.SESSION_USERNAME);
+    }
+
+    @MessageExceptionHandler
+    public void handleException(Exception e) {
+        log.debug("chat message rejected : {}", e.getMessage());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.todo.api.notification;
+
+import com.example.todo.domain.Response;
+import com.example.todo.dto.NotificationMetricsDto;
+import com.example.todo.service.notification.NotificationDispatcher;
+import com.example.todo.service.notification.ReactiveNotificationHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/notifications")
+public class AdminNotificationApiController {
+    private final NotificationDispatcher notificationDispatcher;
+    private final ReactiveNotificationHub reactiveNotificationHub;
+
+    //이 서버의 SSE 연결 수, 큐 깊이, 전송 지연
+    @GetMapping("/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Response<NotificationMetricsDto> readMetrics() {
+        NotificationMetricsDto metrics = notificationDispatcher.getMetrics();
+        metrics.setReactiveConnections(reactiveNotificationHub.count());
+        return Response.success(metrics);
+    }
+}
@@ -1,64 +1,95 @@
 package com.example.todo.api.notification;
 
 import com.example.todo.dto.NotificationDto;
+import com.example.todo.dto.NotificationReadDto;
+import com.example.todo.dto.NotificationUnreadCountDto;
+import com.example.todo.dto.ResponseDto;
+import com.example.todo.exception.ErrorCode;
+import com.example.todo.exception.TodoAppException;
+import com.example.todo.service.notification.NotificationInboxService;
 import com.example.todo.service.notification.NotificationService;
+import com.example.todo.service.notification.ReactiveNotificationService;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
 
-import java.io.IOException;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("api/notifications")
 public class NotificationController {
     private final NotificationService notificationService;
-    // SSE를 저장할 리스트를 생성
-    private List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final NotificationInboxService notificationInboxService;
+    private final ReactiveNotificationService reactiveNotificationService;
 
     //다른 도메인으로부터 Http요청 허용
     @CrossOrigin
-    //메시지를 읽을 수 있는 출력창
+    //메시지를 읽을 수 있는 출력창 (전체 공지 구독)
     @RequestMapping(value = "/subscribe", consumes = MediaType.ALL_VALUE)
     public SseEmitter subscribe(final HttpServletResponse response) {
-
-        //한글
-        response.setContentType("text/event-stream");
-        response.setCharacterEncoding("UTF-8");
-
-        SseEmitter sseEmitter = new SseEmitter(60L * 1000 * 60);
-        emitters.add(sseEmitter);
-
-        // SseEmitter가 완료될 때 emitters 리스트에서 제거
-        //SseEmitter는 한번 응답을 보내고 나면 완료된 상태가 되기에
-        //다시 사용하기 전에 응답을 보낸 SseEmitter 객체를 제거
-        sseEmitter.onCompletion(() -> {
-            emitters.remove(sseEmitter);
-        });
-        updateNews(new NotificationDto());
-        return sseEmitter;
+        return notificationService.subscribeBroadcast(response);
     }
-    //아래는 Service에서 호출한다.
+    //전체 공지 구독자에게 보낸다
     @PostMapping(value = "/updateNews")
     public void updateNews(@RequestBody NotificationDto notificationDto) {
-        for (SseEmitter emitter : emitters) {
-            try {
-                SseEmitter.SseEventBuilder eventBuilder = SseEmitter.event().data(notificationDto);
-                emitter.send(eventBuilder);
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
+        notificationService.broadcast(notificationDto);
     }
-    //개별 구독 페이지
+    //개별 구독 페이지 (로그인한 본인만, Authorization 헤더 필요)
+    //재연결 시 브라우저가 보내는 Last-Event-ID 이후 알림을 다시 받는다
     @GetMapping(value = "/subscribe/{userId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter subscribe(@PathVariable Long userId, final HttpServletResponse response) {
-        return notificationService.subscribe(userId, response);
+    public SseEmitter subscribe(Authentication authentication,
+                                @PathVariable Long userId,
+                                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                final HttpServletResponse response) {
+        checkOwner(authentication, userId);
+        return notificationService.subscribe(userId, lastEventId, response);
+    }
+
+    //Reactor 기반 알림 스트림 (SseEmitter, 연결별 전송 큐 없이 동작)
+    //Spring MVC 위에서 동작하므로 연결마다 서블릿 비동기 요청 하나를 차지한다 (ReactiveNotificationService 참고)
+    @GetMapping(value = "/stream/{userId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> stream(Authentication authentication,
+                                                @PathVariable Long userId,
+                                                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        checkOwner(authentication, userId);
+        return reactiveNotificationService.stream(userId, lastEventId);
+    }
+
+    //받은 알림함
+    @GetMapping("/inbox")
+    public Slice<NotificationDto> readInbox(Authentication authentication,
+                                            @RequestParam(value = "page", defaultValue = "0") Integer page,
+                                            @RequestParam(value = "limit", defaultValue = "20") Integer limit,
+                                            @RequestParam(value = "unreadOnly", defaultValue = "false") boolean unreadOnly) {
+        Long userId = Long.parseLong(authentication.getName());
+        return notificationInboxService.readInbox(userId, page, limit, unreadOnly);
+    }
+
+    //안 읽은 알림 수 (헤더 배지용)
+    @GetMapping("/unread-count")
+    public NotificationUnreadCountDto getUnreadCount(Authentication authentication) {
+        Long userId = Long.parseLong(authentication.getName());
+        return notificationInboxService.getUnreadCount(userId);
+    }
+
+    //알림 읽음 처리
+    @PutMapping("/read")
+    public ResponseDto markRead(Authentication authentication,
+                                @RequestBody NotificationReadDto notificationReadDto) {
+        Long userId = Long.parseLong(authentication.getName());
+        int count = notificationInboxService.markRead(userId, notificationReadDto);
+
+        ResponseDto responseDto = new ResponseDto();
+        responseDto.setMessage(count + "개의 알림을 읽음 처리했습니다.");
+        return responseDto;
     }
     // 클라이언트가 데이터를 수신하기 위해 사용할 엔드포인트
     @PostMapping("/sendData/{userId}")
@@ -66,6 +97,13 @@ public class NotificationController {
         notificationService.notify(userId, "data");
     }
 
+    //연결을 만들기 전에 확인한다 (다른 사용자의 알림을 받거나, 사용자별 연결 수 제한으로 본인 연결을 끊지 못하도록)
+    private static void checkOwner(Authentication authentication, Long userId) {
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !userId.equals(Long.parseLong(authentication.getName())))
+            throw new TodoAppException(ErrorCode.NOT_MATCH_USERID);
+    }
+
     @GetMapping("/api/notifications/subscribe/{taskId}")
     public String showNotification(@PathVariable Long taskId, Model model) {
         // 업무 수정 메시지 생성 또는 데이터베이스에서 가져오기
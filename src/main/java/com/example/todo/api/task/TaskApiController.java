@@ -10,8 +10,10 @@ import com.example.todo.service.task.TaskApiService;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -42,6 +44,16 @@ public class TaskApiController {
         return service.readTask(teamId, taskId, userId);
     }
 
+    //업무 실시간 채널 (폴링 대신 변경 내용만 받아서 화면을 고친다)
+    @GetMapping(value = "/{taskId}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter live(
+            @PathVariable("teamId") Long teamId,
+            @PathVariable("taskId") Long taskId,
+            Authentication authentication) {
+        Long userId = Long.parseLong(authentication.getName());
+        return service.subscribeLive(userId, teamId, taskId);
+    }
+
     @GetMapping
     public List<TaskApiDto> readAll(
             Authentication authentication,
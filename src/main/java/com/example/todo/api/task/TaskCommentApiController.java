@@ -8,7 +8,7 @@ import com.example.todo.dto.task.TaskCommentUpdateDto;
 import com.example.todo.service.notification.NotificationService;
 import com.example.todo.service.task.TaskCommentService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -34,13 +34,13 @@ public class TaskCommentApiController {
     }
 
     @GetMapping
-    public Page<TaskCommentReadDto> readTaskCommentReadDtoPage(Authentication authentication,
+    public Slice<TaskCommentReadDto> readTaskCommentReadDtoPage(Authentication authentication,
                                                                @PathVariable("teamId") Long teamId,
                                                                @PathVariable("taskId") Long taskId,
                                                                @RequestParam(value = "page", defaultValue = "0") Integer page,
                                                                @RequestParam(value = "limit", defaultValue = "10") Integer limit) {
         Long userId = Long.parseLong(authentication.getName());
-        Page<TaskCommentReadDto> taskCommentReadDtoPage = taskCommentService.readTaskCommentsPage(userId, teamId, taskId, page, limit);
+        Slice<TaskCommentReadDto> taskCommentReadDtoPage = taskCommentService.readTaskCommentsPage(userId, teamId, taskId, page, limit);
         return taskCommentReadDtoPage;
     }
 
@@ -57,6 +57,31 @@ public class TaskCommentApiController {
         responseDto.setMessage("Task에 댓글이 수정되었습니다.");
         return responseDto;
     }
+    @DeleteMapping("/{commentId}")
+    public ResponseDto deleteTaskComment(Authentication authentication,
+                                         @PathVariable("teamId") Long teamId,
+                                         @PathVariable("taskId") Long taskId,
+                                         @PathVariable("commentId") Long commentId) {
+        Long userId = Long.parseLong(authentication.getName());
+        taskCommentService.deleteTaskComment(userId, teamId, taskId, commentId);
+
+        ResponseDto responseDto = new ResponseDto();
+        responseDto.setMessage("Task의 댓글이 삭제되었습니다.");
+        return responseDto;
+    }
+
+    //답글 목록 (댓글 목록에는 최신 답글 미리보기만 포함)
+    @GetMapping("/{commentId}/replies")
+    public Slice<TaskCommentReplyDto> readReplies(Authentication authentication,
+                                                  @PathVariable("teamId") Long teamId,
+                                                  @PathVariable("taskId") Long taskId,
+                                                  @PathVariable("commentId") Long commentId,
+                                                  @RequestParam(value = "page", defaultValue = "0") Integer page,
+                                                  @RequestParam(value = "limit", defaultValue = "20") Integer limit) {
+        Long userId = Long.parseLong(authentication.getName());
+        return taskCommentService.readReplies(userId, teamId, taskId, commentId, page, limit);
+    }
+
     //답글 달기
     @PostMapping("/{commentId}/reply")
     public ResponseDto addReply(
@@ -72,4 +97,19 @@ public class TaskCommentApiController {
         responseDto.setMessage("댓글에 답글을 남겼습니다.");
         return responseDto;
     }
+
+    //답글 삭제
+    @DeleteMapping("/{commentId}/reply/{replyId}")
+    public ResponseDto deleteReply(Authentication authentication,
+                                   @PathVariable("teamId") Long teamId,
+                                   @PathVariable("taskId") Long taskId,
+                                   @PathVariable("commentId") Long commentId,
+                                   @PathVariable("replyId") Long replyId) {
+        Long userId = Long.parseLong(authentication.getName());
+        taskCommentService.deleteReply(userId, teamId, taskId, commentId, replyId);
+
+        ResponseDto responseDto = new ResponseDto();
+        responseDto.setMessage("답글이 삭제되었습니다.");
+        return responseDto;
+    }
 }
@@ -3,6 +3,7 @@ package com.example.todo.api.team;
 import com.example.todo.dto.ResponseDto;
 import com.example.todo.dto.team.*;
 //import com.example.todo.facade.RedissonLockTeamFacade;
+import com.example.todo.service.read.TeamDetailsReadService;
 import com.example.todo.service.team.TeamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,12 +12,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/team")
 @RequiredArgsConstructor
 public class TeamController {
     private final TeamService teamService;
+    private final TeamDetailsReadService teamDetailsReadService;
 //    private final RedissonLockTeamFacade redissonLockStockFacade;
 
     @GetMapping
@@ -29,6 +33,12 @@ public class TeamController {
         return "team-search.html";
     }
 
+    @GetMapping("/autocomplete")
+    public List<TeamAutocompleteDto> autocompleteTeam(@RequestParam("prefix") String prefix,
+                                                      @RequestParam(value = "limit", defaultValue = "10") Integer limit) {
+        return teamService.autocompleteTeam(prefix, limit);
+    }
+
     @GetMapping("/search")
     public Page<TeamOverviewDto> searchTeam(@RequestParam("keyword") String keyword,
                                             @RequestParam(value = "page", defaultValue = "0") Integer page,
@@ -38,9 +48,19 @@ public class TeamController {
 
     @GetMapping("/{teamId}")
     public TeamDetailsDto getTeamPage(Authentication authentication,
-                                         @PathVariable("teamId") Long teamId) {
+                                      @PathVariable("teamId") Long teamId,
+                                      @RequestParam(value = "memberPage", defaultValue = "0") Integer memberPage,
+                                      @RequestParam(value = "memberSize", defaultValue = "20") Integer memberSize,
+                                      @RequestParam(value = "taskBeforeId", required = false) Long taskBeforeId) {
+        Long userId = Long.parseLong(authentication.getName());
+        return teamDetailsReadService.getTeamDetails(userId, teamId, memberPage, memberSize, taskBeforeId);
+    }
+
+    @GetMapping("/{teamId}/purge-progress")
+    public TeamPurgeProgressDto getPurgeProgress(Authentication authentication,
+                                                 @PathVariable("teamId") Long teamId) {
         Long userId = Long.parseLong(authentication.getName());
-        return teamService.getTeamDetails(userId, teamId);
+        return teamService.getPurgeProgress(userId, teamId);
     }
 
     @PostMapping
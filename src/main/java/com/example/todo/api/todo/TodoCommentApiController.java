@@ -6,7 +6,7 @@ import com.example.todo.dto.todo.TodoCommentReadDto;
 import com.example.todo.dto.todo.TodoCommentUpdateDto;
 import com.example.todo.service.todo.TodoCommentService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -31,12 +31,12 @@ public class TodoCommentApiController {
     }
 
     @GetMapping
-    public Page<TodoCommentReadDto> readTaskCommentReadDtoPage(Authentication authentication,
+    public Slice<TodoCommentReadDto> readTaskCommentReadDtoPage(Authentication authentication,
                                                                @PathVariable("todoId") Long todoId,
                                                                @RequestParam(value = "page", defaultValue = "0") Integer page,
                                                                @RequestParam(value = "limit", defaultValue = "10") Integer limit) {
         Long userId = Long.parseLong(authentication.getName());
-        Page<TodoCommentReadDto> todoCommentReadDtoPage = todoCommentService.readTodoCommentsPage(userId, todoId, page, limit);
+        Slice<TodoCommentReadDto> todoCommentReadDtoPage = todoCommentService.readTodoCommentsPage(userId, todoId, page, limit);
         return todoCommentReadDtoPage;
     }
 
@@ -52,4 +52,16 @@ public class TodoCommentApiController {
         responseDto.setMessage("Todo에 댓글이 수정되었습니다.");
         return responseDto;
     }
+
+    @DeleteMapping("/{commentId}")
+    public ResponseDto deleteTodoComment(Authentication authentication,
+                                         @PathVariable("todoId") Long todoId,
+                                         @PathVariable("commentId") Long commentId) {
+        Long userId = Long.parseLong(authentication.getName());
+        todoCommentService.deleteTodoComment(userId, todoId, commentId);
+
+        ResponseDto responseDto = new ResponseDto();
+        responseDto.setMessage("Todo의 댓글이 삭제되었습니다.");
+        return responseDto;
+    }
 }
@@ -8,6 +8,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -25,6 +26,47 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    // 팀 상세 조회의 독립적인 조회들을 병렬로 실행하는 스레드 풀
+    // 큐가 가득 차면 호출한 스레드에서 실행해서 스레드 수가 늘어나지 않도록 한다
+    @Bean(name = "teamDetailsExecutor")
+    public ThreadPoolTaskExecutor teamDetailsExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(100);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("TeamDetailsExecutor-");
+        executor.initialize();
+        return executor;
+    }
+
+    // SSE 알림을 연결별 큐에서 꺼내 전송하는 스레드 풀
+    // 연결마다 전송 작업은 최대 하나만 예약되므로 큐 크기는 동시 연결 수 기준으로 잡는다
+    @Bean(name = "notificationExecutor")
+    public ThreadPoolTaskExecutor notificationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("NotificationExecutor-");
+        executor.initialize();
+        return executor;
+    }
+
+    // 채팅 메시지 버퍼를 DB에 쓰는 스레드 (쓰기는 한 번에 하나만 실행된다)
+    // 이미 예약된 쓰기가 있으면 그 쓰기가 버퍼를 비우므로 추가 요청은 버린다
+    @Bean(name = "chatWriteExecutor")
+    public ThreadPoolTaskExecutor chatWriteExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setThreadNamePrefix("ChatWriteExecutor-");
+        executor.initialize();
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return AsyncConfigurer.super.getAsyncUncaughtExceptionHandler();
@@ -0,0 +1,106 @@
+package com.example.todo.config.filter;
+
+import com.example.todo.exception.ErrorCode;
+import com.example.todo.exception.TodoAppException;
+import com.example.todo.jwt.TokenProvider;
+import com.example.todo.service.chat.ChatRoomJoinedEvent;
+import com.example.todo.service.chat.ChatRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOMP 연결 시 JWT를 확인하고, 채팅방 구독 시 팀 멤버인지 확인합니다.
+ * 확인한 사용자 이름과 구독을 허용한 방 목록은 세션 속성에 두어 메시지마다 DB를 조회하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthInterceptor implements ChannelInterceptor {
+    public static final String SESSION_USERNAME = "chatUsername";
+    public static final String SESSION_ROOM_IDS = "chatRoomIds";
+    public static final String SESSION_JOINED_ROOM_IDS = "chatJoinedRoomIds";
+    private static final String TOPIC_PREFIX = "/topic/";
+
+    private final TokenProvider tokenProvider;
+    private final ChatRoomService chatRoomService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) return message;
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            Authentication authentication = authenticate(accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION));
+            accessor.setUser(authentication);
+            Long userId = Long.parseLong(authentication.getName());
+            sessionAttributes(accessor).put(SESSION_USERNAME, chatRoomService.getWriterName(userId));
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            if (accessor.getUser() == null) throw new TodoAppException(ErrorCode.NOT_MATCH_USERID);
+            String destination = accessor.getDestination();
+            Long roomId = parseRoomId(destination);
+            chatRoomService.checkMember(Long.parseLong(accessor.getUser().getName()), roomId);
+            roomIds(sessionAttributes(accessor)).add(roomId);
+            // 최근 메시지 목록과 접속 표시는 권한 확인이 끝난 뒤에 처리한다 (ChatRoomJoinListener, ChatPresence)
+            // 접속자 목록, 입력 중 토픽(/topic/{roomId}/presence 등) 구독은 입장으로 보지 않는다
+            if (destination.equals(TOPIC_PREFIX + roomId)) {
+                // 같은 세션이 다시 구독해도 입장은 한 번만 센다 (ChatPresence)
+                boolean firstJoin = joinedRoomIds(sessionAttributes(accessor)).add(roomId);
+                applicationEventPublisher.publishEvent(new ChatRoomJoinedEvent(accessor.getSessionId(),
+                        accessor.getSubscriptionId(), roomId, (String) sessionAttributes(accessor).get(SESSION_USERNAME), firstJoin));
+            }
+        }
+        return message;
+    }
+
+    //세션에서 구독을 허용한 방 목록 (메시지 전송 권한 확인에 사용)
+    @SuppressWarnings("unchecked")
+    public static Set<Long> roomIds(Map<String, Object> sessionAttributes) {
+        return (Set<Long>) sessionAttributes.computeIfAbsent(SESSION_ROOM_IDS, key -> ConcurrentHashMap.newKeySet());
+    }
+
+    //세션에서 입장한(/topic/{roomId}를 구독한) 방 목록, 전송 권한만 확인한 방은 들어 있지 않다 (접속자 수 계산에 사용)
+    @SuppressWarnings("unchecked")
+    public static Set<Long> joinedRoomIds(Map<String, Object> sessionAttributes) {
+        return (Set<Long>) sessionAttributes.computeIfAbsent(SESSION_JOINED_ROOM_IDS, key -> ConcurrentHashMap.newKeySet());
+    }
+
+    private Authentication authenticate(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer "))
+            throw new TodoAppException(ErrorCode.NOT_MATCH_USERID);
+        String accessToken = authHeader.split(" ")[1];
+        if (!tokenProvider.validToken(accessToken)) throw new TodoAppException(ErrorCode.NOT_MATCH_USERID);
+        return tokenProvider.getAuthentication(accessToken);
+    }
+
+    private static Map<String, Object> sessionAttributes(StompHeaderAccessor accessor) {
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        if (sessionAttributes == null) throw new TodoAppException(ErrorCode.INTERNAL_SERVER_ERROR);
+        return sessionAttributes;
+    }
+
+    //"/topic/{roomId}" 또는 "/topic/{roomId}/presence" 같은 방 하위 토픽
+    private static Long parseRoomId(String destination) {
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX))
+            throw new TodoAppException(ErrorCode.INVALID_INPUT_VALUE);
+        String roomPath = destination.substring(TOPIC_PREFIX.length());
+        int end = roomPath.indexOf('/');
+        try {
+            return Long.parseLong(end < 0 ? roomPath : roomPath.substring(0, end));
+        } catch (NumberFormatException e) {
+            throw new TodoAppException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+    }
+}
@@ -8,13 +8,16 @@ import lombok.Setter;
 @Entity
 @Getter
 @Setter
+@Table(indexes = @Index(name = "idx_member_team_user", columnList = "team_id, user_id"))
 public class MemberEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(cascade=CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY, cascade=CascadeType.ALL)
     private TeamEntity team;
-    @ManyToOne(cascade=CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY, cascade=CascadeType.ALL)
     private User user;
+    // 이 사용자가 읽은 팀 알림의 마지막 id (팀 알림은 팀마다 한 건만 저장되므로 읽음 상태를 멤버마다 커서로 둔다)
+    private Long notificationReadId;
 }
@@ -7,17 +7,25 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "notification")
+@Table(name = "notification", indexes = {
+        // 재연결 시 Last-Event-ID 이후 알림 조회, 받은 알림함 조회
+        @Index(name = "idx_notification_receiver_id", columnList = "receiver_id, id"),
+        // 팀 삭제 시 팀 알림 정리
+        @Index(name = "idx_notification_team_id", columnList = "team_id, id"),
+        // 안 읽은 알림 수 초기화 (Redis 카운터가 없을 때만)
+        @Index(name = "idx_notification_receiver_unread", columnList = "receiver_id, read_at"),
+        // 보관 기간이 지난 알림 정리
+        @Index(name = "idx_notification_created_time", columnList = "created_time")
+})
 public class NotificationEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    private Long receiverId;
+    private Long teamId;
     private String title;
     private String content;
     private LocalDateTime createdTime;
-
-    @OneToOne
-    private TaskApiEntity taskApiEntity;
-    @ManyToOne
-    private MemberEntity member ;
-}
\ No newline at end of file
+    // 읽은 시각 (안 읽었으면 null)
+    private LocalDateTime readAt;
+}
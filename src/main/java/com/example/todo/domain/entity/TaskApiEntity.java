@@ -20,6 +20,11 @@ public class TaskApiEntity {
     private LocalDate startDate;
     private LocalDate dueDate;
     private String status;
+    // 댓글, 답글 수는 TaskApiRepository의 UPDATE로만 바꾼다 (엔티티를 저장할 때 덮어쓰지 않도록 insertable, updatable = false)
+    @Column(insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private int commentCount;
+    @Column(insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private int replyCount;
     @ManyToOne
     private MemberEntity member;
     @ManyToOne
@@ -18,7 +18,8 @@ public class TaskCommentEntity extends BaseTimeEntity {
     @ManyToOne
     private User writer;
     private String content;
-    @OneToMany(mappedBy = "taskCommentEntity", fetch = FetchType.EAGER)
+    // 답글은 댓글 목록에서 미리보기만 따로 조회한다 (TaskCommentReplyRepository.findPreviews)
+    @OneToMany(mappedBy = "taskCommentEntity", fetch = FetchType.LAZY)
     private List<TaskCommentReplyEntity> replies;
     @ManyToOne
     private TaskApiEntity taskApiEntity;
@@ -6,6 +6,10 @@ import lombok.Data;
 
 @Entity
 @Data
+@Table(indexes = {
+        // 댓글별 최신 답글 미리보기, 답글 페이지 조회
+        @Index(name = "idx_task_comment_reply_comment_id", columnList = "task_comment_entity_id, id")
+})
 public class TaskCommentReplyEntity extends BaseTimeEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,7 +27,8 @@ public class TeamEntity extends BaseTimeEntity {
     @ManyToOne
     private User manager;
 
-    @OneToMany(mappedBy = "team", fetch = FetchType.EAGER)
+    // 멤버 목록이 필요한 곳은 MemberRepository 페이지 조회를 사용
+    @OneToMany(mappedBy = "team", fetch = FetchType.LAZY)
     private List<MemberEntity> members;
 
 
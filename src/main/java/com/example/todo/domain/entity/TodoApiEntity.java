@@ -19,6 +19,9 @@ public class TodoApiEntity {
     private LocalDate dueDate;
     private String status;
     private int likes = 0;
+    // 댓글 수는 TodoApiRepository의 UPDATE로만 바꾼다 (엔티티를 저장할 때 덮어쓰지 않도록 insertable, updatable = false)
+    @Column(insertable = false, updatable = false, columnDefinition = "integer default 0 not null")
+    private int commentCount;
     public void addLike() {
         this.likes++;
     }
@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @Entity
+@Table(indexes = @Index(name = "idx_chat_room_id_id", columnList = "chat_room_id, id"))
 public class Chat extends BaseTimeEntity {
 
     @Id
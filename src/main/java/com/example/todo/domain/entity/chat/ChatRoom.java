@@ -6,6 +6,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,4 +23,8 @@ public class ChatRoom extends BaseTimeEntity {
     @JoinColumn(name = "task_id")
     private TaskApiEntity taskApiEntity;
 
+    // 이 id까지의 메시지는 chat 테이블에서 지우고 세그먼트 파일로 옮겼다 (ChatArchiveService)
+    private Long archivedUntilId;
+    private LocalDateTime archivedAt;
+
 }
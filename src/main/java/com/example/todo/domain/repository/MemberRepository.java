@@ -3,15 +3,66 @@ package com.example.todo.domain.repository;
 import com.example.todo.domain.entity.MemberEntity;
 import com.example.todo.domain.entity.TeamEntity;
 import com.example.todo.domain.entity.user.User;
+import com.example.todo.domain.repository.projection.TeamReadCursorProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MemberRepository extends JpaRepository<MemberEntity, Long> {
+    @EntityGraph(attributePaths = {"team", "team.manager"})
     List<MemberEntity> findAllByUserId(Long userId);
     Optional<MemberEntity> findByTeamAndUser(TeamEntity team, User user);
     List<MemberEntity> findAllByTeamId(Long teamId);
+    boolean existsByTeamIdAndUserId(Long teamId, Long userId);
+
+    @Query("select u.username " +
+            "from MemberEntity m join m.user u " +
+            "where m.team.id = :teamId " +
+            "order by m.id")
+    List<String> findMemberNamesByTeamId(@Param("teamId") Long teamId, Pageable pageable);
+
+    @Query("select m.team.id " +
+            "from MemberEntity m " +
+            "where m.user.id = :userId and m.team.deletedAt is null")
+    List<Long> findTeamIdsByUserId(@Param("userId") Long userId);
+
+    @Query("select m.id " +
+            "from MemberEntity m " +
+            "where m.team.id = :teamId")
+    List<Long> findIdsByTeamId(@Param("teamId") Long teamId, Pageable pageable);
+
+    @Query("select m.team.id as teamId, m.notificationReadId as notificationReadId " +
+            "from MemberEntity m " +
+            "where m.user.id = :userId")
+    List<TeamReadCursorProjection> findNotificationReadIds(@Param("userId") Long userId);
+
+    // 커서가 없는 멤버(새로 가입한 팀)는 지금까지의 팀 알림을 읽은 것으로 둔다
+    @Transactional
+    @Modifying
+    @Query("update MemberEntity m set m.notificationReadId = " +
+            "(select coalesce(max(n.id), 0) from NotificationEntity n where n.receiverId is null and n.teamId = m.team.id) " +
+            "where m.user.id = :userId and m.notificationReadId is null")
+    int initNotificationReadIds(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("update MemberEntity m set m.notificationReadId = " +
+            "(select coalesce(max(n.id), 0) from NotificationEntity n where n.receiverId is null and n.teamId = m.team.id) " +
+            "where m.notificationReadId is null")
+    int initAllNotificationReadIds();
+
+    // teamId가 null이면 가입한 모든 팀, 커서는 뒤로 가지 않는다
+    @Modifying
+    @Query("update MemberEntity m set m.notificationReadId = :upTo " +
+            "where m.user.id = :userId and (:teamId is null or m.team.id = :teamId) and m.notificationReadId < :upTo")
+    int advanceNotificationReadId(@Param("userId") Long userId, @Param("teamId") Long teamId, @Param("upTo") Long upTo);
 }
@@ -0,0 +1,71 @@
+package com.example.todo.domain.repository;
+
+import com.example.todo.domain.entity.NotificationEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationInboxRepository extends JpaRepository<NotificationEntity, Long> {
+    // Last-Event-ID 이후 알림 (receiver_id, id) 인덱스로 조회
+    List<NotificationEntity> findAllByReceiverIdAndIdGreaterThanOrderByIdAsc(Long receiverId, Long id, Pageable pageable);
+
+    // 개인 알림과 가입한 팀의 팀 알림 (receiver_id, team_id 인덱스를 각각 사용)
+    @Query("select n from NotificationEntity n " +
+            "where (n.receiverId = :receiverId or (n.receiverId is null and n.teamId in :teamIds)) and n.id > :id " +
+            "order by n.id")
+    List<NotificationEntity> findInboxAfter(@Param("receiverId") Long receiverId, @Param("teamIds") Collection<Long> teamIds,
+                                            @Param("id") Long id, Pageable pageable);
+
+    @Query("select n from NotificationEntity n " +
+            "where n.receiverId = :receiverId or (n.receiverId is null and n.teamId in :teamIds) " +
+            "order by n.id desc")
+    Slice<NotificationEntity> findInbox(@Param("receiverId") Long receiverId, @Param("teamIds") Collection<Long> teamIds,
+                                        Pageable pageable);
+
+    Slice<NotificationEntity> findAllByReceiverIdOrderByIdDesc(Long receiverId, Pageable pageable);
+    Slice<NotificationEntity> findAllByReceiverIdAndReadAtIsNullOrderByIdDesc(Long receiverId, Pageable pageable);
+
+    // 안 읽은 개인 알림과, 가입한 팀에서 멤버의 읽음 커서 이후에 온 팀 알림
+    @Query("select n from NotificationEntity n " +
+            "where (n.receiverId = :receiverId and n.readAt is null) or (n.receiverId is null and exists (" +
+            "select m.id from MemberEntity m where m.user.id = :receiverId and m.team.id = n.teamId " +
+            "and m.team.deletedAt is null and n.id > m.notificationReadId)) " +
+            "order by n.id desc")
+    Slice<NotificationEntity> findUnreadInbox(@Param("receiverId") Long receiverId, Pageable pageable);
+
+    long countByReceiverIdAndReadAtIsNull(Long receiverId);
+
+    // 읽음 커서 이후의 팀 알림 수 (teamId가 null이면 가입한 모든 팀, upTo가 있으면 그 id까지만)
+    @Query("select count(n) from NotificationEntity n, MemberEntity m " +
+            "where m.user.id = :userId and m.team.deletedAt is null and (:teamId is null or m.team.id = :teamId) " +
+            "and n.receiverId is null and n.teamId = m.team.id and n.id > m.notificationReadId " +
+            "and (:upTo is null or n.id <= :upTo)")
+    long countTeamUnread(@Param("userId") Long userId, @Param("teamId") Long teamId, @Param("upTo") Long upTo);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update NotificationEntity n set n.readAt = :readAt " +
+            "where n.receiverId = :receiverId and n.id in :ids and n.readAt is null")
+    int markReadByIds(@Param("receiverId") Long receiverId, @Param("ids") Collection<Long> ids,
+                      @Param("readAt") LocalDateTime readAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update NotificationEntity n set n.readAt = :readAt " +
+            "where n.receiverId = :receiverId and n.id <= :lastId and n.readAt is null")
+    int markReadUpTo(@Param("receiverId") Long receiverId, @Param("lastId") Long lastId,
+                     @Param("readAt") LocalDateTime readAt);
+
+    @Query("select n.id from NotificationEntity n where n.teamId = :teamId")
+    List<Long> findIdsByTeamId(@Param("teamId") Long teamId, Pageable pageable);
+
+    @Query("select n.id from NotificationEntity n where n.createdTime < :before order by n.createdTime")
+    List<Long> findIdsCreatedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+}
@@ -1,30 +1,97 @@
 package com.example.todo.domain.repository;
-import lombok.RequiredArgsConstructor;
 
+import com.example.todo.service.notification.SseConnection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이 서버에 연결된 SSE 연결 저장소입니다.
+ * 사용자마다 연결 id -> 연결 맵을 두어 여러 탭, 기기의 연결을 함께 관리하고,
+ * 사용자당 연결 수가 상한을 넘으면 가장 오래된 연결을 내보냅니다.
+ */
 @Repository
 @RequiredArgsConstructor
 public class NotificationRepository {
-    // 개별 emitters
-    private final Map<Long, SseEmitter> emitters = new ConcurrentHashMap<>();
+    // 사용자 id -> (연결 id -> 연결), 안쪽 맵은 자기 자신을 락으로 사용한다
+    private final Map<Long, LinkedHashMap<String, SseConnection>> connections = new ConcurrentHashMap<>();
+    // 이 서버의 전체 연결 수
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    @Value("${notification.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    /**
+     * 연결을 저장합니다.
+     *
+     * @return 사용자당 상한을 넘어 밀려난 연결 (호출한 쪽에서 종료해야 함)
+     */
+    public List<SseConnection> save(SseConnection connection) {
+        List<SseConnection> evicted = new ArrayList<>();
+        connections.compute(connection.getUserId(), (userId, userConnections) -> {
+            if (userConnections == null) userConnections = new LinkedHashMap<>();
+            synchronized (userConnections) {
+                userConnections.put(connection.getId(), connection);
+                connectionCount.incrementAndGet();
+                Iterator<SseConnection> oldest = userConnections.values().iterator();
+                while (userConnections.size() > maxConnectionsPerUser && oldest.hasNext()) {
+                    evicted.add(oldest.next());
+                    oldest.remove();
+                    connectionCount.decrementAndGet();
+                }
+            }
+            return userConnections;
+        });
+        return evicted;
+    }
 
-    // Emitters 저장
-    public void save(Long id, SseEmitter emitter) {
-        emitters.put(id, emitter);
+    // 연결 제거, 이미 제거되었으면 false
+    public boolean delete(SseConnection connection) {
+        if (connection.getUserId() == null) return false;
+        boolean[] removed = new boolean[1];
+        connections.computeIfPresent(connection.getUserId(), (userId, userConnections) -> {
+            synchronized (userConnections) {
+                removed[0] = userConnections.remove(connection.getId()) != null;
+                if (removed[0]) connectionCount.decrementAndGet();
+                return userConnections.isEmpty() ? null : userConnections;
+            }
+        });
+        return removed[0];
     }
 
-    // Emitter 제거
-    public void deleteById(Long id) {
-        emitters.remove(id);
+    // 사용자의 모든 연결 (복사본)
+    public List<SseConnection> findAllByUserId(Long userId) {
+        LinkedHashMap<String, SseConnection> userConnections = connections.get(userId);
+        if (userConnections == null) return Collections.emptyList();
+        synchronized (userConnections) {
+            return new ArrayList<>(userConnections.values());
+        }
     }
 
-    // Emitter 가져오기
-    public SseEmitter get(Long id) {
-        return emitters.get(id);
+    // 이 서버의 모든 연결 (복사본)
+    public List<SseConnection> findAll() {
+        List<SseConnection> result = new ArrayList<>(connectionCount.get());
+        for (LinkedHashMap<String, SseConnection> userConnections : connections.values()) {
+            synchronized (userConnections) {
+                result.addAll(userConnections.values());
+            }
+        }
+        return result;
     }
 
-}
\ No newline at end of file
+    public boolean existsByUserId(Long userId) {
+        return connections.containsKey(userId);
+    }
+
+    public int count() {
+        return connectionCount.get();
+    }
+
+    public int countUsers() {
+        return connections.size();
+    }
+}
@@ -1,12 +1,66 @@
 package com.example.todo.domain.repository;
 
 import com.example.todo.domain.entity.TaskApiEntity;
+import com.example.todo.domain.repository.projection.TaskSummaryProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TaskApiRepository extends JpaRepository<TaskApiEntity, Long> {
+    // TaskApiDto 변환에 담당자 이름이 필요하므로 member.user까지 함께 조회
+    @EntityGraph(attributePaths = "member.user")
     List<TaskApiEntity> findAllByTeamId(Long teamId);
     List<TaskApiEntity> findAllByTeamIdAndUserId(Long teamId, Long userId);
+    @EntityGraph(attributePaths = "member.user")
     List<TaskApiEntity> findAllByTeamIdAndMember_UserId(Long teamId, Long userId);
+    @EntityGraph(attributePaths = "member.user")
+    Optional<TaskApiEntity> findWithWorkerById(Long taskId);
+    // 트랜잭션 밖의 자동 상태 변경 작업이 담당자 이름으로 이벤트를 만들 수 있도록 member.user까지 함께 조회
+    @EntityGraph(attributePaths = "member.user")
+    List<TaskApiEntity> findAllByStatusIn(Collection<String> statuses);
+
+    @Query("select t.id as id, t.taskName as taskName, t.taskDesc as taskDesc, t.startDate as startDate, " +
+            "t.dueDate as dueDate, t.status as status, u.username as worker, " +
+            "t.commentCount as commentCount, t.replyCount as replyCount " +
+            "from TaskApiEntity t join t.member m join m.user u " +
+            "where t.team.id = :teamId and (:beforeId is null or t.id < :beforeId) " +
+            "order by t.id desc")
+    List<TaskSummaryProjection> findSummariesByTeamId(@Param("teamId") Long teamId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("select t.id " +
+            "from TaskApiEntity t " +
+            "where t.team.id = :teamId")
+    List<Long> findIdsByTeamId(@Param("teamId") Long teamId, Pageable pageable);
+
+    // 댓글, 답글 수를 DB에서 바로 더한다 (동시에 작성해도 값을 잃지 않음)
+    @Transactional
+    @Modifying
+    @Query(value = "update task set comment_count = greatest(comment_count + :delta, 0) where id = :taskId", nativeQuery = true)
+    int addCommentCount(@Param("taskId") Long taskId, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update task set reply_count = greatest(reply_count + :delta, 0) where id = :taskId", nativeQuery = true)
+    int addReplyCount(@Param("taskId") Long taskId, @Param("delta") int delta);
+
+    @Query("select max(t.id) from TaskApiEntity t")
+    Long findMaxId();
+
+    // id 범위의 업무 댓글, 답글 수를 실제 행 수로 다시 맞춘다
+    @Transactional
+    @Modifying
+    @Query(value = "update task t set " +
+            "t.comment_count = (select count(*) from task_comment_entity c where c.task_api_entity_id = t.id), " +
+            "t.reply_count = (select count(*) from task_comment_reply_entity r " +
+            "join task_comment_entity c on c.id = r.task_comment_entity_id where c.task_api_entity_id = t.id) " +
+            "where t.id between :fromId and :toId", nativeQuery = true)
+    int repairCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
\ No newline at end of file
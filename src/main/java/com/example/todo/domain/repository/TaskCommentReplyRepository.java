@@ -1,8 +1,40 @@
 package com.example.todo.domain.repository;
 
 import com.example.todo.domain.entity.TaskCommentReplyEntity;
+import com.example.todo.domain.repository.projection.TaskCommentReplyPreviewProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 
 public interface TaskCommentReplyRepository extends JpaRepository<TaskCommentReplyEntity, Long> {
+    @Query("select r.id " +
+            "from TaskCommentReplyEntity r " +
+            "where r.taskCommentEntity.taskApiEntity.team.id = :teamId")
+    List<Long> findIdsByTeamId(@Param("teamId") Long teamId, Pageable pageable);
+
+    // 댓글마다 최신 답글 limit개 (댓글 한 페이지의 답글을 쿼리 한 번으로 조회)
+    // 더 있는지 알 수 있도록 호출하는 쪽에서 미리보기 수 + 1을 넘긴다
+    @Query(value = "select x.id as id, x.comment_id as commentId, x.reply as reply, x.writer_name as writerName " +
+            "from (select r.id, r.task_comment_entity_id as comment_id, r.reply, u.username as writer_name, " +
+            "row_number() over (partition by r.task_comment_entity_id order by r.id desc) as rn " +
+            "from task_comment_reply_entity r join users u on u.id = r.writer_id " +
+            "where r.task_comment_entity_id in (:commentIds)) x " +
+            "where x.rn <= :limit " +
+            "order by x.comment_id, x.id desc", nativeQuery = true)
+    List<TaskCommentReplyPreviewProjection> findPreviews(@Param("commentIds") Collection<Long> commentIds,
+                                                         @Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from TaskCommentReplyEntity r where r.taskCommentEntity.id = :commentId")
+    int deleteAllByCommentId(@Param("commentId") Long commentId);
+
+    @EntityGraph(attributePaths = "writer")
+    Slice<TaskCommentReplyEntity> findAllByTaskCommentEntity_IdOrderByIdDesc(Long commentId, Pageable pageable);
 }
\ No newline at end of file
@@ -2,10 +2,21 @@ package com.example.todo.domain.repository;
 
 import com.example.todo.domain.entity.TaskApiEntity;
 import com.example.todo.domain.entity.TaskCommentEntity;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface TaskCommentRepository extends JpaRepository<TaskCommentEntity, Long> {
-    Page<TaskCommentEntity> findAllByTaskApiEntity(TaskApiEntity taskApiEntity, Pageable pageable);
+    @EntityGraph(attributePaths = "writer")
+    Slice<TaskCommentEntity> findAllByTaskApiEntity(TaskApiEntity taskApiEntity, Pageable pageable);
+
+    @Query("select c.id " +
+            "from TaskCommentEntity c " +
+            "where c.taskApiEntity.team.id = :teamId")
+    List<Long> findIdsByTeamId(@Param("teamId") Long teamId, Pageable pageable);
 }
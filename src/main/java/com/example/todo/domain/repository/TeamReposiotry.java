@@ -1,6 +1,7 @@
 package com.example.todo.domain.repository;
 
 import com.example.todo.domain.entity.TeamEntity;
+import com.example.todo.domain.repository.projection.TeamHeaderProjection;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,6 +19,21 @@ public interface TeamReposiotry extends JpaRepository<TeamEntity, Long> {
     Page<TeamEntity> findAllByNameContainingAndDeletedAtIsNull(String keyword, Pageable pageable);
 //    Page<TeamEntity> findTeamEntitiesByNameAndDeletedAtEmpty(String keyword, Pageable pageable);
     List<TeamEntity> findByMembersUserId(Long userId);
+    List<TeamEntity> findAllByDeletedAtIsNull();
+    Optional<TeamEntity> findByIdAndDeletedAtIsNull(Long teamId);
+    boolean existsByIdAndDeletedAtIsNull(Long teamId);
+
+    @Query("select t.id " +
+            "from TeamEntity t " +
+            "where t.deletedAt is not null " +
+            "order by t.deletedAt")
+    List<Long> findDeletedTeamIds();
+
+    @Query("select t.id as id, t.name as name, t.description as description, m.username as managerName, " +
+            "t.participantNum as participantNum, t.participantNumMax as participantNumMax " +
+            "from TeamEntity t join t.manager m " +
+            "where t.id = :teamId and t.deletedAt is null")
+    Optional<TeamHeaderProjection> findHeaderById(@Param("teamId") Long teamId);
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select t " +
             "from TeamEntity t " +
@@ -4,6 +4,28 @@ import com.example.todo.domain.entity.TodoApiEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 public interface TodoApiRepository extends JpaRepository<TodoApiEntity, Long> {
     Page<TodoApiEntity> findByUserId(Long userId, Pageable pageable);
+
+    // 댓글 수를 DB에서 바로 더한다 (동시에 작성해도 값을 잃지 않음)
+    @Transactional
+    @Modifying
+    @Query(value = "update todo set comment_count = greatest(comment_count + :delta, 0) where id = :todoId", nativeQuery = true)
+    int addCommentCount(@Param("todoId") Long todoId, @Param("delta") int delta);
+
+    @Query("select max(t.id) from TodoApiEntity t")
+    Long findMaxId();
+
+    // id 범위의 Todo 댓글 수를 실제 행 수로 다시 맞춘다
+    @Transactional
+    @Modifying
+    @Query(value = "update todo t set " +
+            "t.comment_count = (select count(*) from todo_comment_entity c where c.todo_api_entity_id = t.id) " +
+            "where t.id between :fromId and :toId", nativeQuery = true)
+    int repairCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
\ No newline at end of file
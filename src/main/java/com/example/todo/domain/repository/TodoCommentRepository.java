@@ -2,10 +2,10 @@ package com.example.todo.domain.repository;
 
 import com.example.todo.domain.entity.TodoApiEntity;
 import com.example.todo.domain.entity.TodoCommentEntity;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface TodoCommentRepository extends JpaRepository<TodoCommentEntity, Long> {
-    Page<TodoCommentEntity> findAllByTodoApiEntity(TodoApiEntity todoApiEntity, Pageable pageable);
+    Slice<TodoCommentEntity> findAllByTodoApiEntity(TodoApiEntity todoApiEntity, Pageable pageable);
 }
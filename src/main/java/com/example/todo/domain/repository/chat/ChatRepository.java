@@ -1,11 +1,41 @@
 package com.example.todo.domain.repository.chat;
 
 import com.example.todo.domain.entity.chat.Chat;
-import com.example.todo.domain.entity.chat.ChatRoom;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ChatRepository extends JpaRepository<Chat, Long> {
-    List<Chat> findAllByChatRoomOrderByIdDesc(ChatRoom room);
+    // 방의 기록은 (chat_room_id, id) 인덱스로 id 커서 이전부터 limit개씩 읽는다 (전체를 한 번에 읽지 않음)
+    Slice<Chat> findAllByChatRoom_IdOrderByIdDesc(Long chatRoomId, Pageable pageable);
+
+    Slice<Chat> findAllByChatRoom_IdAndIdLessThanOrderByIdDesc(Long chatRoomId, Long beforeId, Pageable pageable);
+
+    // 보관할 메시지를 오래된 순으로 읽는다
+    List<Chat> findAllByChatRoom_IdAndIdGreaterThanOrderByIdAsc(Long chatRoomId, Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Chat c where c.chatRoom.id = :chatRoomId and c.id <= :archivedUntilId")
+    int deleteArchived(@Param("chatRoomId") Long chatRoomId, @Param("archivedUntilId") Long archivedUntilId);
+
+    @Modifying
+    @Query("delete from Chat c where c.chatRoom.id = :chatRoomId")
+    int deleteAllByChatRoomId(@Param("chatRoomId") Long chatRoomId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Chat c where c.chatRoom.id in :chatRoomIds")
+    int deleteAllByChatRoomIdIn(@Param("chatRoomIds") Collection<Long> chatRoomIds);
+
+    @Query("select c.id " +
+            "from Chat c " +
+            "where c.chatRoom.taskApiEntity.team.id = :teamId")
+    List<Long> findIdsByTeamId(@Param("teamId") Long teamId, Pageable pageable);
 }
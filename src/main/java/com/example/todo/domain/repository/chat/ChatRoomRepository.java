@@ -3,10 +3,55 @@ package com.example.todo.domain.repository.chat;
 import com.example.todo.domain.entity.TaskApiEntity;
 import com.example.todo.domain.entity.chat.ChatRoom;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
     Optional<ChatRoom> findByTaskApiEntity(TaskApiEntity taskApiEntity);
+
+    @Query("select r.taskApiEntity.team.id " +
+            "from ChatRoom r " +
+            "where r.id = :roomId")
+    Optional<Long> findTeamIdById(@Param("roomId") Long roomId);
+
+    @Query("select t.taskName " +
+            "from ChatRoom r join r.taskApiEntity t " +
+            "where r.id = :roomId")
+    Optional<String> findRoomNameById(@Param("roomId") Long roomId);
+
+    @Query("select r.id " +
+            "from ChatRoom r " +
+            "where r.taskApiEntity.team.id = :teamId")
+    List<Long> findIdsByTeamId(@Param("teamId") Long teamId, Pageable pageable);
+
+    @Query("select r.archivedUntilId " +
+            "from ChatRoom r " +
+            "where r.id = :roomId")
+    Optional<Long> findArchivedUntilIdById(@Param("roomId") Long roomId);
+
+    // 업무가 끝났고 idleSince 이후 메시지가 없는 방 중 chat 테이블에 메시지가 남은 방
+    // 완료된 업무의 방에서 시작해 방마다 마지막 메시지만 (chat_room_id, id) 인덱스로 확인한다 (chat 테이블 전체를 집계하지 않음)
+    @Query("select r.id " +
+            "from ChatRoom r " +
+            "where r.taskApiEntity.status = :status " +
+            "and exists (select c.id from Chat c " +
+            "where c.chatRoom.id = r.id " +
+            "and c.id = (select max(l.id) from Chat l where l.chatRoom.id = r.id) " +
+            "and c.createdAt < :idleSince)")
+    List<Long> findIdsToArchive(@Param("status") String status, @Param("idleSince") LocalDateTime idleSince, Pageable pageable);
+
+    @Modifying
+    @Query("update ChatRoom r " +
+            "set r.archivedUntilId = :archivedUntilId, r.archivedAt = :archivedAt " +
+            "where r.id = :roomId")
+    int updateArchived(@Param("roomId") Long roomId,
+                       @Param("archivedUntilId") Long archivedUntilId,
+                       @Param("archivedAt") LocalDateTime archivedAt);
 }
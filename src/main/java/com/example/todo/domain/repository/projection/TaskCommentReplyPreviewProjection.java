@@ -0,0 +1,8 @@
+package com.example.todo.domain.repository.projection;
+
+public interface TaskCommentReplyPreviewProjection {
+    Long getId();
+    Long getCommentId();
+    String getReply();
+    String getWriterName();
+}
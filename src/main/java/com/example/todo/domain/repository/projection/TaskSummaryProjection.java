@@ -0,0 +1,15 @@
+package com.example.todo.domain.repository.projection;
+
+import java.time.LocalDate;
+
+public interface TaskSummaryProjection {
+    Long getId();
+    String getTaskName();
+    String getTaskDesc();
+    LocalDate getStartDate();
+    LocalDate getDueDate();
+    String getStatus();
+    String getWorker();
+    Integer getCommentCount();
+    Integer getReplyCount();
+}
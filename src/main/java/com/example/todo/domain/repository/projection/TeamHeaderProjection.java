@@ -0,0 +1,10 @@
+package com.example.todo.domain.repository.projection;
+
+public interface TeamHeaderProjection {
+    Long getId();
+    String getName();
+    String getDescription();
+    String getManagerName();
+    Integer getParticipantNum();
+    Integer getParticipantNumMax();
+}
@@ -0,0 +1,6 @@
+package com.example.todo.domain.repository.projection;
+
+public interface TeamReadCursorProjection {
+    Long getTeamId();
+    Long getNotificationReadId();
+}
@@ -7,11 +7,21 @@ import java.time.LocalDateTime;
 
 @Data
 public class NotificationDto {
+    private Long id;
+    private Long teamId;
+    private String title;
     private String content;
+    private LocalDateTime createdTime;
+    private boolean read;
 
     public static NotificationDto fromEntity(NotificationEntity entity) {
         NotificationDto notificationDto = new NotificationDto();
+        notificationDto.setId(entity.getId());
+        notificationDto.setTeamId(entity.getTeamId());
+        notificationDto.setTitle(entity.getTitle());
         notificationDto.setContent(entity.getContent());
+        notificationDto.setCreatedTime(entity.getCreatedTime());
+        notificationDto.setRead(entity.getReadAt() != null);
         return notificationDto;
     }
-}
\ No newline at end of file
+}
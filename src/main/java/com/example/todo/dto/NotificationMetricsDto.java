@@ -0,0 +1,28 @@
+package com.example.todo.dto;
+
+import lombok.Data;
+
+@Data
+public class NotificationMetricsDto {
+    private int connections;
+    private int users;
+    // /stream/{userId} (Reactor) 구독 수
+    private int reactiveConnections;
+    private String overflowPolicy;
+    private int queueCapacity;
+    // 모든 연결의 전송 대기 이벤트 수 합계, 최댓값
+    private int queueDepthTotal;
+    private int queueDepthMax;
+    private long enqueued;
+    private long sent;
+    private long dropped;
+    private long coalesced;
+    private long disconnected;
+    private long failed;
+    private long heartbeats;
+    // 큐에 들어간 시점부터 전송 완료까지 걸린 시간
+    private double avgSendLatencyMillis;
+    private double maxSendLatencyMillis;
+    private int writerActiveThreads;
+    private int writerQueueSize;
+}
@@ -0,0 +1,14 @@
+package com.example.todo.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class NotificationReadDto {
+    // 읽음 처리할 알림 id 목록
+    private List<Long> ids = new ArrayList<>();
+    // 이 id 이하의 알림을 모두 읽음 처리 (ids 대신 사용)
+    private Long lastId;
+}
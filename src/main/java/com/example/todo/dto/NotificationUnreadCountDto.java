@@ -0,0 +1,13 @@
+package com.example.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationUnreadCountDto {
+    // 안 읽은 개인 알림 수 (팀 알림은 읽음 상태가 없어서 제외)
+    private long count;
+}
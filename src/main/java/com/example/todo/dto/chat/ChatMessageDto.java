@@ -0,0 +1,44 @@
+package com.example.todo.dto.chat;
+
+import com.example.todo.domain.entity.chat.Chat;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@Getter
+@Setter
+public class ChatMessageDto {
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private Long id;
+    private Long roomId;
+    // 방별 전달 순번, 클라이언트는 이 값으로 순서를 맞추고 빠진 메시지를 확인한다 (DB에서 읽은 메시지는 없음)
+    private Long seq;
+    // 보낸 사람은 클라이언트가 보낸 값이 아니라 연결 시 확인한 사용자 이름으로 채운다
+    private String sender;
+    private String message;
+    private String time;
+
+    //저장 전에 바로 보내는 메시지 (id는 저장된 뒤에 채워진다)
+    public static ChatMessageDto of(Long roomId, String sender, String message, LocalDateTime createdAt) {
+        ChatMessageDto chatMessageDto = new ChatMessageDto();
+        chatMessageDto.setRoomId(roomId);
+        chatMessageDto.setSender(sender);
+        chatMessageDto.setMessage(message);
+        chatMessageDto.setTime(createdAt.format(TIME_FORMAT));
+        return chatMessageDto;
+    }
+
+    public static ChatMessageDto fromEntity(Chat chat) {
+        ChatMessageDto chatMessageDto = new ChatMessageDto();
+        chatMessageDto.setId(chat.getId());
+        chatMessageDto.setRoomId(chat.getChatRoom().getId());
+        chatMessageDto.setSender(chat.getWriter());
+        chatMessageDto.setMessage(chat.getContent());
+        LocalDateTime createdAt = chat.getCreatedAt() == null ? LocalDateTime.now() : chat.getCreatedAt();
+        chatMessageDto.setTime(createdAt.format(TIME_FORMAT));
+        return chatMessageDto;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.todo.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatPresenceDto {
+    private Long roomId;
+    // 지금 방에 접속해 있는 사용자 이름 (보낼 때만 채움, 하트비트는 roomId만 보냄)
+    private List<String> members;
+}
@@ -0,0 +1,14 @@
+package com.example.todo.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatRoomDto {
+    private Long id;
+    // 업무 채팅방이므로 업무명을 방 이름으로 쓴다
+    private String roomName;
+}
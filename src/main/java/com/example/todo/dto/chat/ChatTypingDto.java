@@ -0,0 +1,15 @@
+package com.example.todo.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatTypingDto {
+    private Long roomId;
+    // 서버가 세션의 사용자 이름으로 채운다
+    private String sender;
+    private boolean typing;
+}
@@ -1,6 +1,7 @@
 package com.example.todo.dto.task;
 
 import com.example.todo.domain.entity.TaskApiEntity;
+import com.example.todo.domain.repository.projection.TaskSummaryProjection;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import java.time.LocalDate;
@@ -18,6 +19,8 @@ public class TaskApiDto {
     private LocalDate dueDate;
     private String worker;
     private String status;
+    private int commentCount;
+    private int replyCount;
 
     public static TaskApiDto fromEntity(TaskApiEntity entity) {
         TaskApiDto taskApiDto = new TaskApiDto();
@@ -28,6 +31,22 @@ public class TaskApiDto {
         taskApiDto.setDueDate(entity.getDueDate());
         taskApiDto.setStatus(entity.getStatus());
         taskApiDto.setWorker(entity.getMember().getUser().getUsername());
+        taskApiDto.setCommentCount(entity.getCommentCount());
+        taskApiDto.setReplyCount(entity.getReplyCount());
+        return taskApiDto;
+    }
+
+    public static TaskApiDto fromProjection(TaskSummaryProjection projection) {
+        TaskApiDto taskApiDto = new TaskApiDto();
+        taskApiDto.setId(projection.getId());
+        taskApiDto.setTaskName(projection.getTaskName());
+        taskApiDto.setTaskDesc(projection.getTaskDesc());
+        taskApiDto.setStartDate(projection.getStartDate());
+        taskApiDto.setDueDate(projection.getDueDate());
+        taskApiDto.setStatus(projection.getStatus());
+        taskApiDto.setWorker(projection.getWorker());
+        taskApiDto.setCommentCount(projection.getCommentCount());
+        taskApiDto.setReplyCount(projection.getReplyCount());
         return taskApiDto;
     }
 }
\ No newline at end of file
@@ -4,28 +4,25 @@ import com.example.todo.domain.entity.TaskCommentEntity;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Getter
 @Setter
 public class TaskCommentReadDto {
+    private Long id;
     private String writerName;
     private String content;
-    private  List<TaskCommentReplyDto> replies;
+    // 최신 답글 미리보기, 나머지는 답글 목록 API로 조회
+    private  List<TaskCommentReplyDto> replies = new ArrayList<>();
+    private boolean hasMoreReplies;
 
 
     public static TaskCommentReadDto fromEntity(TaskCommentEntity entity) {
         TaskCommentReadDto taskCommentReadDto = new TaskCommentReadDto();
+        taskCommentReadDto.setId(entity.getId());
         taskCommentReadDto.setWriterName(entity.getWriter().getUsername());
         taskCommentReadDto.setContent(entity.getContent());
-
-        List<TaskCommentReplyDto> replyDtos = entity.getReplies().stream()
-                .map(replyEntity -> TaskCommentReplyDto.fromEntity(replyEntity))
-                .collect(Collectors.toList());
-
-        taskCommentReadDto.setReplies(replyDtos);
-
         return taskCommentReadDto;
     }
 }
@@ -2,6 +2,7 @@ package com.example.todo.dto.task;
 
 
 import com.example.todo.domain.entity.TaskCommentReplyEntity;
+import com.example.todo.domain.repository.projection.TaskCommentReplyPreviewProjection;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,15 +10,26 @@ import lombok.Setter;
 @Getter
 @Setter
 public class TaskCommentReplyDto {
+    private Long id;
     private String  writerName;
     @NotNull(message = "내용을 작성해주세요.")
     private String reply;
 
     public static TaskCommentReplyDto fromEntity(TaskCommentReplyEntity entity) {
         TaskCommentReplyDto replyReadDto = new TaskCommentReplyDto();
+        replyReadDto.setId(entity.getId());
         replyReadDto.setWriterName(entity.getWriter().getUsername());
         replyReadDto.setReply(entity.getReply());
 
         return replyReadDto;
     }
+
+    public static TaskCommentReplyDto fromProjection(TaskCommentReplyPreviewProjection projection) {
+        TaskCommentReplyDto replyReadDto = new TaskCommentReplyDto();
+        replyReadDto.setId(projection.getId());
+        replyReadDto.setWriterName(projection.getWriterName());
+        replyReadDto.setReply(projection.getReply());
+
+        return replyReadDto;
+    }
 }
\ No newline at end of file
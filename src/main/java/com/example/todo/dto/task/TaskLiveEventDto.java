@@ -0,0 +1,81 @@
+package com.example.todo.dto.task;
+
+import com.example.todo.domain.entity.TaskApiEntity;
+import com.example.todo.domain.entity.TaskCommentEntity;
+import com.example.todo.domain.entity.TaskCommentReplyEntity;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 업무 실시간 채널로 보내는 변경 내용입니다.
+ * 클라이언트는 type에 따라 화면의 댓글, 답글, 업무 정보만 고칩니다. (바뀌지 않은 필드는 null)
+ */
+@Data
+public class TaskLiveEventDto {
+    public enum Type {
+        COMMENT_CREATED, COMMENT_UPDATED, COMMENT_DELETED, REPLY_ADDED, REPLY_DELETED, TASK_UPDATED, TASK_DELETED
+    }
+
+    private Type type;
+    private Long taskId;
+    private Long commentId;
+    private Long replyId;
+    private String writerName;
+    // 댓글 내용 또는 답글 내용
+    private String content;
+    private String taskName;
+    private String status;
+    private String worker;
+    private LocalDateTime occurredAt;
+
+    private static TaskLiveEventDto of(Type type, Long taskId) {
+        TaskLiveEventDto taskLiveEventDto = new TaskLiveEventDto();
+        taskLiveEventDto.setType(type);
+        taskLiveEventDto.setTaskId(taskId);
+        taskLiveEventDto.setOccurredAt(LocalDateTime.now());
+        return taskLiveEventDto;
+    }
+
+    public static TaskLiveEventDto fromComment(Type type, TaskCommentEntity entity) {
+        TaskLiveEventDto taskLiveEventDto = of(type, entity.getTaskApiEntity().getId());
+        taskLiveEventDto.setCommentId(entity.getId());
+        taskLiveEventDto.setWriterName(entity.getWriter().getUsername());
+        taskLiveEventDto.setContent(entity.getContent());
+        return taskLiveEventDto;
+    }
+
+    public static TaskLiveEventDto fromReply(Long taskId, TaskCommentReplyEntity entity) {
+        TaskLiveEventDto taskLiveEventDto = of(Type.REPLY_ADDED, taskId);
+        taskLiveEventDto.setCommentId(entity.getTaskCommentEntity().getId());
+        taskLiveEventDto.setReplyId(entity.getId());
+        taskLiveEventDto.setWriterName(entity.getWriter().getUsername());
+        taskLiveEventDto.setContent(entity.getReply());
+        return taskLiveEventDto;
+    }
+
+    public static TaskLiveEventDto commentDeleted(Long taskId, Long commentId) {
+        TaskLiveEventDto taskLiveEventDto = of(Type.COMMENT_DELETED, taskId);
+        taskLiveEventDto.setCommentId(commentId);
+        return taskLiveEventDto;
+    }
+
+    public static TaskLiveEventDto replyDeleted(Long taskId, Long commentId, Long replyId) {
+        TaskLiveEventDto taskLiveEventDto = of(Type.REPLY_DELETED, taskId);
+        taskLiveEventDto.setCommentId(commentId);
+        taskLiveEventDto.setReplyId(replyId);
+        return taskLiveEventDto;
+    }
+
+    public static TaskLiveEventDto fromTask(TaskApiEntity entity) {
+        TaskLiveEventDto taskLiveEventDto = of(Type.TASK_UPDATED, entity.getId());
+        taskLiveEventDto.setTaskName(entity.getTaskName());
+        taskLiveEventDto.setStatus(entity.getStatus());
+        taskLiveEventDto.setWorker(entity.getMember().getUser().getUsername());
+        return taskLiveEventDto;
+    }
+
+    public static TaskLiveEventDto deleted(Long taskId) {
+        return of(Type.TASK_DELETED, taskId);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.todo.dto.team;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamAutocompleteDto {
+    private Long id;
+    private String teamName;
+    private Integer memberCount;
+}
@@ -1,10 +1,11 @@
 package com.example.todo.dto.team;
 
-import com.example.todo.domain.entity.TeamEntity;
+import com.example.todo.domain.repository.projection.TeamHeaderProjection;
 import com.example.todo.dto.task.TaskApiDto;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Getter
@@ -14,18 +15,28 @@ public class TeamDetailsDto {
     private String managerName;
     private String desc;
     private List<String> members;
+    private Integer memberPage;
+    private Integer memberTotalPages;
+    private Long memberCount;
     private Integer memberLimit;
-    private List<TaskApiDto> notDoneTasks;
-    private List<TaskApiDto> doneTasks;
-    private List<TaskApiDto> allTasks;
+    private List<TaskApiDto> notDoneTasks = new ArrayList<>();
+    private List<TaskApiDto> doneTasks = new ArrayList<>();
+    private List<TaskApiDto> allTasks = new ArrayList<>();
+    // 업무 목록은 최신순 TASK_PAGE_SIZE개씩, 다음 페이지는 taskBeforeId=taskNextBeforeId 로 요청한다
+    private boolean taskHasNext;
+    private Long taskNextBeforeId;
 
-    public static TeamDetailsDto fromEntity(TeamEntity teamEntity) {
+    public static TeamDetailsDto fromProjection(TeamHeaderProjection header, List<String> memberNames, Integer memberPage, Integer memberSize) {
         TeamDetailsDto teamDetailsDto = new TeamDetailsDto();
-        teamDetailsDto.setName(teamEntity.getName());
-        teamDetailsDto.setManagerName(teamEntity.getManager().getUsername());
-        teamDetailsDto.setDesc(teamEntity.getDescription());
-        teamDetailsDto.setMembers(teamEntity.getMemebersNamesList(teamEntity.getMembers()));
-        teamDetailsDto.setMemberLimit(teamEntity.getParticipantNumMax());
+        teamDetailsDto.setName(header.getName());
+        teamDetailsDto.setManagerName(header.getManagerName());
+        teamDetailsDto.setDesc(header.getDescription());
+        teamDetailsDto.setMembers(memberNames);
+        teamDetailsDto.setMemberPage(memberPage);
+        long memberCount = header.getParticipantNum() == null ? 0 : header.getParticipantNum();
+        teamDetailsDto.setMemberCount(memberCount);
+        teamDetailsDto.setMemberTotalPages((int) ((memberCount + memberSize - 1) / memberSize));
+        teamDetailsDto.setMemberLimit(header.getParticipantNumMax());
 
         return teamDetailsDto;
     }
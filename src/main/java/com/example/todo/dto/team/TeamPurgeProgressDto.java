@@ -0,0 +1,43 @@
+package com.example.todo.dto.team;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+public class TeamPurgeProgressDto {
+    public static final String PENDING = "PENDING";
+    public static final String PURGING = "PURGING";
+    public static final String DONE = "DONE";
+
+    private Long teamId;
+    @JsonIgnore
+    private Long managerId;
+    private String status;
+    // 테이블 이름 -> 지금까지 삭제한 행 수
+    private Map<String, Long> deletedRows = new LinkedHashMap<>();
+    private LocalDateTime requestedAt;
+    private LocalDateTime finishedAt;
+
+    public static TeamPurgeProgressDto pending(Long teamId, Long managerId) {
+        TeamPurgeProgressDto progress = new TeamPurgeProgressDto();
+        progress.setTeamId(teamId);
+        progress.setManagerId(managerId);
+        progress.setStatus(PENDING);
+        progress.setRequestedAt(LocalDateTime.now());
+        return progress;
+    }
+
+    public synchronized void addDeletedRows(String table, int count) {
+        deletedRows.merge(table, (long) count, Long::sum);
+    }
+
+    public synchronized Map<String, Long> getDeletedRows() {
+        return new LinkedHashMap<>(deletedRows);
+    }
+}
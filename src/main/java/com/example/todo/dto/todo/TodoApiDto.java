@@ -22,6 +22,7 @@ public class TodoApiDto {
     private List<String> fileUrls = new ArrayList<>();
     private String status;
     private int likes;
+    private int commentCount;
 
     public static TodoApiDto fromEntity(TodoApiEntity entity) {
         TodoApiDto todoApiDto = new TodoApiDto();
@@ -32,6 +33,7 @@ public class TodoApiDto {
         todoApiDto.setDueDate(entity.getDueDate());
         todoApiDto.setLikes(entity.getLikes()); // 추가: 좋아요 개수 설정
         todoApiDto.setStatus(entity.getStatus());
+        todoApiDto.setCommentCount(entity.getCommentCount());
         return todoApiDto;
     }
 
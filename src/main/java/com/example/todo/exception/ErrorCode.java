@@ -23,6 +23,7 @@ public enum ErrorCode {
     NOT_AVAILABLE_FUNCTION(BAD_REQUEST, "기능을 사용할 수 없습니다."),
 
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "서버에서 오류가 발생했습니다."),
+    SERVER_SHUTTING_DOWN(SERVICE_UNAVAILABLE, "서버가 종료 중입니다. 잠시 후 다시 시도해주세요."),
 
     NOT_MATCH_USERID(NOT_FOUND, "권한이 없습니다."),
     NOT_MATCH_MANAGERID(NOT_FOUND, "팀매니저가 아닙니다."),
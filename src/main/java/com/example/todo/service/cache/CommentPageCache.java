@@ -0,0 +1,225 @@
+package com.example.todo.service.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * 업무, Todo 댓글 목록의 첫 페이지를 직렬화된 JSON 바이트로 보관하는 LRU 캐시입니다.
+ * 댓글 작성, 수정, 답글 작성 시 첫 페이지를 다시 읽어 바로 저장(write-through)하고,
+ * 다른 서버에는 Redis 채널로 해당 키를 지우라고 알립니다. (다른 서버는 다음 조회 때 다시 채움)
+ * 항목 수와 전체 바이트 수 중 하나라도 넘으면 가장 오래 사용하지 않은 항목부터 버립니다.
+ */
+@Slf4j
+@Component
+public class CommentPageCache implements MessageListener {
+    private static final String CHANNEL = "comment:cache:invalidate";
+    private static final String SEPARATOR = "|";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final long maxBytes;
+    // 자기가 보낸 무효화 메시지를 구분하기 위한 서버 id
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // 접근 순서 LinkedHashMap, this 락 안에서만 접근
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    // 쓰기, 무효화마다 증가, 조회 중에 쓰기가 있었으면 읽은 값을 저장하지 않는다
+    private long version;
+
+    public CommentPageCache(StringRedisTemplate stringRedisTemplate,
+                            RedisMessageListenerContainer redisMessageListenerContainer,
+                            ObjectMapper objectMapper,
+                            @Value("${comment.cache.max-entries:10000}") int maxEntries,
+                            @Value("${comment.cache.max-bytes:67108864}") long maxBytes) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        try {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        } catch (Exception e) {
+            log.warn("comment cache channel subscribe failed : {}", e.getMessage());
+        }
+    }
+
+    public static String taskKey(Long teamId, Long taskId) {
+        return "task:" + teamId + ":" + taskId;
+    }
+
+    public static String teamPrefix(Long teamId) {
+        return "task:" + teamId + ":";
+    }
+
+    public static String todoKey(Long todoId) {
+        return "todo:" + todoId;
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * 캐시된 페이지를 돌려줍니다.
+     *
+     * @return 없으면 null
+     */
+    public <T> Slice<T> get(String key, Class<T> type, Pageable pageable) {
+        byte[] bytes;
+        synchronized (this) {
+            bytes = entries.get(key);
+        }
+        if (bytes == null) return null;
+        try {
+            JavaType javaType = objectMapper.getTypeFactory().constructParametricType(CachedPage.class, type);
+            CachedPage<T> cachedPage = objectMapper.readValue(bytes, javaType);
+            return new SliceImpl<>(cachedPage.getContent(), pageable, cachedPage.isHasNext());
+        } catch (Exception e) {
+            log.warn("comment cache entry {} unreadable : {}", key, e.getMessage());
+            evictLocal(key);
+            return null;
+        }
+    }
+
+    /**
+     * 조회한 페이지를 저장합니다. (read-through)
+     *
+     * @param version 조회 전에 읽은 version(), 그 사이 쓰기가 있었으면 저장하지 않는다
+     */
+    public void put(String key, Slice<?> page, long version) {
+        byte[] bytes = serialize(key, page);
+        if (bytes == null) return;
+        synchronized (this) {
+            if (this.version != version) return;
+            store(key, bytes);
+        }
+    }
+
+    //쓰기 후 첫 페이지를 다시 읽어 저장하고 다른 서버의 항목은 지운다 (write-through)
+    public void refresh(String key, Supplier<Slice<?>> loader) {
+        synchronized (this) {
+            version++;
+        }
+        byte[] bytes = serialize(key, loader.get());
+        synchronized (this) {
+            if (bytes == null) remove(key);
+            else store(key, bytes);
+        }
+        publish(key);
+    }
+
+    public void evict(String key) {
+        evictLocal(key);
+        publish(key);
+    }
+
+    //팀 삭제 시 팀의 모든 업무 댓글 페이지를 지운다
+    public void evictPrefix(String prefix) {
+        evictPrefixLocal(prefix);
+        publish(prefix + "*");
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(SEPARATOR);
+        if (separator < 0 || nodeId.equals(body.substring(0, separator))) return;
+        String key = body.substring(separator + 1);
+        if (key.endsWith("*")) evictPrefixLocal(key.substring(0, key.length() - 1));
+        else evictLocal(key);
+    }
+
+    private synchronized void evictLocal(String key) {
+        version++;
+        remove(key);
+    }
+
+    private synchronized void evictPrefixLocal(String prefix) {
+        version++;
+        Iterator<Map.Entry<String, byte[]>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, byte[]> entry = iterator.next();
+            if (!entry.getKey().startsWith(prefix)) continue;
+            totalBytes -= entry.getValue().length;
+            iterator.remove();
+        }
+    }
+
+    private void store(String key, byte[] bytes) {
+        // 한 항목이 전체 상한의 절반을 넘으면 저장하지 않는다
+        if (bytes.length > maxBytes / 2) {
+            remove(key);
+            return;
+        }
+        byte[] previous = entries.put(key, bytes);
+        if (previous != null) totalBytes -= previous.length;
+        totalBytes += bytes.length;
+
+        Iterator<Map.Entry<String, byte[]>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && iterator.hasNext()) {
+            Map.Entry<String, byte[]> eldest = iterator.next();
+            totalBytes -= eldest.getValue().length;
+            iterator.remove();
+        }
+    }
+
+    private void remove(String key) {
+        byte[] previous = entries.remove(key);
+        if (previous != null) totalBytes -= previous.length;
+    }
+
+    private byte[] serialize(String key, Slice<?> page) {
+        try {
+            return objectMapper.writeValueAsBytes(new CachedPage<>(page.getContent(), page.hasNext()));
+        } catch (Exception e) {
+            log.warn("comment cache entry {} not serializable : {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void publish(String key) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, nodeId + SEPARATOR + key);
+        } catch (Exception e) {
+            log.warn("comment cache invalidation publish failed : {}, {}", key, e.getMessage());
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class CachedPage<T> {
+        private List<T> content;
+        private boolean hasNext;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.domain.entity.chat.Chat;
+import com.example.todo.domain.repository.chat.ChatRepository;
+import com.example.todo.domain.repository.chat.ChatRoomRepository;
+import com.example.todo.dto.chat.ChatMessageDto;
+import com.example.todo.exception.ErrorCode;
+import com.example.todo.exception.TodoAppException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 업무가 완료된 채팅방의 메시지를 chat 테이블에서 방별 세그먼트 파일(ChatSegmentStore)로 옮깁니다.
+ * blockSize개씩 세그먼트에 추가한 뒤 chat_room.archived_until_id를 올리고 그 id까지의 행을 지웁니다.
+ * 세그먼트를 쓴 뒤 DB 반영 전에 중단되면 다음 실행에서 세그먼트의 마지막 id부터 이어서 처리하므로 같은 메시지를 두 번 보관하지 않습니다.
+ * 세그먼트 디렉터리(chat.archive.dir)는 모든 서버가 같이 쓰는 저장소여야 하고, 작업은 Redis 잠금으로 한 서버에서만 실행됩니다.
+ * 디렉터리를 설정하지 않으면 작업을 하지 않고 메시지는 DB에 그대로 둡니다.
+ */
+@Slf4j
+@Service
+public class ChatArchiveService {
+    static final String COMPLETED_STATUS = "완료";
+    private static final String LOCK_KEY = "chat:archive:lock";
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRepository chatRepository;
+    private final ChatSegmentStore chatSegmentStore;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // 블록 하나에 묶는 메시지 수
+    @Value("${chat.archive.block-size:500}")
+    private int blockSize;
+    // 마지막 메시지 후 이 시간이 지난 방만 보관한다
+    @Value("${chat.archive.idle-hours:24}")
+    private long idleHours;
+    @Value("${chat.archive.max-rooms-per-run:100}")
+    private int maxRoomsPerRun;
+    @Value("${chat.archive.max-blocks-per-run:200}")
+    private int maxBlocksPerRun;
+    @Value("${chat.archive.lock-minutes:30}")
+    private long lockMinutes;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public ChatArchiveService(ChatRoomRepository chatRoomRepository,
+                              ChatRepository chatRepository,
+                              ChatSegmentStore chatSegmentStore,
+                              StringRedisTemplate stringRedisTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.chatRepository = chatRepository;
+        this.chatSegmentStore = chatSegmentStore;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${chat.archive.interval-millis:3600000}")
+    public void archiveCompletedRooms() {
+        if (!chatSegmentStore.isEnabled() || !lock()) return;
+        try {
+            int budget = maxBlocksPerRun;
+            LocalDateTime idleSince = LocalDateTime.now().minusHours(idleHours);
+            for (Long roomId : chatRoomRepository.findIdsToArchive(COMPLETED_STATUS, idleSince, PageRequest.of(0, maxRoomsPerRun))) {
+                budget = archiveRoom(roomId, budget);
+                if (budget <= 0) return;
+            }
+        } finally {
+            unlock();
+        }
+    }
+
+    //남은 블록 수(budget) 안에서 방의 메시지를 오래된 순으로 세그먼트에 옮긴다
+    int archiveRoom(Long roomId, int budget) {
+        try {
+            long archivedUntilId = chatSegmentStore.lastId(roomId);
+            // DB에는 보관했다고 기록됐는데 세그먼트가 없으면 저장소가 바뀐 것이므로 이어 쓰지 않는다
+            Long recorded = archivedUntilId(roomId);
+            if (recorded != null && recorded > archivedUntilId) {
+                log.warn("chat archive segment missing : roomId {}, archived until {}, segment until {}",
+                        roomId, recorded, archivedUntilId);
+                return budget;
+            }
+            // 지난 실행이 세그먼트만 쓰고 중단됐으면 이미 보관한 행부터 정리한다
+            if (archivedUntilId > 0) markArchived(roomId, archivedUntilId);
+
+            while (budget > 0) {
+                List<Chat> chats = chatRepository.findAllByChatRoom_IdAndIdGreaterThanOrderByIdAsc(
+                        roomId, archivedUntilId, PageRequest.of(0, blockSize));
+                if (chats.isEmpty()) break;
+
+                chatSegmentStore.append(roomId, chats.stream().map(ChatMessageDto::fromEntity).toList());
+                archivedUntilId = chats.get(chats.size() - 1).getId();
+                // 디스크에서 다시 읽어 블록이 남아 있는 것을 확인한 뒤에만 행을 지운다
+                if (chatSegmentStore.lastId(roomId) != archivedUntilId)
+                    throw new IOException("segment not persisted until " + archivedUntilId);
+                markArchived(roomId, archivedUntilId);
+                budget--;
+                if (chats.size() < blockSize) break;
+            }
+            log.debug("chat room {} archived until {}", roomId, archivedUntilId);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("chat archive failed : roomId {}, {}", roomId, e.getMessage());
+        }
+        return budget;
+    }
+
+    //보관된 마지막 메시지 id (보관한 적이 없으면 null)
+    public Long archivedUntilId(Long roomId) {
+        return chatRoomRepository.findArchivedUntilIdById(roomId).orElse(null);
+    }
+
+    /**
+     * 보관된 메시지 중 beforeId보다 오래된 메시지를 최신순으로 limit개 읽습니다. (beforeId가 null이면 가장 최근 보관분부터)
+     */
+    public Slice<ChatMessageDto> read(Long roomId, Long archivedUntilId, Long beforeId, int limit) {
+        if (!chatSegmentStore.isEnabled()) {
+            log.warn("chat archive read failed : roomId {}, chat.archive.dir is not set", roomId);
+            throw new TodoAppException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+        try {
+            // 이 서버가 연 세그먼트보다 뒤에 보관된 블록이 있으면 다시 연다
+            if (chatSegmentStore.lastId(roomId) < archivedUntilId) chatSegmentStore.invalidate(roomId);
+            return chatSegmentStore.read(roomId, beforeId, limit);
+        } catch (UncheckedIOException e) {
+            log.warn("chat archive read failed : roomId {}, {}", roomId, e.getMessage());
+            throw new TodoAppException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private void markArchived(Long roomId, Long archivedUntilId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            chatRoomRepository.updateArchived(roomId, archivedUntilId, LocalDateTime.now());
+            chatRepository.deleteArchived(roomId, archivedUntilId);
+        });
+    }
+
+    private boolean lock() {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                    .setIfAbsent(LOCK_KEY, nodeId, Duration.ofMinutes(lockMinutes)));
+        } catch (Exception e) {
+            log.warn("chat archive lock failed : {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void unlock() {
+        try {
+            if (nodeId.equals(stringRedisTemplate.opsForValue().get(LOCK_KEY))) stringRedisTemplate.delete(LOCK_KEY);
+        } catch (Exception e) {
+            log.warn("chat archive unlock failed : {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.config.filter.StompAuthInterceptor;
+import com.example.todo.dto.chat.ChatPresenceDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 채팅방 접속자를 Redis ZSET(chat:presence:{roomId}, 점수 = 만료 시각)으로 관리합니다. DB에는 쓰지 않습니다.
+ * 방 구독 시 추가되고 클라이언트 하트비트(/app/chat/presence)로 만료 시각이 갱신되며, 연결이 끊기거나 ttl 동안 하트비트가 없으면 빠집니다.
+ * 접속자가 바뀐 방은 표시만 해두고 flushIntervalMillis마다 방별로 접속자 목록을 한 번만 /topic/{roomId}/presence 로 보냅니다.
+ * 여러 서버가 같은 방을 가지고 있어도 Redis 잠금 키로 한 주기에 한 서버만 보냅니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatPresence {
+    public static final String PRESENCE_SUFFIX = "/presence";
+    private static final String KEY_PREFIX = "chat:presence:";
+    private static final String FLUSH_LOCK_PREFIX = "chat:presence-flush:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ChatRelay chatRelay;
+
+    // 이 시간 동안 하트비트가 없으면 접속자 목록에서 빠진다
+    @Value("${chat.presence.ttl-millis:60000}")
+    private long ttlMillis;
+    @Value("${chat.presence.flush-interval-millis:1000}")
+    private long flushIntervalMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    // 이 서버에서 입장한 방 -> 입장한 세션 수 (만료된 접속자를 확인할 방)
+    private final Map<Long, AtomicInteger> localRooms = new ConcurrentHashMap<>();
+    // 접속자 목록을 다시 보내야 하는 방
+    private final Set<Long> dirtyRooms = ConcurrentHashMap.newKeySet();
+
+    @EventListener
+    public void onJoin(ChatRoomJoinedEvent event) {
+        if (event.username() == null) return;
+        // 같은 세션의 재구독은 입장 수를 늘리지 않는다 (연결이 끊길 때 세션당 한 번만 줄이므로)
+        if (event.firstJoin()) localRooms.computeIfAbsent(event.roomId(), id -> new AtomicInteger()).incrementAndGet();
+        touch(event.roomId(), event.username());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Object> sessionAttributes = SimpMessageHeaderAccessor.getSessionAttributes(event.getMessage().getHeaders());
+        if (sessionAttributes == null) return;
+        String username = (String) sessionAttributes.get(StompAuthInterceptor.SESSION_USERNAME);
+        if (username == null) return;
+        // 전송 권한만 확인한 방(roomIds)이 아니라 입장한 방만 나간다
+        for (Long roomId : StompAuthInterceptor.joinedRoomIds(sessionAttributes)) leave(roomId, username);
+    }
+
+    //하트비트, 이미 접속 중이면 만료 시각만 늘리고 목록은 다시 보내지 않는다
+    public void refresh(Long roomId, String username) {
+        touch(roomId, username);
+    }
+
+    public void leave(Long roomId, String username) {
+        localRooms.computeIfPresent(roomId, (id, count) -> count.decrementAndGet() <= 0 ? null : count);
+        try {
+            // 같은 사용자가 다른 창에서 접속 중이면 다음 하트비트 때 다시 추가된다
+            Long removed = stringRedisTemplate.opsForZSet().remove(KEY_PREFIX + roomId, username);
+            if (removed != null && removed > 0) dirtyRooms.add(roomId);
+        } catch (Exception e) {
+            log.warn("chat presence leave failed : roomId {}, {}", roomId, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.presence.flush-interval-millis:1000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        for (Long roomId : localRooms.keySet()) {
+            try {
+                Long expired = stringRedisTemplate.opsForZSet().removeRangeByScore(KEY_PREFIX + roomId, 0, now);
+                if (expired != null && expired > 0) dirtyRooms.add(roomId);
+            } catch (Exception e) {
+                log.warn("chat presence expire failed : roomId {}, {}", roomId, e.getMessage());
+            }
+        }
+
+        for (Long roomId : List.copyOf(dirtyRooms)) {
+            try {
+                // 다른 서버가 이번 주기에 이미 보냈으면 다음 주기에 보낸다
+                Boolean locked = stringRedisTemplate.opsForValue()
+                        .setIfAbsent(FLUSH_LOCK_PREFIX + roomId, nodeId, Duration.ofMillis(flushIntervalMillis));
+                if (!Boolean.TRUE.equals(locked)) continue;
+                dirtyRooms.remove(roomId);
+                Set<String> members = stringRedisTemplate.opsForZSet().rangeByScore(KEY_PREFIX + roomId, now, Double.POSITIVE_INFINITY);
+                chatRelay.publishEphemeral(roomId, PRESENCE_SUFFIX,
+                        new ChatPresenceDto(roomId, members == null ? List.of() : new ArrayList<>(members)));
+            } catch (Exception e) {
+                log.warn("chat presence flush failed : roomId {}, {}", roomId, e.getMessage());
+            }
+        }
+    }
+
+    private void touch(Long roomId, String username) {
+        String key = KEY_PREFIX + roomId;
+        try {
+            Boolean added = stringRedisTemplate.opsForZSet().add(key, username, System.currentTimeMillis() + ttlMillis);
+            // 모든 서버가 내려가도 남은 접속자 키는 사라진다
+            stringRedisTemplate.expire(key, Duration.ofMillis(ttlMillis));
+            if (Boolean.TRUE.equals(added)) dirtyRooms.add(roomId);
+        } catch (Exception e) {
+            log.warn("chat presence refresh failed : roomId {}, {}", roomId, e.getMessage());
+        }
+    }
+}
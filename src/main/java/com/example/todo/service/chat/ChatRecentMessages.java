@@ -0,0 +1,182 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.domain.entity.chat.Chat;
+import com.example.todo.domain.repository.chat.ChatRepository;
+import com.example.todo.domain.repository.chat.ChatRoomRepository;
+import com.example.todo.dto.chat.ChatMessageDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅방마다 최근 메시지 size개를 고정 크기 링 버퍼에 보관합니다.
+ * 방에 처음 들어올 때 한 번만 DB에서 채우고, 이후 메시지는 보낼 때 버퍼에 추가되므로 방 입장과 최근 기록 조회는 DB를 거치지 않습니다.
+ * 버퍼보다 오래된 기록은 ChatService가 (chat_room_id, id) 커서 조회로 읽습니다.
+ * 방 수가 maxRooms를 넘으면 가장 오래 사용하지 않은 방의 버퍼부터 버립니다.
+ */
+@Component
+public class ChatRecentMessages {
+    private final ChatRepository chatRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatWriteBuffer chatWriteBuffer;
+    private final int size;
+
+    // 접근 순서 LinkedHashMap, rings 락 안에서만 접근
+    private final LinkedHashMap<Long, RecentRing> rings;
+
+    public ChatRecentMessages(ChatRepository chatRepository,
+                              ChatRoomRepository chatRoomRepository,
+                              ChatWriteBuffer chatWriteBuffer,
+                              @Value("${chat.recent.size:50}") int size,
+                              @Value("${chat.recent.max-rooms:10000}") int maxRooms) {
+        this.chatRepository = chatRepository;
+        this.chatRoomRepository = chatRoomRepository;
+        this.chatWriteBuffer = chatWriteBuffer;
+        this.size = size;
+        this.rings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RecentRing> eldest) {
+                return size() > maxRooms;
+            }
+        };
+    }
+
+    //보낸 메시지를 방 버퍼에 추가한다 (아무도 입장하지 않은 방은 버퍼를 만들지 않음)
+    public void add(ChatMessageDto chatMessageDto) {
+        RecentRing ring;
+        synchronized (rings) {
+            ring = rings.get(chatMessageDto.getRoomId());
+        }
+        if (ring != null) ring.add(chatMessageDto);
+    }
+
+    /**
+     * beforeId보다 오래된 메시지를 최신순으로 limit개 돌려줍니다. (beforeId가 null이면 가장 최근부터)
+     *
+     * @return 버퍼만으로 채울 수 없으면 null (DB에서 읽어야 함)
+     */
+    public Slice<ChatMessageDto> read(Long roomId, Long beforeId, int limit) {
+        return ring(roomId).read(beforeId, limit);
+    }
+
+    //방에 입장한 클라이언트에게 보낼 최근 메시지 (오래된 순)
+    public List<ChatMessageDto> recent(Long roomId) {
+        List<ChatMessageDto> recent = ring(roomId).snapshot();
+        Collections.reverse(recent);
+        return recent;
+    }
+
+    public void evict(Long roomId) {
+        synchronized (rings) {
+            rings.remove(roomId);
+        }
+    }
+
+    private RecentRing ring(Long roomId) {
+        RecentRing ring;
+        synchronized (rings) {
+            ring = rings.computeIfAbsent(roomId, id -> new RecentRing(size));
+        }
+        if (!ring.isLoaded()) {
+            // 저장 대기 중인 메시지까지 DB에 넣은 뒤 읽는다, 그 사이 추가된 메시지는 load에서 id로 중복을 거른다
+            chatWriteBuffer.flush();
+            Slice<Chat> chats = chatRepository.findAllByChatRoom_IdOrderByIdDesc(roomId, PageRequest.of(0, size));
+            List<ChatMessageDto> loaded = new ArrayList<>(chats.map(ChatMessageDto::fromEntity).getContent());
+            Collections.reverse(loaded);
+            // 세그먼트로 보관된 메시지가 있으면 DB를 다 읽어도 전체 기록이 아니다
+            boolean complete = !chats.hasNext() && chatRoomRepository.findArchivedUntilIdById(roomId).isEmpty();
+            ring.load(loaded, complete);
+        }
+        return ring;
+    }
+
+    static class RecentRing {
+        private final ChatMessageDto[] slots;
+        // 다음에 쓸 위치
+        private int next;
+        private int count;
+        private boolean loaded;
+        // 방의 전체 기록이 버퍼에 들어 있으면 true (DB를 더 읽을 필요 없음)
+        private boolean complete;
+
+        RecentRing(int size) {
+            this.slots = new ChatMessageDto[size];
+        }
+
+        synchronized boolean isLoaded() {
+            return loaded;
+        }
+
+        synchronized void add(ChatMessageDto chatMessageDto) {
+            if (chatMessageDto.getId() != null && contains(chatMessageDto.getId())) return;
+            // 가장 오래된 메시지를 덮어쓰면 그 메시지는 DB에서만 읽을 수 있다
+            if (count == slots.length) complete = false;
+            else count++;
+            slots[next] = chatMessageDto;
+            next = (next + 1) % slots.length;
+        }
+
+        //DB에서 읽은 메시지(오래된 순) 뒤에 그 사이 추가된 메시지를 붙인다
+        synchronized void load(List<ChatMessageDto> oldestFirst, boolean complete) {
+            if (loaded) return;
+            List<ChatMessageDto> added = snapshot();
+            Collections.reverse(added);
+            next = 0;
+            count = 0;
+            this.complete = complete;
+            oldestFirst.forEach(this::add);
+            // 다른 서버에서 받은 메시지는 id가 없으므로 DB에서 읽은 메시지와 보낸 사람, 시각, 내용으로 중복을 거른다
+            List<String> loadedKeys = new ArrayList<>(oldestFirst.size());
+            for (ChatMessageDto chatMessageDto : oldestFirst) loadedKeys.add(contentKey(chatMessageDto));
+            for (ChatMessageDto chatMessageDto : added)
+                if (chatMessageDto.getId() != null || !loadedKeys.remove(contentKey(chatMessageDto))) add(chatMessageDto);
+            loaded = true;
+        }
+
+        synchronized Slice<ChatMessageDto> read(Long beforeId, int limit) {
+            int i = 0;
+            // id가 없는 메시지(저장 전이거나 다른 서버에서 받은 메시지)는 커서보다 오래됐는지 알 수 없으므로
+            // 커서 위치를 찾기 전에 만나면 건너뛰지 않고 DB에서 읽는다 (건너뛰면 커서보다 오래된 메시지를 빠뜨림)
+            if (beforeId != null)
+                for (; i < count && (get(i).getId() == null || get(i).getId() >= beforeId); i++)
+                    if (get(i).getId() == null) return null;
+            List<ChatMessageDto> page = new ArrayList<>(limit);
+            for (; i < count && page.size() < limit; i++) page.add(get(i));
+            boolean hasNext = i < count || !complete;
+            if (page.size() < limit && !complete) return null;
+            // 다음 페이지 커서로 쓸 마지막 메시지의 id가 없으면 (다른 서버에서 받은 메시지) DB에서 읽는다
+            if (hasNext && !page.isEmpty() && page.get(page.size() - 1).getId() == null) return null;
+            return new SliceImpl<>(page, PageRequest.of(0, limit), hasNext);
+        }
+
+        //최신순
+        synchronized List<ChatMessageDto> snapshot() {
+            List<ChatMessageDto> snapshot = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) snapshot.add(get(i));
+            return snapshot;
+        }
+
+        //i번째로 최근 메시지
+        private ChatMessageDto get(int i) {
+            return slots[Math.floorMod(next - 1 - i, slots.length)];
+        }
+
+        private static String contentKey(ChatMessageDto chatMessageDto) {
+            return chatMessageDto.getSender() + "|" + chatMessageDto.getTime() + "|" + chatMessageDto.getMessage();
+        }
+
+        private boolean contains(Long id) {
+            for (int i = 0; i < count; i++)
+                if (id.equals(get(i).getId())) return true;
+            return false;
+        }
+    }
+}
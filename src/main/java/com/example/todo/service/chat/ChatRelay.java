@@ -0,0 +1,176 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.dto.chat.ChatMessageDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 채팅 메시지에 방별 순번(seq)을 붙여 방 구독자에게 전달합니다.
+ * 내장 STOMP 브로커는 구독을 서버마다 따로 가지므로, REDIS 모드에서는 Redis 채널(chat:relay)로 모든 서버에 발행하고
+ * 각 서버가 자기 브로커의 /topic/{roomId} 로 보냅니다. 최근 메시지 버퍼도 같은 경로로 채워져 서버마다 같은 내용을 가집니다.
+ * 순번은 Redis INCR과 PUBLISH를 한 스크립트로 실행해서 붙이므로 발행 순서와 같고, 클라이언트는 순번으로 정렬과 누락을 확인합니다.
+ * Redis 발행에 실패한 메시지는 이 서버에만 순번 없이 전달합니다.
+ * 입력 중 표시, 접속자 목록 같은 일회성 메시지는 순번 없이 별도 채널(chat:relay:ephemeral)로 중계하고 저장하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatRelay implements MessageListener {
+    private static final String CHANNEL = "chat:relay";
+    private static final String EPHEMERAL_CHANNEL = "chat:relay:ephemeral";
+    private static final String SEQ_KEY_PREFIX = "chat:seq:";
+    private static final String SEPARATOR = "|";
+    private static final int ROOM_LOCK_STRIPES = 64;
+    // 방 순번을 올리고 "순번|메시지"로 발행한다
+    private static final RedisScript<Long> PUBLISH_SCRIPT = new DefaultRedisScript<>(
+            "local seq = redis.call('incr', KEYS[1]) " +
+            "redis.call('expire', KEYS[1], ARGV[3]) " +
+            "redis.call('publish', ARGV[1], seq .. '" + SEPARATOR + "' .. ARGV[2]) " +
+            "return seq", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+    private final SimpMessageSendingOperations simpMessageSendingOperations;
+    private final ChatRecentMessages chatRecentMessages;
+
+    @Value("${chat.relay.mode:LOCAL}")
+    private ChatRelayMode mode;
+    // 이 시간 동안 메시지가 없는 방은 순번이 1부터 다시 시작한다
+    @Value("${chat.relay.seq-ttl-seconds:86400}")
+    private long seqTtlSeconds;
+
+    // 자기가 발행한 메시지를 구분하기 위한 서버 id
+    private final String nodeId = UUID.randomUUID().toString();
+    // LOCAL 모드에서 사용하는 방별 순번
+    private final Map<Long, AtomicLong> localSeqs = new ConcurrentHashMap<>();
+    // 방별 순번 발급과 전달을 묶는 락 (방 수와 관계없이 개수 고정)
+    private final Object[] roomLocks = Stream.generate(Object::new).limit(ROOM_LOCK_STRIPES).toArray();
+
+    @PostConstruct
+    public void subscribeChannel() {
+        if (mode != ChatRelayMode.REDIS) return;
+        try {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(EPHEMERAL_CHANNEL));
+        } catch (Exception e) {
+            log.warn("chat relay channel subscribe failed : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 메시지에 순번을 붙여 모든 서버의 방 구독자에게 보냅니다.
+     * 보낸 서버는 Redis에서 돌아오기를 기다리지 않고 바로 전달합니다. (저장 후 id가 채워지는 같은 객체를 최근 메시지 버퍼에 넣기 위함)
+     * 순번을 받고 전달하기까지를 방 단위 락으로 묶어 같은 방에 동시에 보내도 순번 순서대로 전달합니다.
+     */
+    public void publish(ChatMessageDto chatMessageDto) {
+        Long roomId = chatMessageDto.getRoomId();
+        synchronized (roomLock(roomId)) {
+            if (mode == ChatRelayMode.REDIS) {
+                try {
+                    String payload = objectMapper.writeValueAsString(new RelayMessage(nodeId, chatMessageDto));
+                    Long seq = stringRedisTemplate.execute(PUBLISH_SCRIPT, List.of(SEQ_KEY_PREFIX + roomId),
+                            CHANNEL, payload, String.valueOf(seqTtlSeconds));
+                    chatMessageDto.setSeq(seq);
+                } catch (Exception e) {
+                    // 다른 서버의 구독자는 받지 못한다, 이 서버의 순번은 Redis 순번과 겹치므로 순번 없이 보낸다
+                    log.warn("chat relay publish failed, delivering locally : roomId {}, {}", roomId, e.getMessage());
+                    chatMessageDto.setSeq(null);
+                }
+            } else {
+                chatMessageDto.setSeq(localSeqs.computeIfAbsent(roomId, id -> new AtomicLong()).incrementAndGet());
+            }
+            deliverLocal(chatMessageDto);
+        }
+    }
+
+    /**
+     * 모든 서버의 /topic/{roomId}{suffix} 구독자에게 순번 없이 보냅니다. 저장하지 않고 최근 메시지 버퍼에도 넣지 않습니다.
+     * 발행에 실패하면 이 서버의 구독자에게만 보냅니다.
+     */
+    public void publishEphemeral(Long roomId, String suffix, Object payload) {
+        String destination = ChatService.TOPIC_PREFIX + roomId + suffix;
+        if (mode == ChatRelayMode.REDIS) {
+            try {
+                stringRedisTemplate.convertAndSend(EPHEMERAL_CHANNEL,
+                        objectMapper.writeValueAsString(new EphemeralMessage(nodeId, destination, objectMapper.valueToTree(payload))));
+            } catch (Exception e) {
+                log.warn("chat ephemeral relay failed, delivering locally : roomId {}, {}", roomId, e.getMessage());
+            }
+        }
+        simpMessageSendingOperations.convertAndSend(destination, payload);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            if (EPHEMERAL_CHANNEL.equals(new String(message.getChannel(), StandardCharsets.UTF_8))) {
+                EphemeralMessage ephemeralMessage = objectMapper.readValue(body, EphemeralMessage.class);
+                if (!nodeId.equals(ephemeralMessage.getNodeId()))
+                    simpMessageSendingOperations.convertAndSend(ephemeralMessage.getDestination(), ephemeralMessage.getPayload());
+                return;
+            }
+            int separator = body.indexOf(SEPARATOR);
+            RelayMessage relayMessage = objectMapper.readValue(body.substring(separator + 1), RelayMessage.class);
+            // 이 서버가 발행한 메시지는 이미 전달했다
+            if (nodeId.equals(relayMessage.getNodeId())) return;
+
+            ChatMessageDto chatMessageDto = relayMessage.getMessage();
+            chatMessageDto.setSeq(Long.parseLong(body.substring(0, separator)));
+            deliverLocal(chatMessageDto);
+        } catch (Exception e) {
+            log.warn("chat relay message dropped : {}", e.getMessage());
+        }
+    }
+
+    private Object roomLock(Long roomId) {
+        return roomLocks[Math.floorMod(roomId.hashCode(), roomLocks.length)];
+    }
+
+    private void deliverLocal(ChatMessageDto chatMessageDto) {
+        chatRecentMessages.add(chatMessageDto);
+        simpMessageSendingOperations.convertAndSend(ChatService.TOPIC_PREFIX + chatMessageDto.getRoomId(), chatMessageDto);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    private static class RelayMessage {
+        private String nodeId;
+        private ChatMessageDto message;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    private static class EphemeralMessage {
+        private String nodeId;
+        private String destination;
+        private JsonNode payload;
+    }
+}
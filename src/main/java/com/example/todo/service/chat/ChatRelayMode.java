@@ -0,0 +1,11 @@
+package com.example.todo.service.chat;
+
+/**
+ * 채팅 메시지를 방 구독자에게 전달하는 범위 (chat.relay.mode)
+ */
+public enum ChatRelayMode {
+    // 이 서버의 내장 브로커에만 전달한다 (서버 한 대)
+    LOCAL,
+    // Redis 채널로 모든 서버에 발행하고, 각 서버가 자기 내장 브로커에 전달한다 (서버 여러 대)
+    REDIS
+}
@@ -0,0 +1,49 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.dto.chat.ChatMessageDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 채팅방 토픽을 구독하면 그 구독에만 최근 메시지 목록(배열)을 한 번 보냅니다.
+ * 최근 메시지는 ChatRecentMessages 버퍼에서 읽으므로 방 입장에 DB 조회가 없습니다. (방의 첫 입장 제외)
+ * SessionSubscribeEvent는 인터셉터보다 먼저 발행되므로 권한 확인 후 발행되는 ChatRoomJoinedEvent를 받습니다.
+ */
+@Slf4j
+@Component
+public class ChatRoomJoinListener {
+    private final ChatRecentMessages chatRecentMessages;
+    // 브로커를 거치지 않고 해당 세션에 바로 보낸다 (같은 방의 다른 구독자에게는 보내지 않음)
+    private final SimpMessagingTemplate sessionMessagingTemplate;
+
+    public ChatRoomJoinListener(ChatRecentMessages chatRecentMessages,
+                                @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                                SimpMessagingTemplate brokerMessagingTemplate) {
+        this.chatRecentMessages = chatRecentMessages;
+        this.sessionMessagingTemplate = new SimpMessagingTemplate(clientOutboundChannel);
+        this.sessionMessagingTemplate.setMessageConverter(brokerMessagingTemplate.getMessageConverter());
+    }
+
+    @EventListener
+    public void onJoin(ChatRoomJoinedEvent event) {
+        try {
+            List<ChatMessageDto> recent = chatRecentMessages.recent(event.roomId());
+
+            SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            headers.setSessionId(event.sessionId());
+            headers.setSubscriptionId(event.subscriptionId());
+            headers.setLeaveMutable(true);
+            sessionMessagingTemplate.convertAndSend(ChatService.TOPIC_PREFIX + event.roomId(), recent, headers.getMessageHeaders());
+        } catch (Exception e) {
+            log.warn("chat recent messages not sent : {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.todo.service.chat;
+
+/**
+ * 채팅방 구독 권한 확인이 끝났을 때 발행됩니다. (StompAuthInterceptor)
+ * firstJoin은 세션이 이 방에 처음 입장했으면 true, 같은 세션이 다시 구독했으면 false 입니다.
+ */
+public record ChatRoomJoinedEvent(String sessionId, String subscriptionId, Long roomId, String username, boolean firstJoin) {
+}
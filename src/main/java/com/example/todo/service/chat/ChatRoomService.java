@@ -0,0 +1,184 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.domain.entity.TaskApiEntity;
+import com.example.todo.domain.entity.chat.ChatRoom;
+import com.example.todo.domain.repository.MemberRepository;
+import com.example.todo.domain.repository.chat.ChatRepository;
+import com.example.todo.domain.repository.chat.ChatRoomRepository;
+import com.example.todo.dto.chat.ChatRoomDto;
+import com.example.todo.exception.ErrorCode;
+import com.example.todo.exception.TodoAppException;
+import com.example.todo.service.task.TaskValidationUtils;
+import com.example.todo.support.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 업무마다 하나씩 있는 채팅방의 생성, 조회, 입장 권한 확인을 담당합니다.
+ * STOMP 인터셉터에서도 사용하므로 메시지 전송(SimpMessagingTemplate)에는 의존하지 않습니다.
+ * 방을 지우기 전에 모든 서버에 닫힌 방을 알려, 구독 때 확인한 세션도 더 이상 그 방에 보내지 못하게 합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatRoomService implements MessageListener {
+    private static final String CLOSED_CHANNEL = "chat:room:closed";
+    private static final String SEPARATOR = "|";
+    // 기억하는 닫힌 방 수, 밀려난 방은 DB 조회로 없는 방임을 확인한다
+    private static final int MAX_CLOSED_ROOMS = 10_000;
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRepository chatRepository;
+    private final MemberRepository memberRepository;
+    private final TaskValidationUtils taskValidationUtils;
+    private final ChatWriteBuffer chatWriteBuffer;
+    private final ChatRecentMessages chatRecentMessages;
+    private final ChatSegmentStore chatSegmentStore;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    // 방 id -> 팀 id (방의 업무는 바뀌지 않으므로 구독할 때마다 조인하지 않는다)
+    private final Map<Long, Long> roomTeamIds = new ConcurrentHashMap<>();
+    // 지웠거나 지우는 중인 방
+    private final Set<Long> closedRoomIds = Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > MAX_CLOSED_ROOMS;
+        }
+    }));
+    // 자기가 보낸 메시지를 구분하기 위한 서버 id
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @PostConstruct
+    public void subscribe() {
+        try {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CLOSED_CHANNEL));
+        } catch (Exception e) {
+            log.warn("chat room channel subscribe failed : {}", e.getMessage());
+        }
+    }
+
+    //업무의 채팅방을 돌려준다, 없으면 만든다
+    //(방 저장이 자체 트랜잭션으로 실행되어야 동시 생성 실패 후 다시 조회할 수 있으므로 트랜잭션을 열지 않는다)
+    public ChatRoomDto enterRoom(Long userId, Long teamId, Long taskId) {
+        taskValidationUtils.isMemberOfTeam(userId, teamId);
+        TaskApiEntity taskApiEntity = taskValidationUtils.getTaskById(taskId);
+        if (!teamId.equals(taskApiEntity.getTeam().getId())) throw new TodoAppException(ErrorCode.NOT_MATCH_TEAM_AND_TASK);
+
+        ChatRoom chatRoom = chatRoomRepository.findByTaskApiEntity(taskApiEntity)
+                .orElseGet(() -> createRoom(taskApiEntity));
+        return new ChatRoomDto(chatRoom.getId(), taskApiEntity.getTaskName());
+    }
+
+    public ChatRoomDto readRoom(Long userId, Long roomId) {
+        checkMember(userId, roomId);
+        String roomName = chatRoomRepository.findRoomNameById(roomId)
+                .orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_ENTITY));
+        return new ChatRoomDto(roomId, roomName);
+    }
+
+    public String getWriterName(Long userId) {
+        return taskValidationUtils.getUserById(userId).getUsername();
+    }
+
+    //방이 속한 팀의 멤버인지 확인한다
+    public void checkMember(Long userId, Long roomId) {
+        if (closedRoomIds.contains(roomId)) throw new TodoAppException(ErrorCode.NOT_FOUND_ENTITY);
+        Long teamId = roomTeamIds.get(roomId);
+        if (teamId == null) {
+            teamId = chatRoomRepository.findTeamIdById(roomId)
+                    .orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_ENTITY));
+            roomTeamIds.put(roomId, teamId);
+        }
+        if (!memberRepository.existsByTeamIdAndUserId(teamId, userId))
+            throw new TodoAppException(ErrorCode.NOT_MATCH_MEMBERID);
+    }
+
+    //구독 때 확인한 방에 보낼 때 호출, 닫힌 방이면 거절한다 (캐시에 없는 방만 DB 조회)
+    public void checkOpen(Long roomId) {
+        if (closedRoomIds.contains(roomId)
+                || (!roomTeamIds.containsKey(roomId) && chatRoomRepository.findTeamIdById(roomId).isEmpty()))
+            throw new TodoAppException(ErrorCode.NOT_FOUND_ENTITY);
+    }
+
+    /**
+     * 방을 지우기 전에 호출합니다. 모든 서버에서 새 메시지를 거절하고 방의 캐시를 비운 뒤,
+     * 이 서버의 저장 버퍼에 남은 메시지를 저장합니다. (다른 서버 버퍼에 남은 메시지는 저장할 때 그 행만 버려짐)
+     */
+    public void closeRooms(Collection<Long> roomIds) {
+        roomIds.forEach(this::closeLocal);
+        for (Long roomId : roomIds) {
+            try {
+                stringRedisTemplate.convertAndSend(CLOSED_CHANNEL, nodeId + SEPARATOR + roomId);
+            } catch (Exception e) {
+                log.warn("chat room close publish failed : roomId {}, {}", roomId, e.getMessage());
+            }
+        }
+        chatWriteBuffer.flush();
+    }
+
+    //업무 삭제 시 채팅방과 메시지를 함께 지운다
+    @Transactional
+    public void deleteRoom(TaskApiEntity taskApiEntity) {
+        chatRoomRepository.findByTaskApiEntity(taskApiEntity).ifPresent(chatRoom -> {
+            // 버퍼에 남은 메시지가 지운 방을 참조하지 않도록 먼저 닫고 저장한다
+            closeRooms(Set.of(chatRoom.getId()));
+            chatRepository.deleteAllByChatRoomId(chatRoom.getId());
+            chatRoomRepository.delete(chatRoom);
+            deleteArchiveAfterCommit(chatRoom.getId());
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(SEPARATOR);
+        if (separator < 0 || nodeId.equals(body.substring(0, separator))) return;
+        try {
+            closeLocal(Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("chat room close dropped : {}", body);
+        }
+    }
+
+    private void closeLocal(Long roomId) {
+        closedRoomIds.add(roomId);
+        roomTeamIds.remove(roomId);
+        chatRecentMessages.evict(roomId);
+    }
+
+    private ChatRoom createRoom(TaskApiEntity taskApiEntity) {
+        ChatRoom chatRoom = new ChatRoom();
+        chatRoom.setTaskApiEntity(taskApiEntity);
+        try {
+            return chatRoomRepository.save(chatRoom);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 업무의 방을 동시에 만든 경우 먼저 만들어진 방을 쓴다 (task_id 유니크)
+            return chatRoomRepository.findByTaskApiEntity(taskApiEntity)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    //보관 파일은 되돌릴 수 없으므로 방 삭제가 커밋된 뒤에 지운다
+    private void deleteArchiveAfterCommit(Long roomId) {
+        AfterCommit.run(() -> chatSegmentStore.delete(roomId));
+    }
+}
@@ -0,0 +1,340 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.dto.chat.ChatMessageDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 보관한 채팅 메시지를 방마다 추가만 하는 세그먼트 파일({roomId}.seg)과 오프셋 색인({roomId}.idx)에 저장합니다.
+ * 메시지는 id 순으로 묶어 Deflate로 압축한 블록 단위로 쓰고, 색인에는 블록마다 (첫 id, 마지막 id, 위치, 압축 길이, 원본 길이)를 고정 크기로 기록합니다.
+ * 읽을 때는 세그먼트를 메모리 맵으로 열고 색인에서 찾은 블록만 풀기 때문에 파일 전체를 읽지 않습니다.
+ * 블록을 쓴 다음에 색인을 쓰므로, 쓰는 도중 중단되어 색인에 없는 세그먼트 끝부분은 읽지 않고 다음 쓰기에서 덮어씁니다.
+ * chat.archive.dir은 컨테이너가 바뀌어도 남고 모든 서버가 같이 쓰는 저장소의 절대 경로여야 합니다.
+ * 설정하지 않으면 보관을 하지 않고(isEnabled false), 절대 경로가 아니거나 쓸 수 없으면 시작할 때 실패합니다.
+ */
+@Slf4j
+@Component
+public class ChatSegmentStore {
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    // 첫 id, 마지막 id, 위치, 압축 길이, 원본 길이
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES * 3 + Integer.BYTES * 2;
+
+    // 설정하지 않으면 null
+    private final Path dir;
+    // 방 id -> 메모리 맵으로 연 세그먼트 (접근 순서 LinkedHashMap, segments 락 안에서만 접근)
+    private final LinkedHashMap<Long, Segment> segments;
+
+    public ChatSegmentStore(@Value("${chat.archive.dir:}") String dir,
+                            @Value("${chat.archive.max-open-segments:256}") int maxOpenSegments) {
+        this.dir = checkDir(dir);
+        this.segments = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Segment> eldest) {
+                return size() > maxOpenSegments;
+            }
+        };
+    }
+
+    //컨테이너 안의 상대 경로에 쓰면 재배포 때 지워지므로 절대 경로만 받는다
+    private static Path checkDir(String dir) {
+        if (dir == null || dir.isBlank()) {
+            log.warn("chat.archive.dir is not set, chat archive disabled");
+            return null;
+        }
+        Path path = Path.of(dir);
+        if (!path.isAbsolute())
+            throw new IllegalStateException("chat.archive.dir must be an absolute path on persistent storage : " + dir);
+        try {
+            Files.createDirectories(path);
+        } catch (IOException e) {
+            throw new IllegalStateException("chat.archive.dir cannot be created : " + dir, e);
+        }
+        if (!Files.isWritable(path)) throw new IllegalStateException("chat.archive.dir is not writable : " + dir);
+        return path;
+    }
+
+    public boolean isEnabled() {
+        return dir != null;
+    }
+
+    /**
+     * 메시지(id 오름차순)를 블록 하나로 압축해 세그먼트 끝에 추가합니다.
+     * 돌아오면 블록과 색인(파일 길이 포함)이 디스크에 기록된 상태입니다.
+     */
+    public synchronized void append(Long roomId, List<ChatMessageDto> oldestFirst) throws IOException {
+        if (!isEnabled()) throw new IllegalStateException("chat archive disabled");
+        if (oldestFirst.isEmpty()) return;
+        byte[] raw = encode(oldestFirst);
+        byte[] compressed = deflate(raw);
+
+        Files.createDirectories(dir);
+        Index index = readIndex(roomId);
+        long offset = index.end();
+        try (FileChannel segment = FileChannel.open(segmentPath(roomId), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            segment.truncate(offset);
+            writeFully(segment, ByteBuffer.wrap(compressed), offset);
+            // 늘어난 파일 길이까지 기록한다
+            segment.force(true);
+        }
+
+        ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES)
+                .putLong(oldestFirst.get(0).getId())
+                .putLong(oldestFirst.get(oldestFirst.size() - 1).getId())
+                .putLong(offset)
+                .putInt(compressed.length)
+                .putInt(raw.length)
+                .flip();
+        try (FileChannel indexChannel = FileChannel.open(indexPath(roomId), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // 중단된 쓰기가 남긴 불완전한 항목은 덮어쓴다
+            long position = (long) index.size() * INDEX_ENTRY_BYTES;
+            indexChannel.truncate(position);
+            writeFully(indexChannel, entry, position);
+            indexChannel.force(true);
+        }
+        forceDir();
+        invalidate(roomId);
+    }
+
+    //보관된 마지막 메시지 id (보관된 메시지가 없으면 0)
+    public long lastId(Long roomId) {
+        if (!isEnabled()) return 0;
+        return segment(roomId).index.lastId();
+    }
+
+    /**
+     * 보관된 메시지 중 beforeId보다 오래된 메시지를 최신순으로 limit개 돌려줍니다. (beforeId가 null이면 가장 최근부터)
+     */
+    public Slice<ChatMessageDto> read(Long roomId, Long beforeId, int limit) {
+        if (!isEnabled()) throw new IllegalStateException("chat archive disabled");
+        Segment segment = segment(roomId);
+        List<ChatMessageDto> page = new ArrayList<>(limit);
+        boolean hasNext = false;
+        blocks:
+        for (int block = segment.index.lastBlockBefore(beforeId); block >= 0; block--) {
+            List<ChatMessageDto> messages = segment.block(roomId, block);
+            for (int i = messages.size() - 1; i >= 0; i--) {
+                ChatMessageDto chatMessageDto = messages.get(i);
+                if (beforeId != null && chatMessageDto.getId() >= beforeId) continue;
+                if (page.size() == limit) {
+                    hasNext = true;
+                    break blocks;
+                }
+                page.add(chatMessageDto);
+            }
+        }
+        return new SliceImpl<>(page, PageRequest.of(0, Math.max(limit, 1)), hasNext);
+    }
+
+    //다음 조회 때 색인과 세그먼트를 다시 연다 (다른 서버가 추가한 블록 반영)
+    public void invalidate(Long roomId) {
+        synchronized (segments) {
+            segments.remove(roomId);
+        }
+    }
+
+    public synchronized void delete(Long roomId) {
+        invalidate(roomId);
+        if (!isEnabled()) return;
+        try {
+            Files.deleteIfExists(segmentPath(roomId));
+            Files.deleteIfExists(indexPath(roomId));
+        } catch (IOException e) {
+            log.warn("chat archive delete failed : roomId {}, {}", roomId, e.getMessage());
+        }
+    }
+
+    private Segment segment(Long roomId) {
+        Segment segment;
+        synchronized (segments) {
+            segment = segments.get(roomId);
+        }
+        if (segment != null) return segment;
+
+        try {
+            segment = Segment.open(segmentPath(roomId), readIndex(roomId));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        synchronized (segments) {
+            segments.put(roomId, segment);
+        }
+        return segment;
+    }
+
+    private Index readIndex(Long roomId) throws IOException {
+        Path indexPath = indexPath(roomId);
+        if (!Files.exists(indexPath)) return new Index(new long[0], new long[0], new long[0], new int[0], new int[0]);
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+        // 끝에 남은 불완전한 항목은 버린다
+        int size = buffer.remaining() / INDEX_ENTRY_BYTES;
+        Index index = new Index(new long[size], new long[size], new long[size], new int[size], new int[size]);
+        for (int i = 0; i < size; i++) {
+            index.firstIds[i] = buffer.getLong();
+            index.lastIds[i] = buffer.getLong();
+            index.offsets[i] = buffer.getLong();
+            index.lengths[i] = buffer.getInt();
+            index.rawLengths[i] = buffer.getInt();
+        }
+        return index;
+    }
+
+    private Path segmentPath(Long roomId) {
+        return dir.resolve(roomId + SEGMENT_SUFFIX);
+    }
+
+    private Path indexPath(Long roomId) {
+        return dir.resolve(roomId + INDEX_SUFFIX);
+    }
+
+    //새로 만든 파일이 디렉터리에 남도록 디렉터리도 기록한다 (지원하지 않는 파일 시스템은 무시)
+    private void forceDir() {
+        try (FileChannel dirChannel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            dirChannel.force(true);
+        } catch (IOException e) {
+            log.debug("chat archive dir sync skipped : {}", e.getMessage());
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) position += channel.write(buffer, position);
+    }
+
+    //메시지 수, (id, 보낸 사람, 내용, 시각) 반복
+    private static byte[] encode(List<ChatMessageDto> messages) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(messages.size());
+            for (ChatMessageDto chatMessageDto : messages) {
+                out.writeLong(chatMessageDto.getId());
+                out.writeUTF(Objects.requireNonNullElse(chatMessageDto.getSender(), ""));
+                out.writeUTF(Objects.requireNonNullElse(chatMessageDto.getMessage(), ""));
+                out.writeUTF(Objects.requireNonNullElse(chatMessageDto.getTime(), ""));
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<ChatMessageDto> decode(Long roomId, byte[] raw) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        int count = in.readInt();
+        List<ChatMessageDto> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ChatMessageDto chatMessageDto = new ChatMessageDto();
+            chatMessageDto.setId(in.readLong());
+            chatMessageDto.setRoomId(roomId);
+            chatMessageDto.setSender(in.readUTF());
+            chatMessageDto.setMessage(in.readUTF());
+            chatMessageDto.setTime(in.readUTF());
+            messages.add(chatMessageDto);
+        }
+        return messages;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) out.write(chunk, 0, deflater.deflate(chunk));
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(ByteBuffer compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput()))
+                    throw new IOException("truncated chat archive block");
+                read += n;
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("corrupted chat archive block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private record Index(long[] firstIds, long[] lastIds, long[] offsets, int[] lengths, int[] rawLengths) {
+        int size() {
+            return firstIds.length;
+        }
+
+        long lastId() {
+            return size() == 0 ? 0 : lastIds[size() - 1];
+        }
+
+        //색인에 기록된 세그먼트 끝 위치
+        long end() {
+            return size() == 0 ? 0 : offsets[size() - 1] + lengths[size() - 1];
+        }
+
+        //beforeId보다 작은 id가 들어 있는 마지막 블록 (블록은 id 순이므로 이진 탐색)
+        int lastBlockBefore(Long beforeId) {
+            if (beforeId == null) return size() - 1;
+            int low = 0, high = size() - 1, found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (firstIds[mid] < beforeId) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+    }
+
+    private record Segment(MappedByteBuffer mapped, Index index) {
+        static Segment open(Path segmentPath, Index index) throws IOException {
+            long end = index.end();
+            if (end == 0) return new Segment(null, index);
+            // 한 방의 세그먼트는 2GB를 넘지 않는다고 본다 (메모리 맵 한 개의 한도)
+            if (end > Integer.MAX_VALUE) throw new IOException("chat archive segment too large : " + segmentPath);
+            try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+                // 채널을 닫아도 매핑은 유지된다
+                return new Segment(channel.map(FileChannel.MapMode.READ_ONLY, 0, end), index);
+            }
+        }
+
+        List<ChatMessageDto> block(Long roomId, int block) {
+            try {
+                ByteBuffer compressed = mapped.slice((int) index.offsets[block], index.lengths[block]);
+                return decode(roomId, inflate(compressed, index.rawLengths[block]));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
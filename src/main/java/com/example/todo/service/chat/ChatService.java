@@ -0,0 +1,83 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.domain.entity.chat.Chat;
+import com.example.todo.domain.repository.chat.ChatRepository;
+import com.example.todo.dto.chat.ChatMessageDto;
+import com.example.todo.dto.chat.ChatTypingDto;
+import com.example.todo.exception.ErrorCode;
+import com.example.todo.exception.TodoAppException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 채팅 메시지를 ChatRelay를 통해 방 토픽(/topic/{roomId})을 구독 중인 클라이언트에게 보냅니다.
+ * 저장은 ChatWriteBuffer가 모아서 나중에 하므로 STOMP 처리 스레드는 INSERT를 기다리지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatService {
+    public static final String TOPIC_PREFIX = "/topic/";
+    public static final String TYPING_SUFFIX = "/typing";
+    // chat.content 컬럼 길이
+    private static final int MAX_MESSAGE_LENGTH = 255;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ChatRepository chatRepository;
+    private final ChatRoomService chatRoomService;
+    private final ChatWriteBuffer chatWriteBuffer;
+    private final ChatRecentMessages chatRecentMessages;
+    private final ChatRelay chatRelay;
+    private final ChatArchiveService chatArchiveService;
+
+    //메시지를 저장 버퍼에 넣고 바로 방에 보낸다 (보낸 사람 권한은 호출하는 쪽에서 확인)
+    public ChatMessageDto send(Long roomId, String writer, String message) {
+        if (roomId == null || message == null || message.isBlank() || message.length() > MAX_MESSAGE_LENGTH)
+            throw new TodoAppException(ErrorCode.INVALID_INPUT_VALUE);
+
+        LocalDateTime now = LocalDateTime.now();
+        ChatMessageDto chatMessageDto = ChatMessageDto.of(roomId, writer, message, now);
+        chatWriteBuffer.append(chatMessageDto, now);
+        chatRelay.publish(chatMessageDto);
+        return chatMessageDto;
+    }
+
+    //입력 중 표시를 /topic/{roomId}/typing 으로 보낸다 (저장하지 않음)
+    public void typing(Long roomId, String writer, boolean typing) {
+        if (roomId == null) throw new TodoAppException(ErrorCode.INVALID_INPUT_VALUE);
+        chatRelay.publishEphemeral(roomId, TYPING_SUFFIX, new ChatTypingDto(roomId, writer, typing));
+    }
+
+    //beforeId보다 오래된 메시지를 최신순으로 조회한다, 최근 메시지 버퍼로 채울 수 없을 때만 DB를 읽는다
+    public Slice<ChatMessageDto> readMessages(Long userId, Long roomId, Long beforeId, Integer limit) {
+        chatRoomService.checkMember(userId, roomId);
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        Slice<ChatMessageDto> recent = chatRecentMessages.read(roomId, beforeId, pageSize);
+        if (recent != null) return recent;
+
+        // 보관된 범위만 남았으면 세그먼트에서 읽는다
+        Long archivedUntilId = chatArchiveService.archivedUntilId(roomId);
+        if (archivedUntilId != null && beforeId != null && beforeId <= archivedUntilId + 1)
+            return chatArchiveService.read(roomId, archivedUntilId, beforeId, pageSize);
+
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+        Slice<Chat> chats = beforeId == null
+                ? chatRepository.findAllByChatRoom_IdOrderByIdDesc(roomId, pageRequest)
+                : chatRepository.findAllByChatRoom_IdAndIdLessThanOrderByIdDesc(roomId, beforeId, pageRequest);
+        Slice<ChatMessageDto> messages = chats.map(ChatMessageDto::fromEntity);
+        if (archivedUntilId == null || messages.hasNext()) return messages;
+
+        // DB에 남은 메시지로 페이지를 채우지 못하면 이어서 보관된 메시지로 채운다 (보관된 id는 모두 DB에 남은 id보다 작음)
+        Slice<ChatMessageDto> archived = chatArchiveService.read(roomId, archivedUntilId, null,
+                pageSize - messages.getNumberOfElements());
+        List<ChatMessageDto> content = new ArrayList<>(messages.getContent());
+        content.addAll(archived.getContent());
+        return new SliceImpl<>(content, pageRequest, archived.hasNext());
+    }
+}
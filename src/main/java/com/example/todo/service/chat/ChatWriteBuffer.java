@@ -0,0 +1,175 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.dto.chat.ChatMessageDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅 메시지를 메모리 버퍼에 모았다가 여러 행 INSERT 한 번으로 저장합니다. (write-behind)
+ * 메시지는 저장 전에 구독자에게 먼저 전송되고, 버퍼는 flushIntervalMillis마다 또는 batchSize만큼 쌓이면 비워집니다.
+ * 버퍼가 가득 차면 보내는 스레드가 직접 버퍼를 비운 뒤 넣으므로 DB가 느리면 전송도 같이 느려집니다. (backpressure)
+ * 지운 방의 메시지처럼 저장할 수 없는 행이 섞이면 배치를 반으로 나눠 다시 저장하고 그 행만 버립니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatWriteBuffer {
+    private static final String INSERT_SQL =
+            "insert into chat (chat_room_id, writer, content, created_at, updated_at) values (?, ?, ?, ?, ?)";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolTaskExecutor chatWriteExecutor;
+
+    @Value("${chat.write-buffer.capacity:10000}")
+    private int capacity;
+    @Value("${chat.write-buffer.batch-size:500}")
+    private int batchSize;
+    // 재시도 간격, 시도할 때마다 이만큼 더 기다린다
+    @Value("${chat.write-buffer.retry-backoff-millis:100}")
+    private long retryBackoffMillis;
+
+    private BlockingQueue<PendingChat> buffer;
+    private TransactionTemplate transactionTemplate;
+    // 버퍼를 비우는 작업은 한 번에 하나만 (저장 순서 = 전송 순서)
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        buffer = new ArrayBlockingQueue<>(capacity);
+        // 읽기 전용 트랜잭션 안에서 호출되어도(최근 메시지 조회 전 flush) 별도 트랜잭션으로 저장한다
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 저장할 메시지를 버퍼에 넣습니다. 저장되면 chatMessageDto에 id가 채워집니다.
+     */
+    public void append(ChatMessageDto chatMessageDto, LocalDateTime createdAt) {
+        PendingChat pendingChat = new PendingChat(chatMessageDto, createdAt);
+        while (!buffer.offer(pendingChat)) flush();
+        if (buffer.size() >= batchSize) chatWriteExecutor.execute(this::flush);
+    }
+
+    @Scheduled(fixedDelayString = "${chat.write-buffer.flush-interval-millis:10}")
+    public void scheduledFlush() {
+        if (!buffer.isEmpty()) flush();
+    }
+
+    //버퍼가 빌 때까지 batchSize씩 나눠서 저장한다
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<PendingChat> batch = new ArrayList<>(batchSize);
+            while (buffer.drainTo(batch, batchSize) > 0) {
+                insert(batch);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int size() {
+        return buffer.size();
+    }
+
+    //종료 전에 남은 메시지를 저장한다 (DataSource보다 먼저 정리된다)
+    @PreDestroy
+    public void flushOnShutdown() {
+        int remaining = size();
+        flush();
+        if (remaining > 0) log.info("chat write buffer flushed on shutdown : {}", remaining);
+    }
+
+    private void insert(List<PendingChat> batch) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                insertBatch(batch);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // 다시 시도해도 실패하는 행이 있으므로 나눠서 저장하고 실패한 행만 버린다
+                split(batch, e);
+                return;
+            } catch (Exception e) {
+                log.warn("chat batch insert failed ({}/{}) : {}", attempt, MAX_ATTEMPTS, e.getMessage());
+                if (attempt < MAX_ATTEMPTS && !backoff(attempt)) break;
+            }
+        }
+        log.error("chat messages dropped : {}", batch.size());
+    }
+
+    private void split(List<PendingChat> batch, DataIntegrityViolationException e) {
+        if (batch.size() == 1) {
+            ChatMessageDto chatMessageDto = batch.get(0).chatMessageDto();
+            log.warn("chat message dropped : roomId {}, {}", chatMessageDto.getRoomId(), e.getMostSpecificCause().getMessage());
+            return;
+        }
+        int half = batch.size() / 2;
+        insert(batch.subList(0, half));
+        insert(batch.subList(half, batch.size()));
+    }
+
+    private boolean backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMillis * attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void insertBatch(List<PendingChat> batch) {
+        // 배치가 여러 문장으로 나뉘어도 전부 저장되거나 전부 취소되어야 재시도 시 중복되지 않는다
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (PendingChat pendingChat : batch) {
+                    Timestamp createdAt = Timestamp.valueOf(pendingChat.createdAt());
+                    statement.setLong(1, pendingChat.chatMessageDto().getRoomId());
+                    statement.setString(2, pendingChat.chatMessageDto().getSender());
+                    statement.setString(3, pendingChat.chatMessageDto().getMessage());
+                    statement.setTimestamp(4, createdAt);
+                    statement.setTimestamp(5, createdAt);
+                    statement.addBatch();
+                }
+                // rewriteBatchedStatements=true 이면 MySQL 드라이버가 여러 행 INSERT 하나로 보낸다
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (PendingChat pendingChat : batch) {
+                        if (!keys.next()) break;
+                        pendingChat.chatMessageDto().setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        }));
+    }
+
+    private record PendingChat(ChatMessageDto chatMessageDto, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.todo.service.notification;
+
+import com.example.todo.support.AfterCommit;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 짧은 시간에 같은 사용자, 같은 팀으로 몰리는 업무 상태 알림을 하나로 묶습니다.
+ * receiverId가 null이면 팀 토픽 알림으로 묶어서 보냅니다.
+ * 첫 알림이 들어온 뒤 windowMillis 동안 모인 알림은 한 건이면 그대로, 여러 건이면 업무 목록을 담은
+ * 요약 알림 하나로 저장, 전송됩니다. (자정 상태 갱신, 일괄 수정 시 SSE 프레임 수를 줄이기 위함)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationCoalescer {
+    // 요약 알림 본문에 나열하는 최대 업무 수
+    private static final int MAX_LISTED_ITEMS = 10;
+
+    private final NotificationService notificationService;
+
+    @Value("${notification.coalesce-window-millis:500}")
+    private long windowMillis;
+
+    // "receiverId:teamId" -> 모이는 중인 알림
+    private final Map<String, PendingDigest> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 알림을 묶음에 추가합니다. 트랜잭션 안이면 커밋된 뒤에 추가합니다.
+     *
+     * @param item    요약 알림에 나열할 한 줄 (예: 업무명 → 상태)
+     * @param content 묶인 알림이 한 건뿐일 때 보낼 원래 본문
+     */
+    public void add(Long receiverId, Long teamId, String teamName, String item, String content) {
+        Runnable add = () -> pending.compute(receiverId + ":" + teamId, (key, digest) -> {
+            if (digest == null) digest = new PendingDigest(receiverId, teamId, teamName);
+            digest.add(item, content);
+            return digest;
+        });
+        AfterCommit.run(add);
+    }
+
+    //묶는 시간이 지난 알림을 보낸다
+    @Scheduled(fixedDelayString = "${notification.coalesce-window-millis:500}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        for (String key : pending.keySet()) {
+            PendingDigest[] ready = new PendingDigest[1];
+            pending.computeIfPresent(key, (k, digest) -> {
+                if (now - digest.getFirstAtMillis() < windowMillis) return digest;
+                ready[0] = digest;
+                return null;
+            });
+            if (ready[0] == null) continue;
+            try {
+                PendingDigest digest = ready[0];
+                if (digest.getReceiverId() == null) notificationService.notifyTeam(digest.getTeamId(), digest.toContent());
+                else notificationService.notify(digest.getReceiverId(), digest.getTeamId(), digest.toContent());
+            } catch (Exception e) {
+                log.warn("notification digest failed : {}", e.getMessage());
+            }
+        }
+    }
+
+    @Getter
+    private static class PendingDigest {
+        private final Long receiverId;
+        private final Long teamId;
+        private final String teamName;
+        private final long firstAtMillis = System.currentTimeMillis();
+        private final List<String> items = new ArrayList<>();
+        private String firstContent;
+
+        private PendingDigest(Long receiverId, Long teamId, String teamName) {
+            this.receiverId = receiverId;
+            this.teamId = teamId;
+            this.teamName = teamName;
+        }
+
+        private void add(String item, String content) {
+            if (firstContent == null) firstContent = content;
+            items.add(item);
+        }
+
+        private String toContent() {
+            if (items.size() == 1) return firstContent;
+
+            String formattedTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+            StringBuilder content = new StringBuilder(String.format("'%s'팀의 업무 %d건의 진행상황이 변경되었습니다.", teamName, items.size()));
+            for (int i = 0; i < Math.min(MAX_LISTED_ITEMS, items.size()); i++) content.append("\n- ").append(items.get(i));
+            if (items.size() > MAX_LISTED_ITEMS) content.append("\n외 ").append(items.size() - MAX_LISTED_ITEMS).append("건");
+            return content.append("\n").append(formattedTime).toString();
+        }
+    }
+}
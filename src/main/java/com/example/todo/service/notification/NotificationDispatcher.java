@@ -0,0 +1,215 @@
+package com.example.todo.service.notification;
+
+import com.example.todo.domain.repository.NotificationRepository;
+import com.example.todo.dto.NotificationMetricsDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 알림을 연결별 큐에 넣고 notificationExecutor 스레드가 꺼내서 전송합니다.
+ * 알림을 보내는 쪽(HTTP 요청, 스케줄러)은 큐에 넣고 바로 돌아가므로 느린 클라이언트에 묶이지 않습니다.
+ * 연결 하나는 동시에 하나의 스레드만 전송하고, 큐가 가득 차면 overflowPolicy에 따라 처리합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDispatcher {
+    // 전송 작업 한 번에 보내는 최대 이벤트 수, 남으면 다시 예약해서 다른 연결도 차례가 오게 한다
+    private static final int DRAIN_BATCH_SIZE = 32;
+
+    private final NotificationRepository notificationRepository;
+    private final ThreadPoolTaskExecutor notificationExecutor;
+
+    @Value("${notification.queue.capacity:100}")
+    private int queueCapacity;
+    @Value("${notification.queue.overflow-policy:DROP_OLDEST}")
+    private NotificationOverflowPolicy overflowPolicy;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong disconnectedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong heartbeatCount = new AtomicLong();
+    // 큐에 들어간 시점부터 전송 완료까지 걸린 시간
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    //이벤트를 연결의 큐에 넣고 전송 작업을 예약한다
+    public void enqueue(SseConnection connection, SseEvent event) {
+        boolean overflow = false;
+        synchronized (connection) {
+            // 끊는 중인 연결은 마지막 이벤트 뒤에 더 넣지 않는다
+            if (connection.getCloseReason() != null) return;
+            Deque<SseEvent> queue = connection.getQueue();
+            if (overflowPolicy == NotificationOverflowPolicy.COALESCE && replace(queue, event)) {
+                coalescedCount.incrementAndGet();
+            } else if (queue.size() < queueCapacity) {
+                queue.offerLast(event);
+            } else if (overflowPolicy == NotificationOverflowPolicy.DISCONNECT) {
+                overflow = true;
+            } else {
+                queue.pollFirst();
+                queue.offerLast(event);
+                droppedCount.incrementAndGet();
+            }
+        }
+        if (overflow) {
+            disconnect(connection, "queue overflow");
+            return;
+        }
+        enqueuedCount.incrementAndGet();
+        schedule(connection);
+    }
+
+    /**
+     * 큐를 거치지 않고 호출한 스레드에서 바로 전송합니다.
+     * 재연결 시 밀린 알림을 다시 보낼 때처럼, 버리면 안 되고 구독한 요청 스레드가 기다려도 되는 경우에만 사용합니다.
+     */
+    public void sendNow(SseConnection connection, SseEvent event) {
+        write(connection, event);
+    }
+
+    /**
+     * 마지막 이벤트를 큐 상한과 관계없이 큐 끝에 넣고, 전송 작업이 그 이벤트까지 보낸 뒤 연결을 끊습니다.
+     * 호출한 스레드는 쓰기를 기다리지 않습니다. (서버 종료 시 여러 연결을 차례로 정리할 때처럼)
+     */
+    public void close(SseConnection connection, SseEvent event, String reason) {
+        synchronized (connection) {
+            if (connection.getCloseReason() != null) return;
+            connection.getQueue().offerLast(event);
+            connection.closeAfterQueue(reason);
+        }
+        enqueuedCount.incrementAndGet();
+        schedule(connection);
+    }
+
+    //같은 키의 이벤트가 큐에 있으면 그 자리를 최신 이벤트로 바꾼다
+    private boolean replace(Deque<SseEvent> queue, SseEvent event) {
+        if (event.getCoalesceKey() == null) return false;
+        Iterator<SseEvent> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            if (!event.getCoalesceKey().equals(iterator.next().getCoalesceKey())) continue;
+            iterator.remove();
+            queue.offerLast(event);
+            return true;
+        }
+        return false;
+    }
+
+    private void schedule(SseConnection connection) {
+        if (!connection.getDraining().compareAndSet(false, true)) return;
+        try {
+            notificationExecutor.execute(() -> drain(connection));
+        } catch (TaskRejectedException e) {
+            connection.getDraining().set(false);
+            disconnect(connection, "writer pool saturated");
+        }
+    }
+
+    private void drain(SseConnection connection) {
+        boolean failed = false;
+        try {
+            for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+                SseEvent event;
+                synchronized (connection) {
+                    event = connection.getQueue().pollFirst();
+                }
+                if (event == null) break;
+                if (!write(connection, event)) {
+                    failed = true;
+                    break;
+                }
+            }
+        } finally {
+            connection.getDraining().set(false);
+        }
+        // 남은 이벤트가 있거나 그 사이에 새로 들어왔으면 다시 예약, 끊는 중이면 마지막 이벤트까지 보낸 뒤 끊는다
+        if (connection.queueSize() > 0) schedule(connection);
+        else if (!failed && connection.getCloseReason() != null) disconnect(connection, connection.getCloseReason());
+    }
+
+    private boolean write(SseConnection connection, SseEvent event) {
+        try {
+            SseEmitter.SseEventBuilder builder = event.isHeartbeat()
+                    ? SseEmitter.event().comment(event.getComment())
+                    : SseEmitter.event().name(event.getName()).data(event.getData());
+            if (event.getId() != null) builder.id(event.getId());
+            if (event.getRetryMillis() != null) builder.reconnectTime(event.getRetryMillis());
+            connection.getEmitter().send(builder);
+            connection.written(event);
+            if (event.isHeartbeat()) {
+                heartbeatCount.incrementAndGet();
+                return true;
+            }
+
+            long latency = System.nanoTime() - event.getEnqueuedAtNanos();
+            sentCount.incrementAndGet();
+            totalLatencyNanos.addAndGet(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            return true;
+        } catch (IOException | IllegalStateException exception) {
+            // 데이터 전송 중 오류가 발생하면 연결을 삭제하고 에러를 완료 상태로 처리
+            failedCount.incrementAndGet();
+            remove(connection);
+            connection.getEmitter().completeWithError(exception);
+            return false;
+        }
+    }
+
+    //연결을 저장소에서 빼고 종료한다 (클라이언트는 Last-Event-ID로 재연결)
+    public void disconnect(SseConnection connection, String reason) {
+        log.debug("notification connection {} disconnected : {}", connection.getId(), reason);
+        disconnectedCount.incrementAndGet();
+        remove(connection);
+        connection.getEmitter().complete();
+    }
+
+    private void remove(SseConnection connection) {
+        notificationRepository.delete(connection);
+        synchronized (connection) {
+            connection.getQueue().clear();
+        }
+    }
+
+    public NotificationMetricsDto getMetrics() {
+        NotificationMetricsDto metrics = new NotificationMetricsDto();
+        int totalDepth = 0;
+        int maxDepth = 0;
+        for (SseConnection connection : notificationRepository.findAll()) {
+            int depth = connection.queueSize();
+            totalDepth += depth;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+        long sent = sentCount.get();
+        metrics.setConnections(notificationRepository.count());
+        metrics.setUsers(notificationRepository.countUsers());
+        metrics.setOverflowPolicy(overflowPolicy.name());
+        metrics.setQueueCapacity(queueCapacity);
+        metrics.setQueueDepthTotal(totalDepth);
+        metrics.setQueueDepthMax(maxDepth);
+        metrics.setEnqueued(enqueuedCount.get());
+        metrics.setSent(sent);
+        metrics.setDropped(droppedCount.get());
+        metrics.setCoalesced(coalescedCount.get());
+        metrics.setDisconnected(disconnectedCount.get());
+        metrics.setFailed(failedCount.get());
+        metrics.setHeartbeats(heartbeatCount.get());
+        metrics.setAvgSendLatencyMillis(sent == 0 ? 0 : totalLatencyNanos.get() / sent / 1_000_000.0);
+        metrics.setMaxSendLatencyMillis(maxLatencyNanos.get() / 1_000_000.0);
+        metrics.setWriterActiveThreads(notificationExecutor.getActiveCount());
+        metrics.setWriterQueueSize(notificationExecutor.getThreadPoolExecutor().getQueue().size());
+        return metrics;
+    }
+}
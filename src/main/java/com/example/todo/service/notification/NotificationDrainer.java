@@ -0,0 +1,127 @@
+package com.example.todo.service.notification;
+
+import com.example.todo.domain.repository.NotificationRepository;
+import com.example.todo.service.task.TaskLiveChannel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 서버 종료(배포) 시 SSE 연결을 나눠서 정리합니다.
+ * 새 구독을 막고, 연결마다 임의의 retry 값을 담은 종료 이벤트를 보낸 뒤 windowMillis 동안 여러 번에 나눠 끊습니다.
+ * 모든 클라이언트가 같은 순간 새 서버로 재연결하지 않게 하기 위함입니다.
+ * 웹 서버의 graceful shutdown보다 먼저 실행되어야 하므로 가장 높은 phase를 사용합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDrainer implements SmartLifecycle {
+    private final NotificationRepository notificationRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationTopicRegistry notificationTopicRegistry;
+    private final ReactiveNotificationHub reactiveNotificationHub;
+    private final TaskLiveChannel taskLiveChannel;
+
+    // 연결을 끊는 데 쓰는 시간, spring.lifecycle.timeout-per-shutdown-phase보다 짧아야 한다
+    @Value("${notification.drain.window-millis:10000}")
+    private long windowMillis;
+    @Value("${notification.drain.waves:10}")
+    private int waves;
+    // 클라이언트에 보내는 retry 값의 범위
+    @Value("${notification.drain.retry-min-millis:1000}")
+    private long retryMinMillis;
+    @Value("${notification.drain.retry-max-millis:30000}")
+    private long retryMaxMillis;
+
+    private volatile boolean running;
+    private volatile boolean draining;
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    @Override
+    public void start() {
+        draining = false;
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        drain();
+        running = false;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        draining = true;
+        Thread thread = new Thread(() -> {
+            try {
+                stop();
+            } finally {
+                callback.run();
+            }
+        }, "notification-drain");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    void drain() {
+        draining = true;
+        List<SseConnection> connections = notificationRepository.findAll();
+        connections.addAll(notificationTopicRegistry.findAllBroadcast());
+        connections.addAll(taskLiveChannel.findAll());
+        List<Long> reactiveUserIds = reactiveNotificationHub.findAllUserIds();
+        // 오래된 연결부터 끊기지 않도록 섞는다
+        Collections.shuffle(connections);
+        Collections.shuffle(reactiveUserIds);
+        log.info("notification drain : {} connections, {} reactive users, {} waves", connections.size(), reactiveUserIds.size(), waves);
+
+        int waveCount = Math.max(1, waves);
+        long interval = windowMillis / waveCount;
+        for (int wave = 0; wave < waveCount; wave++) {
+            for (int i = wave; i < connections.size(); i += waveCount) close(connections.get(i));
+            for (int i = wave; i < reactiveUserIds.size(); i += waveCount)
+                reactiveNotificationHub.close(reactiveUserIds.get(i), randomRetry());
+            // 중단되면 남은 연결은 기다리지 않고 바로 끊는다
+            if (wave < waveCount - 1 && interval > 0 && !sleep(interval)) interval = 0;
+        }
+    }
+
+    //종료 이벤트는 연결의 전송 작업이 보내고 끊는다 (느린 클라이언트의 쓰기를 이 스레드가 기다리지 않음)
+    private void close(SseConnection connection) {
+        notificationDispatcher.close(connection, SseEvent.shutdown(randomRetry()), "shutdown");
+    }
+
+    private long randomRetry() {
+        if (retryMaxMillis <= retryMinMillis) return retryMinMillis;
+        return ThreadLocalRandom.current().nextLong(retryMinMillis, retryMaxMillis + 1);
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
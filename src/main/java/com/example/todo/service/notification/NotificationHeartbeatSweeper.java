@@ -0,0 +1,57 @@
+package com.example.todo.service.notification;
+
+import com.example.todo.domain.repository.NotificationRepository;
+import com.example.todo.service.task.TaskLiveChannel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 모든 SSE 연결에 주기적으로 주석 프레임(": heartbeat")을 보내고 죽은 연결을 정리합니다.
+ * 프록시, NAT 뒤에서 끊긴 연결은 쓰기가 실패해야 알 수 있으므로 하트비트 전송 실패 시 Dispatcher가 제거하고,
+ * 전송 큐가 오래 비워지지 않는 연결과 알림 없이 너무 오래 열린 연결은 여기서 끊습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationHeartbeatSweeper {
+    private final NotificationRepository notificationRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationTopicRegistry notificationTopicRegistry;
+    private final TaskLiveChannel taskLiveChannel;
+
+    // 이 시간 동안 알림이 없으면 연결을 끊는다 (클라이언트는 재연결)
+    @Value("${notification.max-idle-millis:1800000}")
+    private long maxIdleMillis;
+    // 전송 대기 이벤트가 있는데 이 시간 동안 한 번도 쓰지 못하면 멈춘 연결로 본다
+    @Value("${notification.stuck-queue-millis:60000}")
+    private long stuckQueueMillis;
+
+    @Scheduled(fixedDelayString = "${notification.heartbeat-interval-millis:15000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        List<SseConnection> connections = notificationRepository.findAll();
+        connections.addAll(notificationTopicRegistry.findAllBroadcast());
+        connections.addAll(taskLiveChannel.findAll());
+        for (SseConnection connection : connections) {
+            if (now - connection.getLastEventAtMillis() > maxIdleMillis) {
+                notificationDispatcher.disconnect(connection, "idle");
+                evicted++;
+            } else if (!connection.isQueueEmpty()) {
+                // 보낼 데이터가 있으면 하트비트는 필요 없다, 대신 쓰기가 멈췄는지 확인
+                if (now - connection.getLastWriteAtMillis() > stuckQueueMillis) {
+                    notificationDispatcher.disconnect(connection, "stuck queue");
+                    evicted++;
+                }
+            } else {
+                notificationDispatcher.enqueue(connection, SseEvent.heartbeat());
+            }
+        }
+        if (evicted > 0) log.info("notification sweeper evicted {} connections", evicted);
+    }
+}
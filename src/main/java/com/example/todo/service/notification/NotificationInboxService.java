@@ -0,0 +1,135 @@
+package com.example.todo.service.notification;
+
+import com.example.todo.domain.repository.MemberRepository;
+import com.example.todo.domain.entity.NotificationEntity;
+import com.example.todo.domain.repository.NotificationInboxRepository;
+import com.example.todo.domain.repository.projection.TeamReadCursorProjection;
+import com.example.todo.dto.NotificationDto;
+import com.example.todo.dto.NotificationReadDto;
+import com.example.todo.dto.NotificationUnreadCountDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 받은 알림함 조회, 읽음 처리, 보관 기간이 지난 알림 정리를 담당합니다.
+ * 팀 알림은 팀마다 한 건만 저장되므로 멤버의 읽음 커서(notification_read_id)까지를 읽은 것으로 봅니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationInboxService {
+    // 읽음 처리 UPDATE 한 번에 넣는 id 수
+    private static final int MARK_READ_CHUNK_SIZE = 500;
+
+    private final NotificationInboxRepository notificationInboxRepository;
+    private final MemberRepository memberRepository;
+    private final NotificationUnreadCounter notificationUnreadCounter;
+
+    @Value("${notification.retention-days:30}")
+    private int retentionDays;
+    @Value("${notification.retention-chunk-size:1000}")
+    private int retentionChunkSize;
+
+    @Transactional(readOnly = true)
+    public Slice<NotificationDto> readInbox(Long userId, Integer page, Integer limit, boolean unreadOnly) {
+        PageRequest pageRequest = PageRequest.of(page, limit);
+        if (unreadOnly)
+            return notificationInboxRepository.findUnreadInbox(userId, pageRequest)
+                    .map(NotificationDto::fromEntity);
+        List<Long> teamIds = memberRepository.findTeamIdsByUserId(userId);
+        if (teamIds.isEmpty())
+            return notificationInboxRepository.findAllByReceiverIdOrderByIdDesc(userId, pageRequest)
+                    .map(NotificationDto::fromEntity);
+        // 팀 알림의 읽음 여부는 팀별 읽음 커서와 비교한다
+        Map<Long, Long> readIds = new HashMap<>();
+        for (TeamReadCursorProjection cursor : memberRepository.findNotificationReadIds(userId))
+            if (cursor.getNotificationReadId() != null) readIds.put(cursor.getTeamId(), cursor.getNotificationReadId());
+        return notificationInboxRepository.findInbox(userId, teamIds, pageRequest)
+                .map(entity -> {
+                    NotificationDto notificationDto = NotificationDto.fromEntity(entity);
+                    if (entity.getReceiverId() == null)
+                        notificationDto.setRead(entity.getId() <= readIds.getOrDefault(entity.getTeamId(), Long.MAX_VALUE));
+                    return notificationDto;
+                });
+    }
+
+    //lastId가 있으면 그 이하를 모두, 없으면 ids를 나눠서 읽음 처리한다
+    //팀 알림은 커서로 읽음을 표시하므로 ids에 팀 알림이 있으면 그 팀의 해당 id까지를 읽음 처리한다
+    @Transactional
+    public int markRead(Long userId, NotificationReadDto notificationReadDto) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        int teamUpdated = 0;
+        if (notificationReadDto.getLastId() != null) {
+            updated = notificationInboxRepository.markReadUpTo(userId, notificationReadDto.getLastId(), now);
+            teamUpdated = markTeamReadUpTo(userId, null, notificationReadDto.getLastId());
+        } else {
+            List<Long> ids = notificationReadDto.getIds();
+            for (int from = 0; from < ids.size(); from += MARK_READ_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + MARK_READ_CHUNK_SIZE, ids.size()));
+                updated += notificationInboxRepository.markReadByIds(userId, chunk, now);
+                Map<Long, Long> lastIdByTeam = notificationInboxRepository.findAllById(chunk).stream()
+                        .filter(notification -> notification.getReceiverId() == null)
+                        .filter(notification -> Objects.nonNull(notification.getTeamId()))
+                        .collect(Collectors.toMap(NotificationEntity::getTeamId, NotificationEntity::getId, Math::max));
+                for (Map.Entry<Long, Long> entry : lastIdByTeam.entrySet())
+                    teamUpdated += markTeamReadUpTo(userId, entry.getKey(), entry.getValue());
+            }
+        }
+        // 실제로 읽음 처리된 수만큼만 줄인다 (이미 읽은 알림은 UPDATE 대상이 아님)
+        // 팀 알림은 카운터에 들어 있지 않으므로 바뀐 전체 수만 다시 보낸다
+        if (updated > 0) notificationUnreadCounter.decrement(userId, updated);
+        else if (teamUpdated > 0) notificationUnreadCounter.publish(userId);
+        return updated + teamUpdated;
+    }
+
+    /**
+     * 팀 알림 읽음 커서를 upTo까지 옮깁니다. (teamId가 null이면 가입한 모든 팀)
+     * 커서는 조건부 UPDATE 한 번으로만 옮기므로 동시에 읽음 처리해도 뒤로 가지 않습니다.
+     * 돌려주는 수는 응답 메시지용이며 안 읽은 알림 수는 커서로 다시 셉니다.
+     */
+    private int markTeamReadUpTo(Long userId, Long teamId, Long upTo) {
+        int count = (int) notificationInboxRepository.countTeamUnread(userId, teamId, upTo);
+        return memberRepository.advanceNotificationReadId(userId, teamId, upTo) > 0 ? count : 0;
+    }
+
+    //팀 알림 읽음 커서가 생기기 전에 가입한 멤버는 그때까지의 팀 알림을 읽은 것으로 둔다 (커서가 없으면 안 읽은 수에서 빠짐)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initNotificationReadIds() {
+        int initialized = memberRepository.initAllNotificationReadIds();
+        if (initialized > 0) log.info("team notification read cursors initialized : {}", initialized);
+    }
+
+    public NotificationUnreadCountDto getUnreadCount(Long userId) {
+        return new NotificationUnreadCountDto(notificationUnreadCounter.getCount(userId));
+    }
+
+    //보관 기간이 지난 알림을 나눠서 삭제 (청크마다 별도 트랜잭션)
+    @Scheduled(cron = "${notification.retention-cron:0 30 3 * * *}")
+    public void deleteExpiredNotifications() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        long deleted = 0;
+        List<Long> ids;
+        do {
+            ids = notificationInboxRepository.findIdsCreatedBefore(before, PageRequest.of(0, retentionChunkSize));
+            if (!ids.isEmpty()) notificationInboxRepository.deleteAllByIdInBatch(ids);
+            deleted += ids.size();
+        } while (ids.size() == retentionChunkSize);
+        log.info("expired notifications deleted : {}", deleted);
+    }
+}
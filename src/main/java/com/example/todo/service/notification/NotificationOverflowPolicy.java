@@ -0,0 +1,13 @@
+package com.example.todo.service.notification;
+
+/**
+ * 연결별 전송 큐가 가득 찼을 때의 처리 방법
+ */
+public enum NotificationOverflowPolicy {
+    // 가장 오래된 이벤트를 버린다
+    DROP_OLDEST,
+    // 같은 coalesceKey 이벤트를 최신 것으로 바꾸고, 그래도 가득 차면 가장 오래된 이벤트를 버린다
+    COALESCE,
+    // 클라이언트가 따라오지 못하는 것으로 보고 연결을 끊는다 (재연결 시 Last-Event-ID로 복구)
+    DISCONNECT
+}
@@ -0,0 +1,159 @@
+package com.example.todo.service.notification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 여러 서버 사이에서 알림을 전달하는 Redis pub/sub 중계기입니다.
+ * 채널은 사용자 id 해시로 SHARD_COUNT 개로 나누고, 각 서버는 자기에게 연결된 사용자가 있는
+ * 샤드만 구독합니다. 알림은 샤드 채널에 한 번만 발행되고, 받은 서버는 로컬 연결에만 전송합니다.
+ * 팀 알림도 같은 방식으로 팀 id 해시 샤드 채널(notification:team:)을 사용합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationRelay implements MessageListener {
+    public static final int SHARD_COUNT = 64;
+    private static final String CHANNEL_PREFIX = "notification:shard:";
+    private static final String TEAM_CHANNEL_PREFIX = "notification:team:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+    private final NotificationSender notificationSender;
+    private final NotificationTopicRegistry notificationTopicRegistry;
+
+    // 샤드별 이 서버의 연결 수 (this 락 안에서만 접근)
+    private final int[] shardConnections = new int[SHARD_COUNT];
+    // 팀 샤드별 이 서버의 팀 토픽 가입 수 (this 락 안에서만 접근)
+    private final int[] teamShardSubscriptions = new int[SHARD_COUNT];
+
+    /**
+     * 알림을 사용자의 샤드 채널에 발행합니다.
+     *
+     * @return 발행에 실패하면 false
+     */
+    public boolean publish(Long userId, String eventId, Object data) {
+        return send(CHANNEL_PREFIX + shard(userId), new RelayMessage(userId, null, eventId, null, objectMapper.valueToTree(data)));
+    }
+
+    /**
+     * 알림이 아닌 상태 이벤트(안 읽은 알림 수 등)를 사용자의 샤드 채널에 발행합니다.
+     * 받은 서버는 이벤트 이름을 coalesce 키로 사용합니다. (큐에 밀려 있으면 최신 값만 전송)
+     *
+     * @return 발행에 실패하면 false
+     */
+    public boolean publish(Long userId, SseEvent event) {
+        return send(CHANNEL_PREFIX + shard(userId),
+                new RelayMessage(userId, null, event.getId(), event.getName(), objectMapper.valueToTree(event.getData())));
+    }
+
+    /**
+     * 팀 알림을 팀의 샤드 채널에 발행합니다.
+     *
+     * @return 발행에 실패하면 false
+     */
+    public boolean publishTeam(Long teamId, String eventId, Object data) {
+        return send(TEAM_CHANNEL_PREFIX + shard(teamId), new RelayMessage(null, teamId, eventId, null, objectMapper.valueToTree(data)));
+    }
+
+    private boolean send(String channel, RelayMessage relayMessage) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(relayMessage));
+            return true;
+        } catch (Exception e) {
+            log.warn("notification publish failed : {}, {}", channel, e.getMessage());
+            return false;
+        }
+    }
+
+    //사용자가 이 서버에 연결되면 호출, 샤드의 첫 연결이면 채널을 구독한다
+    public synchronized void acquire(Long userId) {
+        acquire(shardConnections, CHANNEL_PREFIX, shard(userId));
+    }
+
+    //연결이 끊기면 호출, 샤드의 마지막 연결이면 구독을 해제한다
+    public synchronized void release(Long userId) {
+        release(shardConnections, CHANNEL_PREFIX, shard(userId));
+    }
+
+    //연결이 팀 토픽에 가입하면 호출
+    public synchronized void acquireTeam(Long teamId) {
+        acquire(teamShardSubscriptions, TEAM_CHANNEL_PREFIX, shard(teamId));
+    }
+
+    //연결이 팀 토픽에서 빠지면 호출
+    public synchronized void releaseTeam(Long teamId) {
+        release(teamShardSubscriptions, TEAM_CHANNEL_PREFIX, shard(teamId));
+    }
+
+    private void acquire(int[] counts, String prefix, int shard) {
+        if (counts[shard]++ > 0) return;
+        try {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(prefix + shard));
+        } catch (Exception e) {
+            log.warn("notification channel {}{} subscribe failed : {}", prefix, shard, e.getMessage());
+        }
+    }
+
+    private void release(int[] counts, String prefix, int shard) {
+        if (counts[shard] == 0 || --counts[shard] > 0) return;
+        try {
+            redisMessageListenerContainer.removeMessageListener(this, new ChannelTopic(prefix + shard));
+        } catch (Exception e) {
+            log.warn("notification channel {}{} unsubscribe failed : {}", prefix, shard, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            RelayMessage relayMessage = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), RelayMessage.class);
+            JsonNode node = relayMessage.getData();
+            Object data = node.isTextual() ? node.asText() : node;
+
+            if (relayMessage.getTeamId() != null) {
+                notificationTopicRegistry.publish(relayMessage.getTeamId(), SseEvent.of(relayMessage.getEventId(), data));
+                return;
+            }
+            // 같은 샤드의 다른 서버 사용자 알림은 무시
+            if (!notificationSender.isConnected(relayMessage.getUserId())) return;
+            SseEvent event = relayMessage.getName() == null
+                    ? SseEvent.of(relayMessage.getEventId(), data)
+                    : new SseEvent(relayMessage.getEventId(), relayMessage.getName(), data, relayMessage.getName());
+            notificationSender.sendLocal(relayMessage.getUserId(), event);
+        } catch (Exception e) {
+            log.warn("notification relay message dropped : {}", e.getMessage());
+        }
+    }
+
+    private static int shard(Long id) {
+        return Math.floorMod(id.hashCode(), SHARD_COUNT);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    private static class RelayMessage {
+        private Long userId;
+        private Long teamId;
+        private String eventId;
+        // SSE 이벤트 이름, 없으면 일반 알림
+        private String name;
+        private JsonNode data;
+    }
+}
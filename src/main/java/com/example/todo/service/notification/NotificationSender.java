@@ -0,0 +1,42 @@
+package com.example.todo.service.notification;
+
+import com.example.todo.domain.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이 서버에 연결된 SseEmitter로만 알림을 전송합니다.
+ * 실제 전송은 NotificationDispatcher가 연결별 큐를 통해 비동기로 처리합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationSender {
+    private final NotificationRepository notificationRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ReactiveNotificationHub reactiveNotificationHub;
+
+    //이 서버에 연결된 사용자인지 확인
+    public boolean isConnected(Long userId) {
+        return notificationRepository.existsByUserId(userId) || reactiveNotificationHub.hasUser(userId);
+    }
+
+    //데이터를 사용자의 모든 연결에 보낸다.
+    public void sendLocal(Long sendId, String eventId, Object data) {
+        sendLocal(sendId, SseEvent.of(eventId, data));
+    }
+
+    public void sendLocal(Long sendId, SseEvent event) {
+        for (SseConnection connection : notificationRepository.findAllByUserId(sendId))
+            notificationDispatcher.enqueue(connection, event);
+        reactiveNotificationHub.emitToUser(sendId, event);
+    }
+
+    /**
+     * 데이터를 연결 하나에 보냅니다.
+     *
+     * @param eventId 알림 id, 클라이언트가 재연결할 때 Last-Event-ID로 돌려준다 (없으면 null)
+     */
+    public void send(SseConnection connection, String eventId, Object data) {
+        notificationDispatcher.enqueue(connection, SseEvent.of(eventId, data));
+    }
+}
@@ -1,67 +1,214 @@
 package com.example.todo.service.notification;
 
+import com.example.todo.domain.entity.NotificationEntity;
+import com.example.todo.domain.repository.MemberRepository;
+import com.example.todo.domain.repository.NotificationInboxRepository;
 import com.example.todo.domain.repository.NotificationRepository;
-import com.example.todo.domain.repository.TaskCommentRepository;
-import com.example.todo.domain.repository.TeamReposiotry;
 
+import com.example.todo.dto.NotificationDto;
+import com.example.todo.exception.ErrorCode;
+import com.example.todo.exception.TodoAppException;
+import com.example.todo.support.AfterCommit;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
     // 기본 타임아웃 설정
     private static final Long DEFAULT_TIMEOUT = 60L * 1000 * 60;
+    // 재연결 시 한 번에 조회하는 알림 수
+    private static final int REPLAY_PAGE_SIZE = 100;
+    private static final String DEFAULT_TITLE = "알림";
 
     private final NotificationRepository notificationRepository;
+    private final NotificationInboxRepository notificationInboxRepository;
+    private final NotificationSender notificationSender;
+    private final NotificationRelay notificationRelay;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationTopicRegistry notificationTopicRegistry;
+    private final MemberRepository memberRepository;
+    private final NotificationDrainer notificationDrainer;
+    private final NotificationUnreadCounter notificationUnreadCounter;
+
+    // 재연결 시 다시 보내는 최대 알림 수, 재전송은 emitter를 돌려주기 전에 메모리에 쌓이므로 상한을 둔다
+    // (그보다 오래된 알림은 알림함 조회와 안 읽은 알림 수로 확인한다)
+    @Value("${notification.replay-max:500}")
+    private int replayMax;
+
     // 구독하는 클라이언트 아이디에 대한 SseEmitter를 생성하여 반환
-    public SseEmitter subscribe(Long userId, final HttpServletResponse response) {
-        SseEmitter emitter = createEmitter(userId);
+    // Last-Event-ID가 있으면 그 이후 알림을 먼저 다시 보낸다
+    public SseEmitter subscribe(Long userId, String lastEventId, final HttpServletResponse response) {
+        checkAccepting();
+        SseConnection connection = createConnection(userId);
+        response.setContentType("text/event-stream");
+        response.setCharacterEncoding("UTF-8");
+        //무응답 오류방지
+        notificationSender.send(connection, null, "EventStream 변경. [userId=" + userId + "]");
+        // 연결을 먼저 등록한 뒤 재전송하므로 그 사이 알림은 중복될 수 있다 (클라이언트는 id로 무시)
+        replay(connection, lastEventId);
+        return connection.getEmitter();
+    }
+
+    // 전체 공지만 받는 연결 (사용자 구분 없음, 이 서버에서만 전송)
+    public SseEmitter subscribeBroadcast(final HttpServletResponse response) {
+        checkAccepting();
+        SseEmitter emitter = new SseEmitter(DEFAULT_TIMEOUT);
+        SseConnection connection = new SseConnection(null, emitter);
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable cleanup = () -> {
+            if (released.compareAndSet(false, true)) notificationTopicRegistry.leaveBroadcast(connection);
+        };
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(throwable -> cleanup.run());
+        notificationTopicRegistry.joinBroadcast(connection);
+
         response.setContentType("text/event-stream");
         response.setCharacterEncoding("UTF-8");
         //무응답 오류방지
-        sendToClient(userId, "EventStream 변경. [userId=" + userId + "]");
+        notificationSender.send(connection, null, "EventStream 변경.");
         return emitter;
     }
 
-    //서버의 이벤트를 클라이언트에게 보낸다
+    public void broadcast(Object event) {
+        notificationTopicRegistry.broadcast(SseEvent.of(null, event));
+    }
 
+    //서버의 이벤트를 클라이언트에게 보낸다
     public void notify(Long sendId, Object event) {
-        sendToClient(sendId, event);
+        notify(sendId, null, event);
+    }
+
+    //알림을 저장하고, 트랜잭션이 커밋된 뒤 사용자에게 보낸다
+    public void notify(Long sendId, Long teamId, Object event) {
+        NotificationDto notificationDto = save(sendId, teamId, event);
+        AfterCommit.run(() -> dispatch(sendId, String.valueOf(notificationDto.getId()), notificationDto));
+        notificationUnreadCounter.increment(sendId);
+    }
+
+    //팀 알림은 멤버 수와 관계없이 한 건만 저장하고, 팀 토픽을 구독 중인 연결에 보낸다
+    //안 읽은 알림 수는 멤버마다 늘리지 않는다 (조회할 때 멤버의 읽음 커서로 센다)
+    public void notifyTeam(Long teamId, Object event) {
+        NotificationDto notificationDto = save(null, teamId, event);
+        AfterCommit.run(() -> dispatchTeam(teamId, String.valueOf(notificationDto.getId()), notificationDto));
     }
 
-    //데이터를 클라이언트에게 보낸다.
-    private void sendToClient(Long sendId, Object data) {
-        // 먼저 클라이언트의 SseEmitter를 가져온다
-        SseEmitter emitter = notificationRepository.get(sendId);
-        if (emitter != null) {
-            try {
-                // 데이터를 클라이언트에게 실어보낸다.
-                emitter.send(SseEmitter.event().id(String.valueOf(sendId)).name("알림").data(data));
-            } catch (IOException exception) {
-                // 데이터 전송 중 오류가 발생하면 Emitter를 삭제하고 에러를 완료 상태로 처리
-                notificationRepository.deleteById(sendId);
-                emitter.completeWithError(exception);
+    //팀 가입, 생성 시 이 서버에 연결된 사용자의 연결을 팀 토픽에 가입시킨다
+    //(다른 서버의 연결은 재연결할 때 반영된다)
+    //가입 전의 팀 알림은 읽은 것으로 두도록 팀 알림 읽음 커서를 지금의 마지막 알림으로 맞춘다
+    public void joinTeam(Long userId, Long teamId) {
+        memberRepository.initNotificationReadIds(userId);
+        AfterCommit.run(() -> {
+            for (SseConnection connection : notificationRepository.findAllByUserId(userId))
+                if (notificationTopicRegistry.join(connection, teamId)) notificationRelay.acquireTeam(teamId);
+        });
+    }
+
+    public void leaveTeam(Long userId, Long teamId) {
+        AfterCommit.run(() -> {
+            for (SseConnection connection : notificationRepository.findAllByUserId(userId))
+                if (notificationTopicRegistry.leave(connection, teamId)) notificationRelay.releaseTeam(teamId);
+        });
+    }
+
+    //종료 중인 서버는 새 구독을 받지 않는다 (클라이언트는 다른 서버로 재연결)
+    private void checkAccepting() {
+        if (notificationDrainer.isDraining()) throw new TodoAppException(ErrorCode.SERVER_SHUTTING_DOWN);
+    }
+
+    private NotificationDto save(Long receiverId, Long teamId, Object event) {
+        NotificationEntity notificationEntity = new NotificationEntity();
+        notificationEntity.setReceiverId(receiverId);
+        notificationEntity.setTeamId(teamId);
+        notificationEntity.setTitle(DEFAULT_TITLE);
+        notificationEntity.setContent(event instanceof NotificationDto dto ? dto.getContent() : String.valueOf(event));
+        notificationEntity.setCreatedTime(LocalDateTime.now());
+        return NotificationDto.fromEntity(notificationInboxRepository.save(notificationEntity));
+    }
+
+    //사용자가 어느 서버에 연결되어 있는지 모르므로 Redis로 발행하고, 발행에 실패하면 이 서버에서만 전송한다
+    private void dispatch(Long sendId, String eventId, Object data) {
+        if (!notificationRelay.publish(sendId, eventId, data)) notificationSender.sendLocal(sendId, eventId, data);
+    }
+
+    private void dispatchTeam(Long teamId, String eventId, Object data) {
+        if (!notificationRelay.publishTeam(teamId, eventId, data))
+            notificationTopicRegistry.publish(teamId, SseEvent.of(eventId, data));
+    }
+
+    private void replay(SseConnection connection, String lastEventId) {
+        Long lastId = parseEventId(lastEventId);
+        if (lastId == null || replayMax <= 0) return;
+
+        // 개인 알림과 가입한 팀의 팀 알림을 id 순서로 함께 보낸다
+        List<Long> teamIds = List.copyOf(connection.getTeamIds());
+        List<NotificationEntity> page;
+        PageRequest pageRequest;
+        int replayed = 0;
+        do {
+            pageRequest = PageRequest.of(0, Math.min(REPLAY_PAGE_SIZE, replayMax - replayed));
+            page = teamIds.isEmpty()
+                    ? notificationInboxRepository.findAllByReceiverIdAndIdGreaterThanOrderByIdAsc(connection.getUserId(), lastId, pageRequest)
+                    : notificationInboxRepository.findInboxAfter(connection.getUserId(), teamIds, lastId, pageRequest);
+            for (NotificationEntity notificationEntity : page) {
+                // 재전송은 큐 상한에 걸려 버려지지 않도록 구독한 요청 스레드에서 바로 보낸다
+                notificationDispatcher.sendNow(connection,
+                        SseEvent.of(String.valueOf(notificationEntity.getId()), NotificationDto.fromEntity(notificationEntity)));
+                lastId = notificationEntity.getId();
             }
+            replayed += page.size();
+        } while (page.size() == pageRequest.getPageSize() && replayed < replayMax);
+        if (replayed >= replayMax) log.debug("notification replay truncated : userId {}, lastId {}", connection.getUserId(), lastId);
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) return null;
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            log.debug("invalid Last-Event-ID : {}", lastEventId);
+            return null;
         }
     }
 
-    //클라이언트를 위한 SseEmitter를 생성
-    private SseEmitter createEmitter(Long id) {
+    //클라이언트를 위한 연결을 생성
+    private SseConnection createConnection(Long userId) {
         //타임아웃 설정
         SseEmitter emitter = new SseEmitter(DEFAULT_TIMEOUT);
-        //생성된 SseEmitter를 저장소에 저장
-        notificationRepository.save(id, emitter);
+        SseConnection connection = new SseConnection(userId, emitter);
 
-        // Emitter가 완료될 때(모든 데이터가 성공적으로 전송된 상태) Emitter를 삭제한다.
-        emitter.onCompletion(() -> notificationRepository.deleteById(id));
-        // Emitter가 타임아웃 되었을 때(지정된 시간동안 어떠한 이벤트도 전송되지 않았을 때) Emitter를 삭제한다.
-        emitter.onTimeout(() -> notificationRepository.deleteById(id));
+        // 완료, 타임아웃, 오류 중 처음 한 번만 정리한다
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable cleanup = () -> {
+            if (!released.compareAndSet(false, true)) return;
+            notificationRepository.delete(connection);
+            notificationRelay.release(userId);
+            for (Long teamId : notificationTopicRegistry.leaveAll(connection)) notificationRelay.releaseTeam(teamId);
+        };
+        // Emitter가 완료될 때(모든 데이터가 성공적으로 전송된 상태) 연결을 삭제한다.
+        emitter.onCompletion(cleanup);
+        // Emitter가 타임아웃 되었을 때(지정된 시간동안 어떠한 이벤트도 전송되지 않았을 때) 연결을 삭제한다.
+        emitter.onTimeout(cleanup);
+        emitter.onError(throwable -> cleanup.run());
 
-        return emitter;
+        //사용자가 속한 팀 토픽에 한 번 가입한다
+        for (Long teamId : memberRepository.findTeamIdsByUserId(userId))
+            if (notificationTopicRegistry.join(connection, teamId)) notificationRelay.acquireTeam(teamId);
+
+        //생성된 연결을 저장소에 저장, 사용자당 연결 수를 넘으면 가장 오래된 연결을 종료한다
+        notificationRelay.acquire(userId);
+        for (SseConnection evicted : notificationRepository.save(connection)) evicted.getEmitter().complete();
+        return connection;
     }
-}
\ No newline at end of file
+}
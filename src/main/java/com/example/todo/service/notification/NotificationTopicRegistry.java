@@ -0,0 +1,79 @@
+package com.example.todo.service.notification;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이 서버의 팀 토픽 구독자 목록입니다.
+ * 연결은 구독할 때 사용자가 속한 팀 토픽에 한 번 가입하고, 팀 알림은 팀 id로 구독자 집합을 한 번 찾아
+ * 각 연결의 전송 큐에 넣습니다. (멤버 조회 없이, 전송은 writer 스레드들이 병렬로 처리)
+ * 사용자 id가 없는 전체 공지 구독자도 여기서 관리합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationTopicRegistry {
+    private final NotificationDispatcher notificationDispatcher;
+    private final ReactiveNotificationHub reactiveNotificationHub;
+
+    // 팀 id -> 구독 중인 연결
+    private final Map<Long, Set<SseConnection>> teamSubscribers = new ConcurrentHashMap<>();
+    // 전체 공지 구독 연결
+    private final Set<SseConnection> broadcastSubscribers = ConcurrentHashMap.newKeySet();
+
+    //연결을 팀 토픽에 가입시킨다, 새로 가입했으면 true
+    public boolean join(SseConnection connection, Long teamId) {
+        if (!connection.getTeamIds().add(teamId)) return false;
+        teamSubscribers.computeIfAbsent(teamId, key -> ConcurrentHashMap.newKeySet()).add(connection);
+        return true;
+    }
+
+    //연결을 팀 토픽에서 빼낸다, 가입되어 있었으면 true
+    public boolean leave(SseConnection connection, Long teamId) {
+        if (!connection.getTeamIds().remove(teamId)) return false;
+        teamSubscribers.computeIfPresent(teamId, (key, subscribers) -> {
+            subscribers.remove(connection);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        return true;
+    }
+
+    //연결이 가입한 모든 팀 토픽에서 빼낸다, 빠져나온 팀 id 목록 반환
+    public List<Long> leaveAll(SseConnection connection) {
+        List<Long> teamIds = List.copyOf(connection.getTeamIds());
+        teamIds.forEach(teamId -> leave(connection, teamId));
+        return teamIds;
+    }
+
+    public void publish(Long teamId, SseEvent event) {
+        reactiveNotificationHub.emitToTeam(teamId, event.getId(), event.getData());
+        Set<SseConnection> subscribers = teamSubscribers.get(teamId);
+        if (subscribers == null) return;
+        for (SseConnection connection : subscribers) notificationDispatcher.enqueue(connection, event);
+    }
+
+    public void joinBroadcast(SseConnection connection) {
+        broadcastSubscribers.add(connection);
+    }
+
+    public void leaveBroadcast(SseConnection connection) {
+        broadcastSubscribers.remove(connection);
+    }
+
+    public void broadcast(SseEvent event) {
+        for (SseConnection connection : broadcastSubscribers) notificationDispatcher.enqueue(connection, event);
+    }
+
+    public Collection<SseConnection> findAllBroadcast() {
+        return List.copyOf(broadcastSubscribers);
+    }
+
+    public int countTeams() {
+        return teamSubscribers.size();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.todo.service.notification;
+
+import com.example.todo.domain.repository.NotificationInboxRepository;
+import com.example.todo.support.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 사용자별 안 읽은 개인 알림 수를 Redis(notification:unread:{userId})에 유지합니다.
+ * 알림이 저장되면 1 증가, 읽음 처리하면 처리된 수만큼 감소하고, 바뀐 값을 SSE "unread-count" 이벤트로 보냅니다.
+ * 키가 없으면 증감하지 않고, 처음 조회할 때 DB에서 한 번 세어 초기화합니다. (값이 어긋나도 TTL이 지나면 다시 맞춰짐)
+ * 팀 알림은 팀마다 한 건만 저장되므로 멤버마다 늘리지 않고, 조회할 때 읽음 커서(member.notification_read_id) 이후의
+ * 팀 알림 수를 (team_id, id) 인덱스로 세어 더합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationUnreadCounter {
+    private static final String KEY_PREFIX = "notification:unread:";
+    // 키가 있을 때만 더하고 0 아래로 내려가지 않게 한다, 키가 없으면 -1
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 0 then return -1 end " +
+            "local count = redis.call('incrby', KEYS[1], ARGV[1]) " +
+            "if count < 0 then count = 0 redis.call('set', KEYS[1], 0) end " +
+            "redis.call('pexpire', KEYS[1], ARGV[2]) " +
+            "return count", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final NotificationInboxRepository notificationInboxRepository;
+    private final NotificationRelay notificationRelay;
+    private final NotificationSender notificationSender;
+
+    @Value("${notification.unread-ttl-millis:86400000}")
+    private long ttlMillis;
+
+    public long getCount(Long userId) {
+        return getPersonalCount(userId) + notificationInboxRepository.countTeamUnread(userId, null, null);
+    }
+
+    private long getPersonalCount(Long userId) {
+        String key = KEY_PREFIX + userId;
+        try {
+            String value = stringRedisTemplate.opsForValue().get(key);
+            if (value != null) return Long.parseLong(value);
+        } catch (Exception e) {
+            log.warn("unread counter read failed : userId {}, {}", userId, e.getMessage());
+            return notificationInboxRepository.countByReceiverIdAndReadAtIsNull(userId);
+        }
+
+        long count = notificationInboxRepository.countByReceiverIdAndReadAtIsNull(userId);
+        try {
+            // 그 사이 다른 요청이 먼저 초기화했으면 그 값을 쓴다
+            Boolean created = stringRedisTemplate.opsForValue().setIfAbsent(key, String.valueOf(count), Duration.ofMillis(ttlMillis));
+            if (!Boolean.TRUE.equals(created)) {
+                String value = stringRedisTemplate.opsForValue().get(key);
+                if (value != null) return Long.parseLong(value);
+            }
+        } catch (Exception e) {
+            log.warn("unread counter init failed : userId {}, {}", userId, e.getMessage());
+        }
+        return count;
+    }
+
+    //새 알림이 저장되면 호출 (트랜잭션 안이면 커밋된 뒤 반영)
+    public void increment(Long userId) {
+        add(userId, 1);
+    }
+
+    //읽음 처리된 수만큼 감소
+    public void decrement(Long userId, int count) {
+        if (count > 0) add(userId, -count);
+    }
+
+    //팀 알림만 읽음 처리된 경우처럼 개인 알림 수는 그대로일 때 바뀐 전체 수를 보낸다
+    public void publish(Long userId) {
+        add(userId, 0);
+    }
+
+    private void add(Long userId, long delta) {
+        Runnable add = () -> {
+            Long count;
+            try {
+                count = stringRedisTemplate.execute(ADD_SCRIPT, List.of(KEY_PREFIX + userId),
+                        String.valueOf(delta), String.valueOf(ttlMillis));
+            } catch (Exception e) {
+                log.warn("unread counter update failed : userId {}, {}", userId, e.getMessage());
+                return;
+            }
+            // 키가 없으면 배지를 본 적 없는 사용자이므로 이벤트도 보내지 않는다
+            if (count == null || count < 0) return;
+            SseEvent event = SseEvent.unreadCount(count + notificationInboxRepository.countTeamUnread(userId, null, null));
+            if (!notificationRelay.publish(userId, event)) notificationSender.sendLocal(userId, event);
+        };
+        AfterCommit.run(add);
+    }
+}
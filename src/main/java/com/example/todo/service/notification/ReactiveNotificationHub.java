@@ -0,0 +1,115 @@
+package com.example.todo.service.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reactor Sinks 기반 알림 스트림 저장소입니다. (/api/notifications/stream/{userId})
+ * 연결마다 SseEmitter, 전송 큐, writer 작업을 두지 않고 사용자, 팀마다 Sinks.Many 하나를 공유합니다.
+ * 구독자별로 작은 버퍼만 두고 넘치면 가장 오래된 이벤트를 버리며, 하트비트는 서버 전체가 타이머 하나를 공유합니다.
+ */
+@Slf4j
+@Component
+public class ReactiveNotificationHub {
+    private final Map<Long, Sinks.Many<ServerSentEvent<Object>>> userSinks = new ConcurrentHashMap<>();
+    private final Map<Long, Sinks.Many<ServerSentEvent<Object>>> teamSinks = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Flux<ServerSentEvent<Object>> heartbeat;
+    private final int bufferSize;
+
+    public ReactiveNotificationHub(@Value("${notification.heartbeat-interval-millis:15000}") long heartbeatIntervalMillis,
+                                   @Value("${notification.queue.capacity:100}") int bufferSize) {
+        this.bufferSize = bufferSize;
+        this.heartbeat = Flux.interval(Duration.ofMillis(heartbeatIntervalMillis))
+                .map(tick -> ServerSentEvent.builder().comment(SseEvent.HEARTBEAT_COMMENT).build())
+                .share();
+    }
+
+    /**
+     * 사용자 알림, 가입한 팀 알림, 하트비트를 합친 스트림을 만듭니다.
+     * Redis 구독 해제 같은 정리는 호출하는 쪽이 스트림 전체에 대해 한다. (ReactiveNotificationService)
+     */
+    public Flux<ServerSentEvent<Object>> stream(Long userId, Collection<Long> teamIds) {
+        List<Flux<ServerSentEvent<Object>>> sources = new ArrayList<>();
+        sources.add(sink(userSinks, userId).asFlux());
+        for (Long teamId : teamIds) sources.add(sink(teamSinks, teamId).asFlux());
+        sources.add(heartbeat);
+
+        return Flux.merge(sources)
+                // 서버 종료 이벤트를 보낸 뒤 스트림을 끝낸다 (하트비트가 있어 merge는 스스로 끝나지 않음)
+                .takeUntil(event -> SseEvent.SHUTDOWN_NAME.equals(event.event()))
+                .onBackpressureBuffer(bufferSize, dropped -> log.debug("reactive notification dropped : userId {}", userId),
+                        BufferOverflowStrategy.DROP_OLDEST)
+                .doOnSubscribe(subscription -> subscriberCount.incrementAndGet())
+                .doFinally(signal -> {
+                    subscriberCount.decrementAndGet();
+                    removeIfUnused(userSinks, userId);
+                    teamIds.forEach(teamId -> removeIfUnused(teamSinks, teamId));
+                });
+    }
+
+    public boolean hasUser(Long userId) {
+        return userSinks.containsKey(userId);
+    }
+
+    public void emitToUser(Long userId, SseEvent event) {
+        emit(userSinks.get(userId), event.getId(), event.getName(), event.getData());
+    }
+
+    public void emitToTeam(Long teamId, String eventId, Object data) {
+        emit(teamSinks.get(teamId), eventId, SseEvent.DEFAULT_NAME, data);
+    }
+
+    public List<Long> findAllUserIds() {
+        return new ArrayList<>(userSinks.keySet());
+    }
+
+    //사용자의 스트림에 종료 이벤트를 보내고 끝낸다
+    public void close(Long userId, long retryMillis) {
+        Sinks.Many<ServerSentEvent<Object>> sink = userSinks.get(userId);
+        if (sink == null) return;
+        SseEvent shutdown = SseEvent.shutdown(retryMillis);
+        ServerSentEvent<Object> event = ServerSentEvent.builder(shutdown.getData())
+                .event(shutdown.getName())
+                .retry(Duration.ofMillis(retryMillis))
+                .build();
+        synchronized (sink) {
+            sink.tryEmitNext(event);
+        }
+    }
+
+    public int count() {
+        return subscriberCount.get();
+    }
+
+    private void emit(Sinks.Many<ServerSentEvent<Object>> sink, String eventId, String name, Object data) {
+        if (sink == null) return;
+        ServerSentEvent<Object> event = ServerSentEvent.builder(data).id(eventId).event(name).build();
+        // 여러 스레드에서 동시에 emit하면 실패하므로 sink 단위로 직렬화한다
+        synchronized (sink) {
+            sink.tryEmitNext(event);
+        }
+    }
+
+    private static Sinks.Many<ServerSentEvent<Object>> sink(Map<Long, Sinks.Many<ServerSentEvent<Object>>> sinks, Long key) {
+        // 구독자가 없으면 버리고, 마지막 구독자가 나가도 닫히지 않는다 (정리는 removeIfUnused에서)
+        return sinks.computeIfAbsent(key, k -> Sinks.many().multicast().directBestEffort());
+    }
+
+    private static void removeIfUnused(Map<Long, Sinks.Many<ServerSentEvent<Object>>> sinks, Long key) {
+        sinks.computeIfPresent(key, (k, sink) -> sink.currentSubscriberCount() == 0 ? null : sink);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.todo.service.notification;
+
+import com.example.todo.domain.entity.NotificationEntity;
+import com.example.todo.domain.repository.MemberRepository;
+import com.example.todo.domain.repository.NotificationInboxRepository;
+import com.example.todo.dto.NotificationDto;
+import com.example.todo.exception.ErrorCode;
+import com.example.todo.exception.TodoAppException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reactor 기반 알림 스트림 구독을 처리합니다.
+ * 기존 SseEmitter 구독(/subscribe/{userId})과 같은 Redis 채널, 같은 알림 저장소를 사용합니다.
+ * 이 서버는 Spring MVC(Tomcat)이므로 Flux를 돌려줘도 연결마다 서블릿 비동기 요청과 소켓이 하나씩 유지됩니다.
+ * 연결별 SseEmitter, 전송 큐, writer 작업은 없어지지만 연결 수 상한은 여전히 Tomcat max-connections와 힙이 정하고,
+ * 서블릿 컨텍스트 없이 연결을 유지하려면 WebFlux(Netty) 서버로 따로 띄워야 합니다.
+ * 실제 HTTP 연결 기준 수치는 ReactiveNotificationHttpBenchmark(./gradlew benchmark)로 측정합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveNotificationService {
+    // 재연결 시 한 번에 조회하는 알림 수
+    private static final int REPLAY_PAGE_SIZE = 100;
+
+    private final ReactiveNotificationHub reactiveNotificationHub;
+    private final NotificationRelay notificationRelay;
+    private final MemberRepository memberRepository;
+    private final NotificationInboxRepository notificationInboxRepository;
+    private final NotificationDrainer notificationDrainer;
+
+    // 재전송하는 동안 쌓아 두는 실시간 알림 수, 넘치면 새 알림을 버린다
+    @Value("${notification.queue.capacity:100}")
+    private int liveBufferSize;
+
+    public Flux<ServerSentEvent<Object>> stream(Long userId, String lastEventId) {
+        if (notificationDrainer.isDraining()) throw new TodoAppException(ErrorCode.SERVER_SHUTTING_DOWN);
+        //사용자가 속한 팀은 구독할 때 한 번만 조회한다
+        List<Long> teamIds = memberRepository.findTeamIdsByUserId(userId);
+
+        // Redis 구독과 실시간 스트림은 재전송 조회 전에 잡아 그 사이에 발행된 알림을 놓치지 않고,
+        // 재전송 중에 끊겨도 항상 놓는다
+        return Flux.using(() -> {
+                    notificationRelay.acquire(userId);
+                    teamIds.forEach(notificationRelay::acquireTeam);
+                    return new LiveBuffer(userId, reactiveNotificationHub.stream(userId, teamIds), liveBufferSize);
+                },
+                live -> {
+                    // 재전송한 마지막 id, 그 이하의 실시간 알림은 이미 보낸 것이므로 버린다
+                    AtomicLong replayedId = new AtomicLong(parseEventId(lastEventId));
+                    return replay(userId, teamIds, replayedId.get())
+                            .doOnNext(event -> replayedId.set(Long.parseLong(event.id())))
+                            .concatWith(live.flux().filter(event -> !isReplayed(event, replayedId.get())));
+                },
+                live -> {
+                    live.dispose();
+                    notificationRelay.release(userId);
+                    teamIds.forEach(notificationRelay::releaseTeam);
+                });
+    }
+
+    //Last-Event-ID 이후 알림을 페이지 단위로 (JPA 조회는 boundedElastic 스레드에서, 다음 페이지는 요청이 있을 때만)
+    private Flux<ServerSentEvent<Object>> replay(Long userId, List<Long> teamIds, long lastId) {
+        if (lastId < 0) return Flux.empty();
+        return Mono.fromCallable(() -> findPage(userId, teamIds, lastId))
+                .expand(page -> page.size() < REPLAY_PAGE_SIZE
+                        ? Mono.empty()
+                        : Mono.fromCallable(() -> findPage(userId, teamIds, page.get(page.size() - 1).getId())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .concatMapIterable(page -> page)
+                .map(entity -> ServerSentEvent.<Object>builder(NotificationDto.fromEntity(entity))
+                        .id(String.valueOf(entity.getId()))
+                        .event(SseEvent.DEFAULT_NAME)
+                        .build());
+    }
+
+    private List<NotificationEntity> findPage(Long userId, List<Long> teamIds, long lastId) {
+        PageRequest pageRequest = PageRequest.of(0, REPLAY_PAGE_SIZE);
+        return teamIds.isEmpty()
+                ? notificationInboxRepository.findAllByReceiverIdAndIdGreaterThanOrderByIdAsc(userId, lastId, pageRequest)
+                : notificationInboxRepository.findInboxAfter(userId, teamIds, lastId, pageRequest);
+    }
+
+    //알림 id가 붙은 이벤트만 비교한다 (읽지 않은 수, 하트비트, 종료 이벤트는 항상 보낸다)
+    private static boolean isReplayed(ServerSentEvent<Object> event, long replayedId) {
+        if (event.id() == null || !SseEvent.DEFAULT_NAME.equals(event.event())) return false;
+        try {
+            return Long.parseLong(event.id()) <= replayedId;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) return -1;
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    //재전송 전에 구독한 실시간 스트림, 재전송이 끝나 구독될 때까지 알림을 쌓아 둔다
+    private static final class LiveBuffer {
+        private final Sinks.Many<ServerSentEvent<Object>> sink;
+        private final Disposable subscription;
+
+        LiveBuffer(Long userId, Flux<ServerSentEvent<Object>> live, int capacity) {
+            this.sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<ServerSentEvent<Object>>get(capacity).get());
+            // hub 스트림은 merge로 직렬화되어 있어 한 스레드씩 emit한다
+            this.subscription = live.subscribe(
+                    event -> {
+                        if (sink.tryEmitNext(event).isFailure())
+                            log.debug("reactive notification dropped during replay : userId {}", userId);
+                    },
+                    sink::tryEmitError,
+                    sink::tryEmitComplete);
+        }
+
+        Flux<ServerSentEvent<Object>> flux() {
+            return sink.asFlux();
+        }
+
+        void dispose() {
+            subscription.dispose();
+        }
+    }
+}
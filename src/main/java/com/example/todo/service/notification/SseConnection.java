@@ -0,0 +1,64 @@
+package com.example.todo.service.notification;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 사용자의 SSE 연결 하나 (브라우저 탭, 기기마다 하나씩 생깁니다)
+ */
+@Getter
+public class SseConnection {
+    // userId_UUID 형식의 연결 id
+    private final String id;
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final LocalDateTime connectedAt;
+    // 전송 대기 중인 이벤트 (연결 객체를 락으로 사용)
+    private final Deque<SseEvent> queue = new ArrayDeque<>();
+    // 전송 작업이 예약되었거나 실행 중인지
+    private final AtomicBoolean draining = new AtomicBoolean();
+    // 가입한 팀 토픽
+    private final Set<Long> teamIds = ConcurrentHashMap.newKeySet();
+    // 마지막으로 전송에 성공한 시각 (하트비트 포함)
+    private volatile long lastWriteAtMillis;
+    // 마지막으로 알림 이벤트를 보낸 시각 (하트비트 제외)
+    private volatile long lastEventAtMillis;
+    // 마지막 이벤트를 큐에 넣고 끊는 중이면 그 이유 (NotificationDispatcher.close)
+    private volatile String closeReason;
+
+    //userId가 null이면 전체 공지만 받는 연결
+    public SseConnection(Long userId, SseEmitter emitter) {
+        this.id = (userId == null ? "broadcast" : userId) + "_" + UUID.randomUUID();
+        this.userId = userId;
+        this.emitter = emitter;
+        this.connectedAt = LocalDateTime.now();
+        this.lastWriteAtMillis = System.currentTimeMillis();
+        this.lastEventAtMillis = lastWriteAtMillis;
+    }
+
+    public void written(SseEvent event) {
+        long now = System.currentTimeMillis();
+        lastWriteAtMillis = now;
+        if (!event.isHeartbeat()) lastEventAtMillis = now;
+    }
+
+    public void closeAfterQueue(String reason) {
+        this.closeReason = reason;
+    }
+
+    public synchronized boolean isQueueEmpty() {
+        return queue.isEmpty();
+    }
+
+    public synchronized int queueSize() {
+        return queue.size();
+    }
+}
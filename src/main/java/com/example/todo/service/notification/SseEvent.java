@@ -0,0 +1,62 @@
+package com.example.todo.service.notification;
+
+import lombok.Getter;
+
+/**
+ * 연결별 전송 큐에 들어가는 SSE 이벤트
+ */
+@Getter
+public class SseEvent {
+    public static final String DEFAULT_NAME = "알림";
+    public static final String HEARTBEAT_COMMENT = "heartbeat";
+    public static final String SHUTDOWN_NAME = "shutdown";
+    public static final String UNREAD_COUNT_NAME = "unread-count";
+
+    // SSE id (없으면 null, 클라이언트의 Last-Event-ID를 바꾸지 않음)
+    private final String id;
+    private final String name;
+    private final Object data;
+    // 같은 키의 이벤트는 큐에서 최신 것 하나만 남길 수 있다 (없으면 null)
+    private final String coalesceKey;
+    // 주석 프레임 (": heartbeat"), 클라이언트에는 이벤트로 전달되지 않는다
+    private final String comment;
+    // 클라이언트 재연결 대기 시간 (SSE retry, 없으면 null)
+    private final Long retryMillis;
+    private final long enqueuedAtNanos;
+
+    public SseEvent(String id, String name, Object data, String coalesceKey) {
+        this(id, name, data, coalesceKey, null, null);
+    }
+
+    private SseEvent(String id, String name, Object data, String coalesceKey, String comment, Long retryMillis) {
+        this.id = id;
+        this.name = name;
+        this.data = data;
+        this.coalesceKey = coalesceKey;
+        this.comment = comment;
+        this.retryMillis = retryMillis;
+        this.enqueuedAtNanos = System.nanoTime();
+    }
+
+    public static SseEvent heartbeat() {
+        return new SseEvent(null, null, null, HEARTBEAT_COMMENT, HEARTBEAT_COMMENT, null);
+    }
+
+    //서버 종료 전 마지막 이벤트, retryMillis 뒤에 다른 서버로 재연결하게 한다
+    public static SseEvent shutdown(long retryMillis) {
+        return new SseEvent(null, SHUTDOWN_NAME, "서버 점검으로 연결을 종료합니다.", null, null, retryMillis);
+    }
+
+    //안 읽은 알림 수, 큐에 밀려 있으면 최신 값 하나만 남긴다
+    public static SseEvent unreadCount(long count) {
+        return new SseEvent(null, UNREAD_COUNT_NAME, count, UNREAD_COUNT_NAME);
+    }
+
+    public boolean isHeartbeat() {
+        return comment != null;
+    }
+
+    public static SseEvent of(String id, Object data) {
+        return new SseEvent(id, DEFAULT_NAME, data, null);
+    }
+}
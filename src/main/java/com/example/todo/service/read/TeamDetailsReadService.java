@@ -0,0 +1,103 @@
+package com.example.todo.service.read;
+
+import com.example.todo.domain.repository.MemberRepository;
+import com.example.todo.domain.repository.TaskApiRepository;
+import com.example.todo.domain.repository.TeamReposiotry;
+import com.example.todo.domain.repository.projection.TaskSummaryProjection;
+import com.example.todo.domain.repository.projection.TeamHeaderProjection;
+import com.example.todo.dto.task.TaskApiDto;
+import com.example.todo.dto.team.TeamDetailsDto;
+import com.example.todo.exception.ErrorCode;
+import com.example.todo.exception.TodoAppException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 팀 상세 페이지 전용 조회 서비스입니다.
+ * 권한은 (team_id, user_id) 인덱스로 한 번만 확인하고,
+ * 팀 정보, 멤버 이름, 첫 페이지 업무를 프로젝션으로 병렬 조회합니다.
+ * 같은 팀 상세를 동시에 요청하면 먼저 시작된 조회 결과를 함께 사용합니다.
+ */
+@RequiredArgsConstructor
+@Service
+public class TeamDetailsReadService {
+    public static final int TASK_PAGE_SIZE = 30;
+    private static final int MAX_MEMBER_PAGE_SIZE = 100;
+
+    private final TeamReposiotry teamReposiotry;
+    private final MemberRepository memberRepository;
+    private final TaskApiRepository taskApiRepository;
+    private final ThreadPoolTaskExecutor teamDetailsExecutor;
+
+    // 진행 중인 조회 (teamId:memberPage:memberSize:taskBeforeId -> 결과)
+    private final Map<String, CompletableFuture<TeamDetailsDto>> inFlight = new ConcurrentHashMap<>();
+
+    public TeamDetailsDto getTeamDetails(Long userId, Long teamId, Integer memberPage, Integer memberSize, Long taskBeforeId) {
+        //팀원인지 확인
+        if (!memberRepository.existsByTeamIdAndUserId(teamId, userId))
+            throw new TodoAppException(ErrorCode.NOT_FOUND_MEMBER);
+        int page = Math.max(memberPage, 0);
+        int pageSize = Math.min(Math.max(memberSize, 1), MAX_MEMBER_PAGE_SIZE);
+
+        String key = teamId + ":" + page + ":" + pageSize + ":" + taskBeforeId;
+        CompletableFuture<TeamDetailsDto> created = new CompletableFuture<>();
+        CompletableFuture<TeamDetailsDto> running = inFlight.putIfAbsent(key, created);
+        if (running == null) {
+            running = created;
+            buildTeamDetails(teamId, page, pageSize, taskBeforeId).whenComplete((teamDetailsDto, exception) -> {
+                inFlight.remove(key, created);
+                if (exception != null) created.completeExceptionally(exception);
+                else created.complete(teamDetailsDto);
+            });
+        }
+        return join(running);
+    }
+
+    private CompletableFuture<TeamDetailsDto> buildTeamDetails(Long teamId, int memberPage, int memberSize, Long taskBeforeId) {
+        CompletableFuture<TeamHeaderProjection> header = CompletableFuture.supplyAsync(() ->
+                teamReposiotry.findHeaderById(teamId)
+                        .orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TEAM)), teamDetailsExecutor);
+        CompletableFuture<List<String>> memberNames = CompletableFuture.supplyAsync(() ->
+                memberRepository.findMemberNamesByTeamId(teamId, PageRequest.of(memberPage, memberSize)), teamDetailsExecutor);
+        CompletableFuture<List<TaskSummaryProjection>> tasks = CompletableFuture.supplyAsync(() ->
+                // 다음 페이지가 있는지 알기 위해 한 개 더 읽는다
+                taskApiRepository.findSummariesByTeamId(teamId, taskBeforeId, PageRequest.of(0, TASK_PAGE_SIZE + 1)), teamDetailsExecutor);
+
+        return CompletableFuture.allOf(header, memberNames, tasks).thenApply(ignored -> {
+            TeamDetailsDto teamDetailsDto = TeamDetailsDto.fromProjection(header.join(), memberNames.join(), memberPage, memberSize);
+            List<TaskSummaryProjection> taskPage = tasks.join();
+            if (taskPage.size() > TASK_PAGE_SIZE) {
+                taskPage = taskPage.subList(0, TASK_PAGE_SIZE);
+                teamDetailsDto.setTaskHasNext(true);
+                teamDetailsDto.setTaskNextBeforeId(taskPage.get(TASK_PAGE_SIZE - 1).getId());
+            }
+            for (TaskSummaryProjection task : taskPage) {
+                TaskApiDto taskApiDto = TaskApiDto.fromProjection(task);
+                teamDetailsDto.getAllTasks().add(taskApiDto);
+                if ("완료".equals(taskApiDto.getStatus())) teamDetailsDto.getDoneTasks().add(taskApiDto);
+                else teamDetailsDto.getNotDoneTasks().add(taskApiDto);
+            }
+            return teamDetailsDto;
+        });
+    }
+
+    //비동기 조회 중 발생한 TodoAppException은 그대로 다시 던진다
+    private TeamDetailsDto join(CompletableFuture<TeamDetailsDto> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e;
+            while (cause instanceof CompletionException && cause.getCause() != null) cause = cause.getCause();
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            throw e;
+        }
+    }
+}
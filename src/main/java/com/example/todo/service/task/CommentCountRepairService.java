@@ -0,0 +1,42 @@
+package com.example.todo.service.task;
+
+import com.example.todo.domain.repository.TaskApiRepository;
+import com.example.todo.domain.repository.TodoApiRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.function.BiFunction;
+
+/**
+ * 업무, Todo의 commentCount, replyCount를 실제 댓글, 답글 수로 다시 맞춥니다.
+ * 평소에는 작성, 삭제 시 UPDATE로 더하고 빼지만, 중간에 실패하거나 다른 경로로 지워진 행이 있으면 어긋날 수 있습니다.
+ * id 범위 청크마다 별도 트랜잭션으로 처리해서 업무 테이블 전체를 오래 잠그지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentCountRepairService {
+    private final TaskApiRepository taskApiRepository;
+    private final TodoApiRepository todoApiRepository;
+
+    @Value("${comment.count-repair-chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${comment.count-repair-cron:0 0 4 * * *}")
+    public void repair() {
+        int tasks = repair(taskApiRepository.findMaxId(), taskApiRepository::repairCounts);
+        int todos = repair(todoApiRepository.findMaxId(), todoApiRepository::repairCounts);
+        log.info("comment counts repaired : {} tasks, {} todos", tasks, todos);
+    }
+
+    private int repair(Long maxId, BiFunction<Long, Long, Integer> repairRange) {
+        if (maxId == null) return 0;
+        int updated = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += chunkSize)
+            updated += repairRange.apply(fromId, fromId + chunkSize - 1);
+        return updated;
+    }
+}
@@ -7,19 +7,23 @@ import com.example.todo.domain.entity.user.User;
 import com.example.todo.domain.repository.MemberRepository;
 import com.example.todo.domain.repository.TaskApiRepository;
 import com.example.todo.domain.repository.user.UserRepository;
-import com.example.todo.dto.NotificationDto;
 import com.example.todo.dto.ResponseDto;
 import com.example.todo.dto.task.TaskApiDto;
 import com.example.todo.dto.task.TaskCreateDto;
+import com.example.todo.dto.task.TaskLiveEventDto;
 import com.example.todo.dto.team.TeamOverviewDto;
 import com.example.todo.exception.ErrorCode;
 import com.example.todo.exception.TodoAppException;
-import com.example.todo.service.notification.NotificationService;
+import com.example.todo.service.cache.CommentPageCache;
+import com.example.todo.service.chat.ChatRoomService;
+import com.example.todo.service.notification.NotificationCoalescer;
+import com.example.todo.service.notification.NotificationDrainer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -37,8 +41,12 @@ public class TaskApiService {
     private final TaskApiRepository taskApiRepository;
     private final UserRepository userRepository;
     private final MemberRepository memberRepository;
-    private final NotificationService notificationService;
+    private final NotificationCoalescer notificationCoalescer;
     private final TaskValidationUtils taskValidationUtils;
+    private final CommentPageCache commentPageCache;
+    private final TaskLiveChannel taskLiveChannel;
+    private final NotificationDrainer notificationDrainer;
+    private final ChatRoomService chatRoomService;
     /**
      * 새로운 업무를 등록합니다.
      *
@@ -112,12 +120,21 @@ public class TaskApiService {
         //조직이 존재하는지 확인
         taskValidationUtils.getTeamById(teamId);
         //업무가 존재하는지 확인
-        return taskApiRepository.findById(taskId)
+        return taskApiRepository.findWithWorkerById(taskId)
                 .filter(taskApiEntity -> taskApiEntity.getTeam().getId().equals(teamId))
                 .map(TaskApiDto::fromEntity)
                 .orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TASK));
     }
 
+    //업무 실시간 채널 구독 (댓글, 답글, 상태 변경을 SSE로 받음)
+    public SseEmitter subscribeLive(Long userId, Long teamId, Long taskId) {
+        if (notificationDrainer.isDraining()) throw new TodoAppException(ErrorCode.SERVER_SHUTTING_DOWN);
+        taskValidationUtils.isMemberOfTeam(userId, teamId);
+        TaskApiEntity taskApiEntity = taskValidationUtils.getTaskById(taskId);
+        if (!teamId.equals(taskApiEntity.getTeam().getId())) throw new TodoAppException(ErrorCode.NOT_MATCH_TEAM_AND_TASK);
+        return taskLiveChannel.subscribe(userId, taskId);
+    }
+
     //업무 전부 조회하는 메서드
     public List<TaskApiDto> readTasksAll(Long userId, Long teamId) {
         // 사용자가 해당 팀의 멤버인지 확인
@@ -138,6 +155,8 @@ public class TaskApiService {
         List<MemberEntity> memberEntities = memberRepository.findAllByUserId(userId);
         for (MemberEntity memberEntity : memberEntities) {
             TeamEntity teamEntity = memberEntity.getTeam();
+            //삭제 처리된 팀은 정리 작업이 끝나기 전까지 멤버가 남아있으므로 제외
+            if (teamEntity.getDeletedAt() != null) continue;
             List<TaskApiEntity> taskApiEntityList = taskApiRepository.findAllByTeamIdAndMember_UserId(teamEntity.getId(), userId);
             List<TaskApiDto> taskApiDtoList = new ArrayList<>();
             for (TaskApiEntity taskApiEntity : taskApiEntityList)
@@ -173,6 +192,7 @@ public class TaskApiService {
 
         // 업무 저장
         taskApiRepository.save(taskApiEntity);
+        taskLiveChannel.publish(TaskLiveEventDto.fromTask(taskApiEntity));
 
         return new ResponseDto("업무가 수정되었습니다.");
     }
@@ -208,8 +228,11 @@ public class TaskApiService {
         //업무관리자와 대상업무가 맞는지 확인
         taskValidationUtils.validateTaskAndUser(userId, teamId, taskApiEntity);
 
-        // 맞다면 진행
+        // 맞다면 진행 (채팅방이 업무를 참조하므로 먼저 지운다)
+        chatRoomService.deleteRoom(taskApiEntity);
         taskApiRepository.deleteById(taskApiEntity.getId());
+        commentPageCache.evict(CommentPageCache.taskKey(teamId, taskId));
+        taskLiveChannel.publish(TaskLiveEventDto.deleted(taskId));
         return new ResponseDto("업무를 삭제했습니다.");
     }
 
@@ -234,10 +257,16 @@ public class TaskApiService {
     @Scheduled(cron = "0 0 0 * * *")
     public void updateTaskStatusAuto() {
         LocalDate currentDate = LocalDate.now();
-        List<TaskApiEntity> tasks = taskApiRepository.findAll();
+        // 바뀔 수 있는 업무만 담당자까지 한 번에 읽는다 (LAZY인 member.user를 스케줄러 스레드에서 읽지 않도록)
+        List<TaskApiEntity> tasks = taskApiRepository.findAllByStatusIn(List.of("진행중", "진행예정"));
 
         for (TaskApiEntity task : tasks) {
-            updateTaskStatus(task, currentDate);
+            // 한 업무가 실패해도 나머지 업무는 계속 수정한다
+            try {
+                updateTaskStatus(task, currentDate);
+            } catch (Exception e) {
+                log.warn("task status auto update failed : taskId {}, {}", task.getId(), e.getMessage());
+            }
         }
     }
     //업무 status를 수정하는 메서드
@@ -246,6 +275,7 @@ public class TaskApiService {
             if (task.getDueDate().isBefore(currentDate)) {
                 task.setStatus("완료");
                 taskApiRepository.save(task);
+                taskLiveChannel.publish(TaskLiveEventDto.fromTask(task));
 
                 sendTaskStatusNotification(task);
             }
@@ -253,30 +283,26 @@ public class TaskApiService {
             if (task.getStartDate().isBefore(currentDate)) {
                 task.setStatus("진행중");
                 taskApiRepository.save(task);
+                taskLiveChannel.publish(TaskLiveEventDto.fromTask(task));
 
                 sendTaskStatusNotification(task);
             }
         }
     }
     //업무 수정 시 전체 알림을 보내는 메서드
+    //짧은 시간에 같은 팀의 상태 변경이 몰리면 NotificationCoalescer가 요약 알림 하나로 묶는다
     private void sendTaskStatusNotification(TaskApiEntity taskApiEntity) {
         String formattedTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
 
-        NotificationDto notificationDto = new NotificationDto();
-        notificationDto.setContent(String.format("'%s'팀의 업무'%s'의 진행상황이 '%s'(으)로 변경되었습니다. %s",
-                taskApiEntity.getTeam().getName(), taskApiEntity.getTaskName(),
-                taskApiEntity.getStatus(), formattedTime));
-        notifyTeamMembers(taskApiEntity.getTeam().getId(), notificationDto);
+        TeamEntity team = taskApiEntity.getTeam();
+        String content = String.format("'%s'팀의 업무'%s'의 진행상황이 '%s'(으)로 변경되었습니다. %s",
+                team.getName(), taskApiEntity.getTaskName(),
+                taskApiEntity.getStatus(), formattedTime);
+        String item = String.format("%s → %s", taskApiEntity.getTaskName(), taskApiEntity.getStatus());
+        notifyTeamMembers(team, item, content);
     }
-    // 팀에 속한 멤버들에게 알림을 보내는 메서드
-    private void notifyTeamMembers(Long teamId, NotificationDto notificationDto) {
-        // 팀에 속한 모든 멤버를 검색
-        List<MemberEntity> teamMembers = memberRepository.findAllByTeamId(teamId);
-
-        // 각 멤버에게 알림을 보냄
-        for (MemberEntity member : teamMembers) {
-            Long userId = member.getUser().getId();
-            notificationService.notify(userId, notificationDto);
-        }
+    // 팀 토픽으로 알림을 보내는 메서드 (멤버를 조회하지 않고 팀 알림 한 건으로 전송)
+    private void notifyTeamMembers(TeamEntity team, String item, String content) {
+        notificationCoalescer.add(null, team.getId(), team.getName(), item, content);
     }
-}
\ No newline at end of file
+}
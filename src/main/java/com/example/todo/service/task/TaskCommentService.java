@@ -7,22 +7,36 @@ import com.example.todo.domain.repository.user.UserRepository;
 import com.example.todo.dto.task.*;
 import com.example.todo.exception.ErrorCode;
 import com.example.todo.exception.TodoAppException;
+import com.example.todo.service.cache.CommentPageCache;
 import com.example.todo.service.notification.NotificationService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import com.example.todo.domain.repository.projection.TaskCommentReplyPreviewProjection;
+import com.example.todo.support.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskCommentService {
+    // 답글 목록 API 한 페이지의 최대 답글 수
+    private static final int MAX_REPLY_PAGE_SIZE = 100;
+    // 캐시하는 첫 페이지 크기 (댓글 목록 API 기본값)
+    private static final int FIRST_PAGE_SIZE = 10;
+
     private final TaskCommentRepository taskCommentRepository;
     private final MemberRepository memberRepository;
     private final UserRepository userRepository;
@@ -31,15 +45,27 @@ public class TaskCommentService {
     private final NotificationService notificationService;
     private final TaskValidationUtils taskValidationUtils;
     private final TaskCommentReplyRepository taskCommentReplyRepository;
+    private final CommentPageCache commentPageCache;
+    private final TaskLiveChannel taskLiveChannel;
+
+    // 댓글 목록에서 댓글마다 보여주는 최신 답글 수
+    @Value("${task.comment.reply-preview-size:3}")
+    private int replyPreviewSize;
 
+    //댓글 저장과 댓글 수 증가는 한 트랜잭션으로 커밋한다 (캐시 갱신, 실시간 이벤트, 알림은 커밋 뒤에)
+    @Transactional
     public void createTaskComment(Long userId, Long teamId, Long taskId, TaskCommentCreateDto taskCommentCreateDto) {
         // 사용자, 팀, 업무, 댓글 존재 여부 확인
         User user = taskValidationUtils.getUserById(userId);
         TeamEntity team = taskValidationUtils.getTeamById(teamId);
         TaskApiEntity taskApiEntity = taskValidationUtils.getTaskById(taskId);
+        checkTaskOfTeam(teamId, taskApiEntity);
         taskValidationUtils.isMemberOfTeam(userId, teamId);
         //Entity를 생성하고 저장한다
-        saveTaskComment(user, taskApiEntity, taskCommentCreateDto.getContent());
+        TaskCommentEntity taskCommentEntity = saveTaskComment(user, taskApiEntity, taskCommentCreateDto.getContent());
+        taskApiRepository.addCommentCount(taskId, 1);
+        refreshFirstPage(teamId, taskApiEntity);
+        taskLiveChannel.publish(TaskLiveEventDto.fromComment(TaskLiveEventDto.Type.COMMENT_CREATED, taskCommentEntity));
         //업무관리자에게 댓글이 달렸다는 알림을 보냄
         notifyComment(user, team, taskApiEntity);
     }
@@ -57,17 +83,27 @@ public class TaskCommentService {
             // 알림 메시지 생성
             String message = notificationMessage(team, user, taskApiEntity, formattedTime);
             // 관리자에게 알림을 보냄
-            notificationService.notify(taskApiEntity.getWorkerId(), message);
+            notificationService.notify(taskApiEntity.getWorkerId(), team.getId(), message);
         } else throw new TodoAppException(ErrorCode.NOT_ALLOWED_MESSAGE);
     }
 
 
-    public Page<TaskCommentReadDto> readTaskCommentsPage(Long userId, Long teamId, Long taskId, Integer page, Integer limit) {
+    public Slice<TaskCommentReadDto> readTaskCommentsPage(Long userId, Long teamId, Long taskId, Integer page, Integer limit) {
+        //첫 페이지는 캐시에 있으면 조회, 검증 없이 바로 반환한다 (캐시는 검증을 통과한 조회로만 채워짐)
+        boolean firstPage = page == 0 && limit == FIRST_PAGE_SIZE;
+        String cacheKey = CommentPageCache.taskKey(teamId, taskId);
+        Pageable pageable = PageRequest.of(page, limit, Sort.by("id").descending());
+        if (firstPage) {
+            Slice<TaskCommentReadDto> cached = commentPageCache.get(cacheKey, TaskCommentReadDto.class, pageable);
+            if (cached != null) return cached;
+        }
+        long cacheVersion = commentPageCache.version();
+
         Optional<User> optionalUser = userRepository.findById(userId);
         if (optionalUser.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 유저 존재 X");
         User user = optionalUser.get();
 
-        Optional<TeamEntity> optionalTeamEntity = teamReposiotry.findById(teamId);
+        Optional<TeamEntity> optionalTeamEntity = teamReposiotry.findByIdAndDeletedAtIsNull(teamId);
         if (optionalTeamEntity.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 팀 존재 X");
         TeamEntity team = optionalTeamEntity.get();
 
@@ -75,18 +111,59 @@ public class TaskCommentService {
         if (optionalTaskApiEntity.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 task 존재 X");
         TaskApiEntity taskApiEntity = optionalTaskApiEntity.get();
 
-        Pageable pageable = PageRequest.of(page, limit, Sort.by("id").descending());
-        Page<TaskCommentEntity> taskCommentEntityPage = taskCommentRepository.findAllByTaskApiEntity(taskApiEntity, pageable);
-        Page<TaskCommentReadDto> commentDtoPage = taskCommentEntityPage.map(TaskCommentReadDto::fromEntity);
+        Slice<TaskCommentReadDto> commentDtoPage = loadCommentsPage(taskApiEntity, pageable);
+        if (firstPage) commentPageCache.put(cacheKey, commentDtoPage, cacheVersion);
+        return commentDtoPage;
+    }
+
+    //전체 개수는 업무의 commentCount로 알 수 있으므로 COUNT 쿼리 없는 Slice로 조회한다
+    private Slice<TaskCommentReadDto> loadCommentsPage(TaskApiEntity taskApiEntity, Pageable pageable) {
+        Slice<TaskCommentEntity> taskCommentEntityPage = taskCommentRepository.findAllByTaskApiEntity(taskApiEntity, pageable);
+        Slice<TaskCommentReadDto> commentDtoPage = taskCommentEntityPage.map(TaskCommentReadDto::fromEntity);
+        addReplyPreviews(commentDtoPage.getContent());
         return commentDtoPage;
     }
 
+    //댓글, 답글이 바뀌면 캐시된 첫 페이지를 다시 읽어 저장한다
+    //트랜잭션 안이면 커밋된 뒤에 읽고 무효화를 알린다 (커밋 전 상태가 캐시되거나 롤백된 삭제가 남지 않도록)
+    private void refreshFirstPage(Long teamId, TaskApiEntity taskApiEntity) {
+        Pageable pageable = PageRequest.of(0, FIRST_PAGE_SIZE, Sort.by("id").descending());
+        Runnable refresh = () -> commentPageCache.refresh(CommentPageCache.taskKey(teamId, taskApiEntity.getId()),
+                () -> loadCommentsPage(taskApiEntity, pageable));
+        AfterCommit.run(refresh);
+    }
+
+    //페이지의 모든 댓글의 답글 미리보기를 쿼리 한 번으로 채운다 (페이지 크기 x 미리보기 수 만큼만 읽음)
+    private void addReplyPreviews(List<TaskCommentReadDto> comments) {
+        if (comments.isEmpty() || replyPreviewSize <= 0) return;
+        Map<Long, TaskCommentReadDto> commentById = comments.stream()
+                .collect(Collectors.toMap(TaskCommentReadDto::getId, Function.identity()));
+        // 한 개 더 읽어서 답글이 더 있는지 확인
+        for (TaskCommentReplyPreviewProjection preview : taskCommentReplyRepository.findPreviews(commentById.keySet(), replyPreviewSize + 1)) {
+            TaskCommentReadDto comment = commentById.get(preview.getCommentId());
+            if (comment.getReplies().size() < replyPreviewSize)
+                comment.getReplies().add(TaskCommentReplyDto.fromProjection(preview));
+            else comment.setHasMoreReplies(true);
+        }
+    }
+
+    //댓글의 답글 목록 (최신순)
+    @Transactional(readOnly = true)
+    public Slice<TaskCommentReplyDto> readReplies(Long userId, Long teamId, Long taskId, Long commentId, Integer page, Integer limit) {
+        taskValidationUtils.isMemberOfTeam(userId, teamId);
+        getCommentOfTask(taskId, commentId);
+
+        PageRequest pageRequest = PageRequest.of(page, Math.min(limit, MAX_REPLY_PAGE_SIZE));
+        return taskCommentReplyRepository.findAllByTaskCommentEntity_IdOrderByIdDesc(commentId, pageRequest)
+                .map(TaskCommentReplyDto::fromEntity);
+    }
+
     public void updateTaskComment(Long userId, Long teamId, Long taskId, Long commentId, TaskCommentUpdateDto taskCommentUpdateDto) {
         Optional<User> optionalUser = userRepository.findById(userId);
         if (optionalUser.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 유저 존재 X");
         User user = optionalUser.get();
 
-        Optional<TeamEntity> optionalTeamEntity = teamReposiotry.findById(teamId);
+        Optional<TeamEntity> optionalTeamEntity = teamReposiotry.findByIdAndDeletedAtIsNull(teamId);
         if (optionalTeamEntity.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 팀 존재 X");
         TeamEntity team = optionalTeamEntity.get();
 
@@ -104,19 +181,71 @@ public class TaskCommentService {
 
         taskCommentEntity.setContent(taskCommentUpdateDto.getContent());
         taskCommentRepository.save(taskCommentEntity);
+        refreshFirstPage(teamId, taskApiEntity);
+        taskLiveChannel.publish(TaskLiveEventDto.fromComment(TaskLiveEventDto.Type.COMMENT_UPDATED, taskCommentEntity));
+    }
+
+    //댓글 삭제, 달린 답글도 함께 삭제한다 (작성자 본인만)
+    @Transactional
+    public void deleteTaskComment(Long userId, Long teamId, Long taskId, Long commentId) {
+        taskValidationUtils.isMemberOfTeam(userId, teamId);
+        TaskCommentEntity taskCommentEntity = getCommentOfTask(taskId, commentId);
+        if (!userId.equals(taskCommentEntity.getWriter().getId())) throw new TodoAppException(ErrorCode.NOT_MATCH_USERID);
+
+        int deletedReplies = taskCommentReplyRepository.deleteAllByCommentId(commentId);
+        taskCommentRepository.delete(taskCommentEntity);
+        taskApiRepository.addCommentCount(taskId, -1);
+        taskApiRepository.addReplyCount(taskId, -deletedReplies);
+        refreshFirstPage(teamId, taskCommentEntity.getTaskApiEntity());
+        taskLiveChannel.publish(TaskLiveEventDto.commentDeleted(taskId, commentId));
+    }
+
+    //답글 삭제 (작성자 본인만)
+    @Transactional
+    public void deleteReply(Long userId, Long teamId, Long taskId, Long commentId, Long replyId) {
+        taskValidationUtils.isMemberOfTeam(userId, teamId);
+        TaskCommentEntity taskCommentEntity = getCommentOfTask(taskId, commentId);
+        TaskCommentReplyEntity replyEntity = taskCommentReplyRepository.findById(replyId)
+                .filter(reply -> commentId.equals(reply.getTaskCommentEntity().getId()))
+                .orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_ENTITY));
+        if (!userId.equals(replyEntity.getWriter().getId())) throw new TodoAppException(ErrorCode.NOT_MATCH_USERID);
+
+        taskCommentReplyRepository.delete(replyEntity);
+        taskApiRepository.addReplyCount(taskId, -1);
+        refreshFirstPage(teamId, taskCommentEntity.getTaskApiEntity());
+        taskLiveChannel.publish(TaskLiveEventDto.replyDeleted(taskId, commentId, replyId));
+    }
+
+    //대상 업무가 대상 팀의 업무가 맞는지
+    private static void checkTaskOfTeam(Long teamId, TaskApiEntity taskApiEntity) {
+        if (!teamId.equals(taskApiEntity.getTeam().getId())) throw new TodoAppException(ErrorCode.NOT_MATCH_TEAM_AND_TASK);
+    }
+
+    private TaskCommentEntity getCommentOfTask(Long taskId, Long commentId) {
+        TaskCommentEntity taskCommentEntity = taskValidationUtils.getTaskCommentById(commentId);
+        if (!taskId.equals(taskCommentEntity.getTaskApiEntity().getId()))
+            throw new TodoAppException(ErrorCode.NOT_FOUND_COMMENT);
+        return taskCommentEntity;
     }
 
-    //답글 달기
+    //답글 달기, 답글 저장과 답글 수 증가는 한 트랜잭션으로 커밋한다
+    @Transactional
     public TaskCommentReplyEntity addReply(Long userId, Long teamId, Long taskId, Long commentId, TaskCommentReplyDto taskCommentReplyDto) {
         // 사용자, 팀, 업무, 댓글 존재 여부 확인
         User user = taskValidationUtils.getUserById(userId);
         TeamEntity team = taskValidationUtils.getTeamById(teamId);
         TaskApiEntity taskApiEntity = taskValidationUtils.getTaskById(taskId);
-        TaskCommentEntity taskCommentEntity = taskValidationUtils.getTaskCommentById(commentId);
+        checkTaskOfTeam(teamId, taskApiEntity);
+        // 다른 업무의 댓글에 답글을 달지 않도록 댓글이 이 업무의 댓글인지 확인한다
+        TaskCommentEntity taskCommentEntity = getCommentOfTask(taskId, commentId);
         taskValidationUtils.isMemberOfTeam(userId, teamId);
 
         //맞다면 진행
-        TaskCommentReplyEntity replyEntity = createReplyEntity(taskCommentEntity, user, taskCommentReplyDto);
+        TaskCommentReplyEntity replyEntity = taskCommentReplyRepository.save(
+                createReplyEntity(taskCommentEntity, user, taskCommentReplyDto));
+        taskApiRepository.addReplyCount(taskId, 1);
+        refreshFirstPage(teamId, taskApiEntity);
+        taskLiveChannel.publish(TaskLiveEventDto.fromReply(taskId, replyEntity));
 
         // 알림을 받을 사용자의 ID를 가져오기 위해 TaskCommentEntity를 사용하여 작성자의 ID를 가져옴
         Long receiveUserId = taskCommentEntity.getWriter().getId();
@@ -124,7 +253,7 @@ public class TaskCommentService {
         //알림 보내기
         sendNotifications(userId, taskApiEntity, team, user, formatCurrentTime(), receiveUserId, isWorker);
 
-        return taskCommentReplyRepository.save(replyEntity);
+        return replyEntity;
     }
     private TaskCommentReplyEntity createReplyEntity(TaskCommentEntity taskCommentEntity, User user, TaskCommentReplyDto taskCommentReplyDto) {
         TaskCommentReplyEntity replyEntity = new TaskCommentReplyEntity();
@@ -138,13 +267,13 @@ public class TaskCommentService {
         // 답글을 작성한 사용자와 댓글 작성자가 다를 때 알림을 보냄
         if (!userId.equals(receiveUserId)) {
             // 댓글 작성자에게 알림 보내기
-            notificationService.notify(receiveUserId, message);
+            notificationService.notify(receiveUserId, team.getId(), message);
             if (!isWorker) {//업무담당자도 아닌, 제3자라면
                 // 업무 담당자에게도 알림 보내기
-                notificationService.notify(taskApiEntity.getWorkerId(), message);
+                notificationService.notify(taskApiEntity.getWorkerId(), team.getId(), message);
             }
         } else {// 댓쓴이가 답글을 달았다면, 담당자에게 알림 보내기
-            notificationService.notify(taskApiEntity.getWorkerId(), message);
+            notificationService.notify(taskApiEntity.getWorkerId(), team.getId(), message);
         }
     }
     private String notificationMessage(TeamEntity team, User user, TaskApiEntity taskApiEntity, String formattedTime) {
@@ -0,0 +1,114 @@
+package com.example.todo.service.task;
+
+import com.example.todo.dto.task.TaskLiveEventDto;
+import com.example.todo.service.notification.NotificationDispatcher;
+import com.example.todo.service.notification.SseConnection;
+import com.example.todo.service.notification.SseEvent;
+import com.example.todo.support.AfterCommit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 업무 화면을 보고 있는 클라이언트에게 댓글, 답글, 업무 상태 변경을 SSE로 보냅니다.
+ * 변경은 Redis 채널(task:live)로 모든 서버에 발행되고, 각 서버는 그 업무를 구독 중인 로컬 연결에만 보냅니다.
+ * 전송은 알림과 같은 NotificationDispatcher 연결별 큐를 사용합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskLiveChannel implements MessageListener {
+    public static final String EVENT_NAME = "task";
+    private static final String CHANNEL = "task:live";
+    private static final Long DEFAULT_TIMEOUT = 60L * 1000 * 60;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+    private final NotificationDispatcher notificationDispatcher;
+
+    // 업무 id -> 구독 중인 연결
+    private final Map<Long, Set<SseConnection>> subscribers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void subscribeChannel() {
+        try {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        } catch (Exception e) {
+            log.warn("task live channel subscribe failed : {}", e.getMessage());
+        }
+    }
+
+    public SseEmitter subscribe(Long userId, Long taskId) {
+        SseEmitter emitter = new SseEmitter(DEFAULT_TIMEOUT);
+        SseConnection connection = new SseConnection(userId, emitter);
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable cleanup = () -> {
+            if (!released.compareAndSet(false, true)) return;
+            subscribers.computeIfPresent(taskId, (id, connections) -> {
+                connections.remove(connection);
+                return connections.isEmpty() ? null : connections;
+            });
+        };
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(throwable -> cleanup.run());
+        subscribers.computeIfAbsent(taskId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+
+        //무응답 오류방지
+        notificationDispatcher.sendNow(connection, new SseEvent(null, EVENT_NAME, "connected", null));
+        return emitter;
+    }
+
+    //트랜잭션이 커밋된 뒤 모든 서버에 발행한다, 발행에 실패하면 이 서버에서만 전송
+    public void publish(TaskLiveEventDto event) {
+        Runnable publish = () -> {
+            try {
+                stringRedisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(event));
+            } catch (Exception e) {
+                log.warn("task live event publish failed : {}", e.getMessage());
+                deliverLocal(event);
+            }
+        };
+        AfterCommit.run(publish);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            deliverLocal(objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), TaskLiveEventDto.class));
+        } catch (Exception e) {
+            log.warn("task live event dropped : {}", e.getMessage());
+        }
+    }
+
+    private void deliverLocal(TaskLiveEventDto event) {
+        Set<SseConnection> connections = subscribers.get(event.getTaskId());
+        if (connections == null) return;
+        SseEvent sseEvent = new SseEvent(null, EVENT_NAME, event, null);
+        for (SseConnection connection : connections) notificationDispatcher.enqueue(connection, sseEvent);
+    }
+
+    //하트비트, 종료 처리 대상
+    public List<SseConnection> findAll() {
+        List<SseConnection> all = new ArrayList<>();
+        subscribers.values().forEach(all::addAll);
+        return all;
+    }
+}
@@ -21,6 +21,7 @@ public class TaskValidationUtils {
     private final UserRepository userRepository;
     private final UsersSubscriptionRepository usersSubscriptionRepository;
     private final TaskCommentRepository taskCommentRepository;
+    private final MemberRepository memberRepository;
     //회원인지 확인
     public User getUserById(Long userId) {
         return userRepository.findById(userId)
@@ -29,7 +30,7 @@ public class TaskValidationUtils {
 
     //조직이 존재하는지 확인하는 메서드
     public TeamEntity getTeamById(Long teamId) {
-        return teamRepository.findById(teamId)
+        return teamRepository.findByIdAndDeletedAtIsNull(teamId)
                 .orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TEAM));
     }
 
@@ -45,9 +46,11 @@ public class TaskValidationUtils {
     }
 
     //멤버인지 확인하는 메서드
+    //팀의 멤버 목록 전체를 읽지 않고 (team_id, user_id) 인덱스로 존재 여부만 확인한다
     public void isMemberOfTeam(Long userId, Long teamId) {
-        TeamEntity teamEntity = getTeamById(teamId);
-        if (teamEntity.getMembers().stream().noneMatch(member -> member.getUser().getId().equals(userId))) {
+        if (!teamRepository.existsByIdAndDeletedAtIsNull(teamId))
+            throw new TodoAppException(ErrorCode.NOT_FOUND_TEAM);
+        if (!memberRepository.existsByTeamIdAndUserId(teamId, userId)) {
             throw new TodoAppException(ErrorCode.NOT_MATCH_MEMBERID);
         }
     }
@@ -0,0 +1,185 @@
+package com.example.todo.service.team;
+
+import com.example.todo.domain.entity.TeamEntity;
+import com.example.todo.domain.repository.TeamReposiotry;
+import com.example.todo.dto.team.TeamAutocompleteDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 팀 이름 자동완성용 prefix trie 입니다.
+ * 각 노드는 자기 서브트리에서 멤버 수가 가장 많은 팀 TOP_K 개를 미리 들고 있어서
+ * 조회는 prefix 길이만큼 노드를 따라 내려가기만 하면 됩니다.
+ * 변경은 해당 이름의 경로에 있는 노드의 TOP_K 만 아래에서 위로 다시 계산합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamAutocompleteIndex {
+    public static final int TOP_K = 10;
+
+    private static final Comparator<Suggestion> BY_WEIGHT = Comparator
+            .comparingInt(Suggestion::getWeight).reversed()
+            .thenComparing(Suggestion::getName)
+            .thenComparing(Suggestion::getTeamId);
+
+    private final TeamReposiotry teamReposiotry;
+
+    private volatile Node root = new Node();
+    // 팀 id -> 현재 trie에 들어있는 항목
+    private final Map<Long, Suggestion> suggestions = new ConcurrentHashMap<>();
+
+    //서버 시작 시 trie를 다시 만든다
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        root = new Node();
+        suggestions.clear();
+        for (TeamEntity team : teamReposiotry.findAllByDeletedAtIsNull()) insert(toSuggestion(team));
+        log.info("team autocomplete index rebuilt : {} teams", suggestions.size());
+    }
+
+    //팀 생성, 이름 변경, 멤버 수 변경 시 호출
+    public synchronized void put(TeamEntity team) {
+        if (team.getId() == null || team.getDeletedAt() != null) return;
+        Suggestion previous = suggestions.get(team.getId());
+        Suggestion current = toSuggestion(team);
+        if (current.equals(previous)) return;
+        if (previous != null) delete(previous);
+        insert(current);
+    }
+
+    //주기적으로 DB의 팀 목록과 맞춘다, 바뀐 팀의 경로만 다시 계산한다
+    public synchronized void sync(List<TeamEntity> teams) {
+        Set<Long> teamIds = new HashSet<>();
+        for (TeamEntity team : teams) {
+            teamIds.add(team.getId());
+            put(team);
+        }
+        for (Long teamId : new ArrayList<>(suggestions.keySet()))
+            if (!teamIds.contains(teamId)) remove(teamId);
+    }
+
+    //팀 삭제 시 호출
+    public synchronized void remove(Long teamId) {
+        Suggestion previous = suggestions.get(teamId);
+        if (previous != null) delete(previous);
+    }
+
+    /**
+     * prefix로 시작하는 팀 이름을 멤버 수가 많은 순으로 반환합니다.
+     *
+     * @param prefix 입력 중인 검색어
+     * @param limit  최대 개수 (TOP_K 이하)
+     * @return 자동완성 후보 목록
+     */
+    public List<TeamAutocompleteDto> suggest(String prefix, int limit) {
+        Node node = root;
+        for (char c : normalize(prefix).toCharArray()) {
+            node = node.children.get(c);
+            if (node == null) return Collections.emptyList();
+        }
+
+        List<Suggestion> top = node.top;
+        int size = Math.min(Math.max(limit, 0), top.size());
+        List<TeamAutocompleteDto> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Suggestion suggestion = top.get(i);
+            result.add(new TeamAutocompleteDto(suggestion.getTeamId(), suggestion.getDisplayName(), suggestion.getWeight()));
+        }
+        return result;
+    }
+
+    private void insert(Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        for (char c : suggestion.getName().toCharArray()) {
+            node = node.children.computeIfAbsent(c, key -> new Node());
+            path.add(node);
+        }
+        node.terminals.add(suggestion);
+        suggestions.put(suggestion.getTeamId(), suggestion);
+        refresh(path);
+    }
+
+    private void delete(Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        for (char c : suggestion.getName().toCharArray()) {
+            node = node.children.get(c);
+            if (node == null) break;
+            path.add(node);
+        }
+        if (node != null) node.terminals.remove(suggestion);
+        suggestions.remove(suggestion.getTeamId());
+
+        // 비어버린 노드는 잘라내서 trie를 작게 유지한다
+        String name = suggestion.getName();
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node child = path.get(i);
+            if (!child.terminals.isEmpty() || !child.children.isEmpty()) break;
+            path.get(i - 1).children.remove(name.charAt(i - 1));
+            path.remove(i);
+        }
+        refresh(path);
+    }
+
+    //경로의 아래쪽 노드부터 TOP_K를 다시 계산한다
+    private void refresh(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            List<Suggestion> candidates = new ArrayList<>(node.terminals);
+            for (Node child : node.children.values()) candidates.addAll(child.top);
+            candidates.sort(BY_WEIGHT);
+            node.top = List.copyOf(candidates.subList(0, Math.min(TOP_K, candidates.size())));
+        }
+    }
+
+    private static Suggestion toSuggestion(TeamEntity team) {
+        int weight = team.getParticipantNum() == null ? 0 : team.getParticipantNum();
+        String displayName = team.getName() == null ? "" : team.getName();
+        return new Suggestion(team.getId(), normalize(displayName), displayName, weight);
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new ConcurrentHashMap<>();
+        // 이 노드에서 이름이 끝나는 팀 (쓰기 락 안에서만 접근)
+        private final List<Suggestion> terminals = new ArrayList<>();
+        // 서브트리의 TOP_K, 읽기 전용 리스트로 통째로 교체한다
+        private volatile List<Suggestion> top = List.of();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Suggestion {
+        private final Long teamId;
+        private final String name;
+        private final String displayName;
+        private final int weight;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Suggestion that)) return false;
+            return weight == that.weight && teamId.equals(that.teamId) && displayName.equals(that.displayName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(teamId, displayName, weight);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.todo.service.team;
+
+import com.example.todo.domain.entity.TeamEntity;
+import com.example.todo.domain.repository.TeamReposiotry;
+import com.example.todo.support.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 팀 검색 색인(TeamSearchIndex)과 자동완성 trie(TeamAutocompleteIndex)를 모든 서버에서 같은 상태로 맞춥니다.
+ * 팀이 바뀌면 커밋된 뒤에 DB에서 팀을 다시 읽어 색인을 고치고, Redis 채널로 다른 서버에도 같은 팀을 다시 읽으라고 알립니다.
+ * 채널 메시지를 놓친 서버도 sync-interval-millis마다 DB의 팀 목록과 다시 맞춰집니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamIndexSync implements MessageListener {
+    private static final String CHANNEL = "team:index:changed";
+    private static final String SEPARATOR = "|";
+
+    private final TeamReposiotry teamReposiotry;
+    private final TeamSearchIndex teamSearchIndex;
+    private final TeamAutocompleteIndex teamAutocompleteIndex;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    // 자기가 보낸 메시지를 구분하기 위한 서버 id
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @PostConstruct
+    public void subscribe() {
+        try {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        } catch (Exception e) {
+            log.warn("team index channel subscribe failed : {}", e.getMessage());
+        }
+    }
+
+    //팀 생성, 수정, 가입, 탈퇴, 삭제 시 호출, 롤백되면 색인을 고치지 않는다
+    public void changed(Long teamId) {
+        Runnable apply = () -> {
+            reload(teamId);
+            publish(teamId);
+        };
+        AfterCommit.run(apply);
+    }
+
+    @Scheduled(initialDelayString = "${team.index.sync-interval-millis:600000}",
+            fixedDelayString = "${team.index.sync-interval-millis:600000}")
+    public void sync() {
+        List<TeamEntity> teams = teamReposiotry.findAllByDeletedAtIsNull();
+        teamSearchIndex.sync(teams);
+        teamAutocompleteIndex.sync(teams);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(SEPARATOR);
+        if (separator < 0 || nodeId.equals(body.substring(0, separator))) return;
+        try {
+            reload(Long.parseLong(body.substring(separator + 1)));
+        } catch (Exception e) {
+            log.warn("team index change dropped : {}", e.getMessage());
+        }
+    }
+
+    //삭제 표시된 팀이나 없는 팀은 색인에서 뺀다
+    private void reload(Long teamId) {
+        teamReposiotry.findByIdAndDeletedAtIsNull(teamId).ifPresentOrElse(team -> {
+            teamSearchIndex.index(team);
+            teamAutocompleteIndex.put(team);
+        }, () -> {
+            teamSearchIndex.remove(teamId);
+            teamAutocompleteIndex.remove(teamId);
+        });
+    }
+
+    private void publish(Long teamId) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, nodeId + SEPARATOR + teamId);
+        } catch (Exception e) {
+            log.warn("team index change publish failed : teamId {}, {}", teamId, e.getMessage());
+        }
+    }
+}
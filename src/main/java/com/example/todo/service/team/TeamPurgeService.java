@@ -0,0 +1,166 @@
+package com.example.todo.service.team;
+
+import com.example.todo.domain.entity.TeamEntity;
+import com.example.todo.domain.repository.*;
+import com.example.todo.domain.repository.chat.ChatRepository;
+import com.example.todo.domain.repository.chat.ChatRoomRepository;
+import com.example.todo.dto.team.TeamPurgeProgressDto;
+import com.example.todo.service.chat.ChatRoomService;
+import com.example.todo.service.chat.ChatSegmentStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 삭제 표시(deletedAt)된 팀의 하위 데이터를 백그라운드에서 정리합니다.
+ * 테이블마다 batchSize 개씩 id를 조회해 IN 절로 삭제하고, 배치 사이에 잠시 쉬어
+ * 큰 팀을 지우더라도 테이블 락이 오래 잡히지 않도록 합니다.
+ * 한 번 실행할 때 처리하는 배치 수에 상한이 있어서 남은 작업은 다음 실행에서 이어서 처리합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TeamPurgeService {
+    // 완료된 진행상황을 보관하는 시간
+    private static final long DONE_RETENTION_HOURS = 1L;
+
+    private final TeamReposiotry teamReposiotry;
+    private final TaskApiRepository taskApiRepository;
+    private final TaskCommentRepository taskCommentRepository;
+    private final TaskCommentReplyRepository taskCommentReplyRepository;
+    private final ChatRepository chatRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final MemberRepository memberRepository;
+    private final NotificationInboxRepository notificationInboxRepository;
+    private final ChatSegmentStore chatSegmentStore;
+    private final ChatRoomService chatRoomService;
+
+    @Value("${team.purge.batch-size:500}")
+    private int batchSize;
+    @Value("${team.purge.throttle-millis:50}")
+    private long throttleMillis;
+    @Value("${team.purge.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    // 팀 id -> 정리 진행상황
+    private final Map<Long, TeamPurgeProgressDto> progressMap = new ConcurrentHashMap<>();
+
+    //팀 삭제 요청 시 진행상황을 등록한다
+    public void register(Long teamId, Long managerId) {
+        progressMap.put(teamId, TeamPurgeProgressDto.pending(teamId, managerId));
+    }
+
+    public Optional<TeamPurgeProgressDto> getProgress(Long teamId) {
+        return Optional.ofNullable(progressMap.get(teamId));
+    }
+
+    @Scheduled(fixedDelayString = "${team.purge.interval-millis:10000}")
+    public void purgeDeletedTeams() {
+        removeFinishedProgress();
+
+        int budget = maxBatchesPerRun;
+        for (Long teamId : teamReposiotry.findDeletedTeamIds()) {
+            budget = purgeTeam(teamId, budget);
+            if (budget <= 0) return;
+        }
+    }
+
+    //자식 테이블부터 순서대로 지우고, 모두 비면 팀을 삭제한다
+    private int purgeTeam(Long teamId, int budget) {
+        TeamPurgeProgressDto progress = progressMap.computeIfAbsent(teamId, this::recoverProgress);
+        progress.setStatus(TeamPurgeProgressDto.PURGING);
+
+        budget = purgeTable(progress, "task_comment_reply",
+                () -> taskCommentReplyRepository.findIdsByTeamId(teamId, PageRequest.of(0, batchSize)),
+                taskCommentReplyRepository::deleteAllByIdInBatch, budget);
+        if (budget == 0) return 0;
+        budget = purgeTable(progress, "task_comment",
+                () -> taskCommentRepository.findIdsByTeamId(teamId, PageRequest.of(0, batchSize)),
+                taskCommentRepository::deleteAllByIdInBatch, budget);
+        if (budget == 0) return 0;
+        budget = purgeTable(progress, "chat",
+                () -> chatRepository.findIdsByTeamId(teamId, PageRequest.of(0, batchSize)),
+                chatRepository::deleteAllByIdInBatch, budget);
+        if (budget == 0) return 0;
+        budget = purgeTable(progress, "chat_room",
+                () -> chatRoomRepository.findIdsByTeamId(teamId, PageRequest.of(0, batchSize)),
+                ids -> {
+                    // 모든 서버에서 새 메시지를 막고 버퍼와 최근 메시지 캐시를 비운 뒤,
+                    // chat 단계 이후에 저장된 메시지까지 지우고 방을 지운다
+                    chatRoomService.closeRooms(ids);
+                    chatRepository.deleteAllByChatRoomIdIn(ids);
+                    chatRoomRepository.deleteAllByIdInBatch(ids);
+                    // 세그먼트 파일로 보관된 메시지도 함께 지운다
+                    ids.forEach(chatSegmentStore::delete);
+                }, budget);
+        if (budget == 0) return 0;
+        budget = purgeTable(progress, "task",
+                () -> taskApiRepository.findIdsByTeamId(teamId, PageRequest.of(0, batchSize)),
+                taskApiRepository::deleteAllByIdInBatch, budget);
+        if (budget == 0) return 0;
+        budget = purgeTable(progress, "notification",
+                () -> notificationInboxRepository.findIdsByTeamId(teamId, PageRequest.of(0, batchSize)),
+                notificationInboxRepository::deleteAllByIdInBatch, budget);
+        if (budget == 0) return 0;
+        budget = purgeTable(progress, "member",
+                () -> memberRepository.findIdsByTeamId(teamId, PageRequest.of(0, batchSize)),
+                memberRepository::deleteAllByIdInBatch, budget);
+        if (budget == 0) return 0;
+
+        teamReposiotry.deleteById(teamId);
+        progress.addDeletedRows("team", 1);
+        progress.setStatus(TeamPurgeProgressDto.DONE);
+        progress.setFinishedAt(LocalDateTime.now());
+        log.info("team {} purged : {}", teamId, progress.getDeletedRows());
+        return budget - 1;
+    }
+
+    //남은 배치 수(budget) 안에서 한 테이블을 batchSize 단위로 삭제한다
+    private int purgeTable(TeamPurgeProgressDto progress, String table,
+                           Supplier<List<Long>> nextIds, Consumer<List<Long>> deleter, int budget) {
+        while (budget > 0) {
+            List<Long> ids = nextIds.get();
+            if (ids.isEmpty()) return budget;
+
+            deleter.accept(ids);
+            progress.addDeletedRows(table, ids.size());
+            budget--;
+            log.debug("team {} purge : {} rows deleted from {}", progress.getTeamId(), ids.size(), table);
+            if (!throttle()) return 0;
+        }
+        return 0;
+    }
+
+    private boolean throttle() {
+        if (throttleMillis <= 0) return true;
+        try {
+            Thread.sleep(throttleMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    //서버 재시작 등으로 진행상황이 없으면 팀 정보로 다시 만든다
+    private TeamPurgeProgressDto recoverProgress(Long teamId) {
+        Long managerId = teamReposiotry.findById(teamId).map(TeamEntity::getManagerId).orElse(null);
+        return TeamPurgeProgressDto.pending(teamId, managerId);
+    }
+
+    private void removeFinishedProgress() {
+        LocalDateTime expiredAt = LocalDateTime.now().minusHours(DONE_RETENTION_HOURS);
+        progressMap.values().removeIf(progress -> progress.getFinishedAt() != null && progress.getFinishedAt().isBefore(expiredAt));
+    }
+}
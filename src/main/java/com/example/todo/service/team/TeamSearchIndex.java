@@ -0,0 +1,214 @@
+package com.example.todo.service.team;
+
+import com.example.todo.domain.entity.TeamEntity;
+import com.example.todo.domain.repository.TeamReposiotry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 팀 이름과 설명을 대상으로 하는 메모리 n-gram 색인입니다.
+ * 한글 검색어는 형태소 분석 없이 2글자 단위(bigram)로 잘라 색인하고,
+ * 후보를 posting 목록 교집합으로 좁힌 뒤 실제 포함 여부를 확인해 정렬합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamSearchIndex {
+    // 같은 검색어 결과를 재사용하는 시간
+    private static final long KEYWORD_CACHE_TTL_MILLIS = 10_000L;
+    private static final int KEYWORD_CACHE_MAX_SIZE = 1_000;
+
+    private static final int SCORE_NAME_EXACT = 100;
+    private static final int SCORE_NAME_PREFIX = 60;
+    private static final int SCORE_NAME_CONTAINS = 30;
+    private static final int SCORE_DESCRIPTION_CONTAINS = 10;
+
+    private final TeamReposiotry teamReposiotry;
+
+    // n-gram -> 해당 n-gram을 가진 팀 id
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    // 팀 id -> 색인된 팀 정보
+    private final Map<Long, TeamDocument> documents = new ConcurrentHashMap<>();
+    // 정규화된 검색어 -> 정렬된 팀 id
+    private final Map<String, CachedResult> keywordCache = new ConcurrentHashMap<>();
+
+    //서버 시작 시 삭제되지 않은 팀으로 색인을 다시 만든다
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<TeamEntity> teams = teamReposiotry.findAllByDeletedAtIsNull();
+        postings.clear();
+        documents.clear();
+        for (TeamEntity team : teams) addDocument(team);
+        keywordCache.clear();
+        log.info("team search index rebuilt : {} teams, {} grams", documents.size(), postings.size());
+    }
+
+    //팀 생성, 수정 시 색인 갱신
+    public synchronized void index(TeamEntity team) {
+        removeDocument(team.getId());
+        addDocument(team);
+        keywordCache.clear();
+    }
+
+    //주기적으로 DB의 팀 목록과 맞춘다, rebuild와 달리 색인을 비우지 않아서 그동안의 검색에 영향이 없다
+    public synchronized void sync(List<TeamEntity> teams) {
+        Set<Long> teamIds = new HashSet<>();
+        for (TeamEntity team : teams) {
+            teamIds.add(team.getId());
+            removeDocument(team.getId());
+            addDocument(team);
+        }
+        for (Long teamId : new ArrayList<>(documents.keySet()))
+            if (!teamIds.contains(teamId)) removeDocument(teamId);
+        keywordCache.clear();
+    }
+
+    //팀 삭제 시 색인에서 제거
+    public synchronized void remove(Long teamId) {
+        removeDocument(teamId);
+        keywordCache.clear();
+    }
+
+    /**
+     * 검색어를 포함하는 팀 id 목록을 점수순으로 반환합니다.
+     *
+     * @param keyword 검색어
+     * @return 점수가 높은 순(같으면 최신 순)으로 정렬된 팀 id 목록
+     */
+    public List<Long> search(String keyword) {
+        String normalized = normalize(keyword);
+        long now = System.currentTimeMillis();
+
+        CachedResult cached = keywordCache.get(normalized);
+        if (cached != null && cached.getExpiresAt() > now) return cached.getTeamIds();
+
+        List<Long> teamIds = rank(normalized);
+        if (keywordCache.size() >= KEYWORD_CACHE_MAX_SIZE) keywordCache.clear();
+        keywordCache.put(normalized, new CachedResult(teamIds, now + KEYWORD_CACHE_TTL_MILLIS));
+        return teamIds;
+    }
+
+    private List<Long> rank(String keyword) {
+        List<ScoredDocument> matched = new ArrayList<>();
+        for (Long teamId : candidates(keyword)) {
+            TeamDocument document = documents.get(teamId);
+            if (document == null) continue;
+            int score = document.score(keyword);
+            if (score > 0) matched.add(new ScoredDocument(document, score));
+        }
+
+        matched.sort(Comparator.comparingInt(ScoredDocument::getScore).reversed()
+                .thenComparing(scored -> scored.getDocument().getCreatedAt(), Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(scored -> scored.getDocument().getId(), Comparator.reverseOrder()));
+
+        List<Long> teamIds = new ArrayList<>(matched.size());
+        for (ScoredDocument scored : matched) teamIds.add(scored.getDocument().getId());
+        return Collections.unmodifiableList(teamIds);
+    }
+
+    //검색어의 n-gram을 모두 가진 팀만 후보로 남긴다
+    private Set<Long> candidates(String keyword) {
+        if (keyword.isEmpty()) return documents.keySet();
+
+        List<Set<Long>> postingLists = new ArrayList<>();
+        for (String gram : grams(keyword)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) return Collections.emptySet();
+            postingLists.add(posting);
+        }
+        postingLists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(postingLists.get(0));
+        for (int i = 1; i < postingLists.size() && !result.isEmpty(); i++)
+            result.retainAll(postingLists.get(i));
+        return result;
+    }
+
+    private void addDocument(TeamEntity team) {
+        if (team.getId() == null || team.getDeletedAt() != null) return;
+        TeamDocument document = new TeamDocument(team.getId(), normalize(team.getName()),
+                normalize(team.getDescription()), team.getCreatedAt());
+        documents.put(document.getId(), document);
+        for (String gram : document.grams())
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(document.getId());
+    }
+
+    private void removeDocument(Long teamId) {
+        TeamDocument document = documents.remove(teamId);
+        if (document == null) return;
+        for (String gram : document.grams()) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) continue;
+            posting.remove(teamId);
+            if (posting.isEmpty()) postings.remove(gram);
+        }
+    }
+
+    //1글자 검색어는 unigram, 그 외에는 bigram으로 자른다
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        if (text.length() == 1) {
+            grams.add(text);
+            return grams;
+        }
+        for (int i = 0; i + 2 <= text.length(); i++) grams.add(text.substring(i, i + 2));
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class TeamDocument {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final LocalDateTime createdAt;
+
+        //1글자 검색어도 찾을 수 있도록 unigram과 bigram을 함께 색인한다
+        private Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            for (String text : List.of(name, description)) {
+                for (int i = 0; i < text.length(); i++) {
+                    grams.add(text.substring(i, i + 1));
+                    if (i + 2 <= text.length()) grams.add(text.substring(i, i + 2));
+                }
+            }
+            return grams;
+        }
+
+        private int score(String keyword) {
+            if (keyword.isEmpty()) return SCORE_DESCRIPTION_CONTAINS;
+            if (name.equals(keyword)) return SCORE_NAME_EXACT;
+            if (name.startsWith(keyword)) return SCORE_NAME_PREFIX;
+            if (name.contains(keyword)) return SCORE_NAME_CONTAINS;
+            if (description.contains(keyword)) return SCORE_DESCRIPTION_CONTAINS;
+            return 0;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class ScoredDocument {
+        private final TeamDocument document;
+        private final int score;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class CachedResult {
+        private final List<Long> teamIds;
+        private final long expiresAt;
+    }
+}
@@ -9,24 +9,29 @@ import com.example.todo.domain.repository.MemberRepository;
 import com.example.todo.domain.repository.TeamReposiotry;
 import com.example.todo.domain.repository.UsersSubscriptionRepository;
 import com.example.todo.domain.repository.user.UserRepository;
-import com.example.todo.dto.task.TaskApiDto;
 import com.example.todo.dto.team.*;
 import com.example.todo.exception.ErrorCode;
 import com.example.todo.exception.TodoAppException;
-import com.example.todo.service.task.TaskApiService;
+import com.example.todo.service.cache.CommentPageCache;
+import com.example.todo.service.notification.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j // 나중에 지우기
 @Service
@@ -35,8 +40,13 @@ public class TeamService {
     private final TeamReposiotry teamReposiotry;
     private final UserRepository userRepository;
     private final MemberRepository memberRepository;
-    private final TaskApiService taskApiService;
     private final UsersSubscriptionRepository usersSubscriptionRepository;
+    private final TeamSearchIndex teamSearchIndex;
+    private final TeamAutocompleteIndex teamAutocompleteIndex;
+    private final TeamIndexSync teamIndexSync;
+    private final TeamPurgeService teamPurgeService;
+    private final NotificationService notificationService;
+    private final CommentPageCache commentPageCache;
     public static final int FREE_TEAM_PARTICIPANT_NUM = 5;
     @Transactional
     public void createTeam(Long userId, TeamCreateDto teamCreateDto) {
@@ -67,13 +77,15 @@ public class TeamService {
         teamEntity.setParticipantNum(teamEntity.getMembers().size());
         teamReposiotry.save(teamEntity);
         memberRepository.save(member);
+        teamIndexSync.changed(teamEntity.getId());
+        notificationService.joinTeam(userId, teamEntity.getId());
     }
 
     @Transactional
     public void joinTeam(Long userId, TeamJoinDto teamJoinDto, Long teamId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_USER));
 
-        TeamEntity team = teamReposiotry.findById(teamId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TEAM));
+        TeamEntity team = teamReposiotry.findByIdAndDeletedAtIsNull(teamId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TEAM));
 //        TeamEntity team = teamReposiotry.findByIdWithPessimisticLock(teamId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TEAM));
 //        TeamEntity team = teamReposiotry.findByIdWithOptimisticLock(teamId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TEAM));
 
@@ -93,15 +105,16 @@ public class TeamService {
         member.setUser(user);
         memberRepository.save(member);
 
-        team.getMembers().add(member);
         team.setParticipantNum(team.getParticipantNum() + 1);
         teamReposiotry.save(team);
+        teamIndexSync.changed(teamId);
+        notificationService.joinTeam(userId, teamId);
 
     }
 
     public void updateTeamDetails(Long userId, TeamUpdateDto teamUpdateDto, Long teamId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_USER));
-        TeamEntity team = teamReposiotry.findById(teamId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TEAM));
+        TeamEntity team = teamReposiotry.findByIdAndDeletedAtIsNull(teamId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TEAM));
 
         if (team.getManagerId() != user.getId()) throw new TodoAppException(ErrorCode.MISMATCH_MANAGERID_USERID);
 
@@ -124,54 +137,68 @@ public class TeamService {
         }
 
         teamReposiotry.save(team);
+        teamIndexSync.changed(teamId);
     }
 
     public void deleteTeam(Long userId, Long teamId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_USER));
-        TeamEntity team = teamReposiotry.findById(teamId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TEAM));
+        TeamEntity team = teamReposiotry.findByIdAndDeletedAtIsNull(teamId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TEAM));
 
         if (team.getManagerId() != user.getId()) throw new TodoAppException(ErrorCode.MISMATCH_MANAGERID_USERID);
 
-        teamReposiotry.delete(team);
+        //팀은 삭제 표시만 하고, 업무/댓글/채팅/멤버는 TeamPurgeService가 나눠서 지운다
+        team.setDeletedAt(LocalDateTime.now());
+        teamReposiotry.save(team);
+        teamIndexSync.changed(teamId);
+        teamPurgeService.register(teamId, user.getId());
+        commentPageCache.evictPrefix(CommentPageCache.teamPrefix(teamId));
+    }
+
+    public TeamPurgeProgressDto getPurgeProgress(Long userId, Long teamId) {
+        TeamPurgeProgressDto progress = teamPurgeService.getProgress(teamId)
+                .orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TEAM));
+        if (!userId.equals(progress.getManagerId())) throw new TodoAppException(ErrorCode.MISMATCH_MANAGERID_USERID);
+        return progress;
     }
 
     @Transactional
     public void leaveTeam(Long userId, Long teamId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_USER));
-        TeamEntity team = teamReposiotry.findById(teamId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TEAM));
+        TeamEntity team = teamReposiotry.findByIdAndDeletedAtIsNull(teamId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TEAM));
         MemberEntity member = memberRepository.findByTeamAndUser(team, user).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_MEMBER));
 
         member.setTeam(null);
         memberRepository.delete(member);
-        team.getMembers().remove(member);
         log.info("part {}", team.getParticipantNum() - 1);
         team.setParticipantNum(team.getParticipantNum() - 1);
         teamReposiotry.save(team);
+        teamIndexSync.changed(teamId);
+        notificationService.leaveTeam(userId, teamId);
     }
 
 
+    //LIKE '%keyword%' 대신 n-gram 색인으로 후보를 찾고, 해당 페이지의 팀만 조회한다
     public Page<TeamOverviewDto> searchTeam(String keyword, Integer page, Integer limit) {
-        Pageable pageable = PageRequest.of(page, limit, Sort.by("createdAt").descending());
-        Page<TeamEntity> teamEntityPage = teamReposiotry.findAllByNameContainingAndDeletedAtIsNull(keyword, pageable);
-
-        Page<TeamOverviewDto> teamOverviewDtoPage = teamEntityPage.map(TeamOverviewDto::fromEntity);
-        return teamOverviewDtoPage;
+        Pageable pageable = PageRequest.of(page, limit);
+        List<Long> rankedTeamIds = teamSearchIndex.search(keyword);
+
+        int from = (int) Math.min(pageable.getOffset(), rankedTeamIds.size());
+        int to = Math.min(from + limit, rankedTeamIds.size());
+        List<Long> pageTeamIds = rankedTeamIds.subList(from, to);
+
+        Map<Long, TeamEntity> teamEntityMap = teamReposiotry.findAllById(pageTeamIds).stream()
+                .collect(Collectors.toMap(TeamEntity::getId, Function.identity()));
+        List<TeamOverviewDto> teamOverviewDtoList = pageTeamIds.stream()
+                .map(teamEntityMap::get)
+                .filter(Objects::nonNull)
+                .map(TeamOverviewDto::fromEntity)
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(teamOverviewDtoList, pageable, rankedTeamIds.size());
     }
 
-    public TeamDetailsDto getTeamDetails(Long userId, Long teamId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_USER));
-        TeamEntity team = teamReposiotry.findById(teamId).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_TEAM));
-        MemberEntity member = memberRepository.findByTeamAndUser(team, user).orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_MEMBER));
-
-        TeamDetailsDto teamDetailsDto = TeamDetailsDto.fromEntity(team);
-
-        List<TaskApiDto> allTasksDtoList = taskApiService.readTasksAll(userId, teamId);
-        for (TaskApiDto taskApiDto : allTasksDtoList) {
-            teamDetailsDto.getAllTasks().add(taskApiDto);
-            if (taskApiDto.getStatus().equals("DONE")) teamDetailsDto.getDoneTasks().add(taskApiDto);
-            else teamDetailsDto.getNotDoneTasks().add(taskApiDto);
-        }
-
-        return teamDetailsDto;
+    //자동완성은 DB를 거치지 않고 메모리 trie에서 바로 응답한다
+    public List<TeamAutocompleteDto> autocompleteTeam(String prefix, Integer limit) {
+        return teamAutocompleteIndex.suggest(prefix, Math.min(limit, TeamAutocompleteIndex.TOP_K));
     }
 }
@@ -12,6 +12,7 @@ import com.example.todo.dto.todo.TodoApiDto;
 import com.example.todo.domain.entity.TodoApiEntity;
 import com.example.todo.exception.ErrorCode;
 import com.example.todo.exception.TodoAppException;
+import com.example.todo.service.cache.CommentPageCache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +36,7 @@ public class TodoApiService {
     private final UserRepository userRepository;
     private final LikeRepository likeRepository;
     private final FileRepository fileRepository;
+    private final CommentPageCache commentPageCache;
 
     // 해당 To do가 존재하는지 확인하는 메소드
     public TodoApiEntity findTodoById(Long id) {
@@ -190,6 +192,7 @@ public class TodoApiService {
         }
         //삭제
         todoApiRepository.deleteById(todoApiEntity.getId());
+        commentPageCache.evict(CommentPageCache.todoKey(todoId));
         return new ResponseDto("Todo가 삭제되었습니다.");
     }
     //To do 좋아요
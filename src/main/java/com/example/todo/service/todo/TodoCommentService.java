@@ -9,13 +9,18 @@ import com.example.todo.domain.repository.user.UserRepository;
 import com.example.todo.dto.todo.TodoCommentCreateDto;
 import com.example.todo.dto.todo.TodoCommentReadDto;
 import com.example.todo.dto.todo.TodoCommentUpdateDto;
+import com.example.todo.exception.ErrorCode;
+import com.example.todo.exception.TodoAppException;
+import com.example.todo.service.cache.CommentPageCache;
+import com.example.todo.support.AfterCommit;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Optional;
@@ -24,9 +29,16 @@ import java.util.Optional;
 @RequiredArgsConstructor
 
 public class TodoCommentService {
+    // 캐시하는 첫 페이지 크기 (댓글 목록 API 기본값)
+    private static final int FIRST_PAGE_SIZE = 10;
+
     private final UserRepository userRepository;
     private final TodoApiRepository todoApiRepository;
     private final TodoCommentRepository todoCommentRepository;
+    private final CommentPageCache commentPageCache;
+
+    //댓글 저장과 댓글 수 증가는 한 트랜잭션으로 커밋한다
+    @Transactional
     public void createTodoComment(Long userId, Long todoId, TodoCommentCreateDto todoCommentCreateDto) {
         Optional<User> optionalUser = userRepository.findById(userId);
         if (optionalUser.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 유저 존재 X");
@@ -41,9 +53,21 @@ public class TodoCommentService {
         todoCommentEntity.setContent(todoCommentCreateDto.getContent());
         todoCommentEntity.setWriter(user);
         todoCommentRepository.save(todoCommentEntity);
+        todoApiRepository.addCommentCount(todoId, 1);
+        refreshFirstPage(todoApiEntity);
     }
 
-    public Page<TodoCommentReadDto> readTodoCommentsPage(Long userId, Long todoId, Integer page, Integer limit) {
+    public Slice<TodoCommentReadDto> readTodoCommentsPage(Long userId, Long todoId, Integer page, Integer limit) {
+        //첫 페이지는 캐시에 있으면 조회, 검증 없이 바로 반환한다 (캐시는 검증을 통과한 조회로만 채워짐)
+        boolean firstPage = page == 0 && limit == FIRST_PAGE_SIZE;
+        String cacheKey = CommentPageCache.todoKey(todoId);
+        Pageable pageable = PageRequest.of(page, limit, Sort.by("id").descending());
+        if (firstPage) {
+            Slice<TodoCommentReadDto> cached = commentPageCache.get(cacheKey, TodoCommentReadDto.class, pageable);
+            if (cached != null) return cached;
+        }
+        long cacheVersion = commentPageCache.version();
+
         Optional<User> optionalUser = userRepository.findById(userId);
         if (optionalUser.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 유저 존재 X");
         User user = optionalUser.get();
@@ -52,12 +76,25 @@ public class TodoCommentService {
         if (optionalTodoApiEntity.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 Todo 존재 X");
         TodoApiEntity todoApiEntity = optionalTodoApiEntity.get();
 
-        Pageable pageable = PageRequest.of(page, limit, Sort.by("id").descending());
-        Page<TodoCommentEntity> todoCommentEntityPage = todoCommentRepository.findAllByTodoApiEntity(todoApiEntity, pageable);
-        Page<TodoCommentReadDto> commentDtoPage = todoCommentEntityPage.map(TodoCommentReadDto::fromEntity);
+        Slice<TodoCommentReadDto> commentDtoPage = loadCommentsPage(todoApiEntity, pageable);
+        if (firstPage) commentPageCache.put(cacheKey, commentDtoPage, cacheVersion);
         return commentDtoPage;
     }
 
+    //전체 개수는 Todo의 commentCount로 알 수 있으므로 COUNT 쿼리 없는 Slice로 조회한다
+    private Slice<TodoCommentReadDto> loadCommentsPage(TodoApiEntity todoApiEntity, Pageable pageable) {
+        Slice<TodoCommentEntity> todoCommentEntityPage = todoCommentRepository.findAllByTodoApiEntity(todoApiEntity, pageable);
+        return todoCommentEntityPage.map(TodoCommentReadDto::fromEntity);
+    }
+
+    //댓글이 바뀌면 캐시된 첫 페이지를 다시 읽어 저장한다, 트랜잭션 안이면 커밋된 뒤에 한다
+    private void refreshFirstPage(TodoApiEntity todoApiEntity) {
+        Pageable pageable = PageRequest.of(0, FIRST_PAGE_SIZE, Sort.by("id").descending());
+        Runnable refresh = () -> commentPageCache.refresh(CommentPageCache.todoKey(todoApiEntity.getId()),
+                () -> loadCommentsPage(todoApiEntity, pageable));
+        AfterCommit.run(refresh);
+    }
+
     public void updateTodoComment(Long userId, Long todoId, Long commentId, TodoCommentUpdateDto todoCommentUpdateDto) {
         Optional<User> optionalUser = userRepository.findById(userId);
         if (optionalUser.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 유저 존재 X");
@@ -65,7 +102,7 @@ public class TodoCommentService {
 
         Optional<TodoApiEntity> optionalTodoApiEntity = todoApiRepository.findById(todoId);
         if (optionalTodoApiEntity.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 Todo 존재 X");
-
+        TodoApiEntity todoApiEntity = optionalTodoApiEntity.get();
 
         Optional<TodoCommentEntity> optionalTodoCommentEntity = todoCommentRepository.findById(commentId);
         if (optionalTodoCommentEntity.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 TodoComment가 존재 X");
@@ -75,5 +112,19 @@ public class TodoCommentService {
 
         todoCommentEntity.setContent(todoCommentUpdateDto.getContent());
         todoCommentRepository.save(todoCommentEntity);
+        refreshFirstPage(todoApiEntity);
+    }
+
+    //댓글 삭제 (작성자 본인만)
+    @Transactional
+    public void deleteTodoComment(Long userId, Long todoId, Long commentId) {
+        TodoCommentEntity todoCommentEntity = todoCommentRepository.findById(commentId)
+                .filter(comment -> todoId.equals(comment.getTodoApiEntity().getId()))
+                .orElseThrow(() -> new TodoAppException(ErrorCode.NOT_FOUND_COMMENT));
+        if (!userId.equals(todoCommentEntity.getWriter().getId())) throw new TodoAppException(ErrorCode.NOT_MATCH_USERID);
+
+        todoCommentRepository.delete(todoCommentEntity);
+        todoApiRepository.addCommentCount(todoId, -1);
+        refreshFirstPage(todoCommentEntity.getTodoApiEntity());
     }
 }
@@ -0,0 +1,127 @@
+package com.example.todo.config.filter;
+
+import com.example.todo.exception.ErrorCode;
+import com.example.todo.exception.TodoAppException;
+import com.example.todo.jwt.TokenProvider;
+import com.example.todo.service.chat.ChatRoomService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StompAuthInterceptorTest {
+
+    TokenProvider tokenProvider;
+    ChatRoomService chatRoomService;
+    ApplicationEventPublisher applicationEventPublisher;
+    StompAuthInterceptor stompAuthInterceptor;
+    Map<String, Object> sessionAttributes;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = Mockito.mock(TokenProvider.class);
+        chatRoomService = Mockito.mock(ChatRoomService.class);
+        applicationEventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        stompAuthInterceptor = new StompAuthInterceptor(tokenProvider, chatRoomService, applicationEventPublisher);
+        sessionAttributes = new HashMap<>();
+    }
+
+    @DisplayName("토큰 없이 연결하면 거절한다")
+    @Test
+    void rejectConnectWithoutToken() {
+        // given
+        Message<byte[]> connect = message(StompHeaderAccessor.create(StompCommand.CONNECT));
+
+        // when, then
+        assertThatThrownBy(() -> stompAuthInterceptor.preSend(connect, Mockito.mock(MessageChannel.class)))
+                .isInstanceOf(TodoAppException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.NOT_MATCH_USERID);
+        verify(tokenProvider, never()).getAuthentication(anyString());
+        assertThat(sessionAttributes).doesNotContainKey(StompAuthInterceptor.SESSION_USERNAME);
+    }
+
+    @DisplayName("유효하지 않은 토큰으로 연결하면 거절한다")
+    @Test
+    void rejectConnectWithInvalidToken() {
+        // given
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.addNativeHeader("Authorization", "Bearer invalid");
+        when(tokenProvider.validToken("invalid")).thenReturn(false);
+
+        // when, then
+        assertThatThrownBy(() -> stompAuthInterceptor.preSend(message(accessor), Mockito.mock(MessageChannel.class)))
+                .isInstanceOf(TodoAppException.class);
+        verify(tokenProvider, never()).getAuthentication(anyString());
+    }
+
+    @DisplayName("팀 멤버가 아닌 사용자의 방 구독은 거절하고 방 목록에 넣지 않는다")
+    @Test
+    void rejectSubscribeFromNonMember() {
+        // given
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setUser(new UsernamePasswordAuthenticationToken("2", null, List.of()));
+        accessor.setDestination("/topic/1");
+        accessor.setSubscriptionId("sub-0");
+        doThrow(new TodoAppException(ErrorCode.NOT_MATCH_MEMBERID)).when(chatRoomService).checkMember(2L, 1L);
+
+        // when, then
+        assertThatThrownBy(() -> stompAuthInterceptor.preSend(message(accessor), Mockito.mock(MessageChannel.class)))
+                .isInstanceOf(TodoAppException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.NOT_MATCH_MEMBERID);
+        assertThat(StompAuthInterceptor.roomIds(sessionAttributes)).isEmpty();
+        verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @DisplayName("연결하지 않은(사용자가 없는) 세션의 구독은 거절한다")
+    @Test
+    void rejectSubscribeWithoutUser() {
+        // given
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination("/topic/1");
+
+        // when, then
+        assertThatThrownBy(() -> stompAuthInterceptor.preSend(message(accessor), Mockito.mock(MessageChannel.class)))
+                .isInstanceOf(TodoAppException.class);
+        verify(chatRoomService, never()).checkMember(anyLong(), anyLong());
+    }
+
+    @DisplayName("팀 멤버의 방 구독은 방 목록에 넣고 입장 이벤트를 발행한다")
+    @Test
+    void subscribeMember() {
+        // given
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setUser(new UsernamePasswordAuthenticationToken("2", null, List.of()));
+        accessor.setDestination("/topic/1");
+        accessor.setSubscriptionId("sub-0");
+
+        // when
+        stompAuthInterceptor.preSend(message(accessor), Mockito.mock(MessageChannel.class));
+
+        // then
+        assertThat(StompAuthInterceptor.roomIds(sessionAttributes)).containsExactly(1L);
+        verify(applicationEventPublisher).publishEvent(any(Object.class));
+    }
+
+    //인바운드 채널처럼 헤더를 수정할 수 있는 상태로 둔다 (preSend에서 accessor를 다시 꺼냄)
+    private Message<byte[]> message(StompHeaderAccessor accessor) {
+        accessor.setSessionId("session-1");
+        accessor.setSessionAttributes(sessionAttributes);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
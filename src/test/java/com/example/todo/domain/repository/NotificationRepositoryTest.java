@@ -0,0 +1,59 @@
+package com.example.todo.domain.repository;
+
+import com.example.todo.service.notification.SseConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class NotificationRepositoryTest {
+
+    NotificationRepository notificationRepository;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = new NotificationRepository();
+        ReflectionTestUtils.setField(notificationRepository, "maxConnectionsPerUser", 2);
+    }
+
+    @DisplayName("한 사용자의 여러 연결을 함께 저장한다")
+    @Test
+    void saveMultipleConnections() {
+        // given
+        SseConnection first = new SseConnection(1L, new SseEmitter());
+        SseConnection second = new SseConnection(1L, new SseEmitter());
+
+        // when
+        notificationRepository.save(first);
+        notificationRepository.save(second);
+        notificationRepository.delete(first);
+
+        // then
+        assertThat(notificationRepository.findAllByUserId(1L)).containsExactly(second);
+        assertThat(notificationRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("사용자당 상한을 넘으면 가장 오래된 연결을 내보낸다")
+    @Test
+    void evictOldest() {
+        // given
+        SseConnection first = new SseConnection(1L, new SseEmitter());
+        SseConnection second = new SseConnection(1L, new SseEmitter());
+        SseConnection third = new SseConnection(1L, new SseEmitter());
+        notificationRepository.save(first);
+        notificationRepository.save(second);
+
+        // when
+        List<SseConnection> evicted = notificationRepository.save(third);
+
+        // then
+        assertThat(evicted).containsExactly(first);
+        assertThat(notificationRepository.findAllByUserId(1L)).containsExactly(second, third);
+        assertThat(notificationRepository.count()).isEqualTo(2);
+    }
+}
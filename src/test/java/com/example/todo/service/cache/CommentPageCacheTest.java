@@ -0,0 +1,103 @@
+package com.example.todo.service.cache;
+
+import com.example.todo.dto.todo.TodoCommentReadDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CommentPageCacheTest {
+
+    StringRedisTemplate stringRedisTemplate;
+    CommentPageCache commentPageCache;
+    PageRequest pageRequest = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        stringRedisTemplate = Mockito.mock(StringRedisTemplate.class);
+        commentPageCache = new CommentPageCache(stringRedisTemplate, Mockito.mock(RedisMessageListenerContainer.class),
+                new ObjectMapper(), 2, 1024 * 1024);
+    }
+
+    @DisplayName("저장한 첫 페이지를 같은 내용으로 돌려준다")
+    @Test
+    void putAndGet() {
+        // given
+        commentPageCache.put("todo:1", page("첫 댓글"), commentPageCache.version());
+
+        // when
+        Slice<TodoCommentReadDto> cached = commentPageCache.get("todo:1", TodoCommentReadDto.class, pageRequest);
+
+        // then
+        assertThat(cached.hasNext()).isTrue();
+        assertThat(cached.getContent().get(0).getContent()).isEqualTo("첫 댓글");
+    }
+
+    @DisplayName("조회 중에 쓰기가 있었으면 읽은 페이지를 저장하지 않는다")
+    @Test
+    void putSkippedAfterWrite() {
+        // given
+        long version = commentPageCache.version();
+        commentPageCache.refresh("todo:1", () -> page("새 댓글"));
+
+        // when
+        commentPageCache.put("todo:1", page("이전 댓글"), version);
+
+        // then
+        assertThat(commentPageCache.get("todo:1", TodoCommentReadDto.class, pageRequest).getContent().get(0).getContent())
+                .isEqualTo("새 댓글");
+        verify(stringRedisTemplate).convertAndSend(anyString(), endsWith("|todo:1"));
+    }
+
+    @DisplayName("항목 수를 넘으면 가장 오래 사용하지 않은 항목을 버린다")
+    @Test
+    void evictLeastRecentlyUsed() {
+        // given
+        commentPageCache.put("todo:1", page("1"), commentPageCache.version());
+        commentPageCache.put("todo:2", page("2"), commentPageCache.version());
+        commentPageCache.get("todo:1", TodoCommentReadDto.class, pageRequest);
+
+        // when
+        commentPageCache.put("todo:3", page("3"), commentPageCache.version());
+
+        // then
+        assertThat(commentPageCache.get("todo:1", TodoCommentReadDto.class, pageRequest)).isNotNull();
+        assertThat(commentPageCache.get("todo:2", TodoCommentReadDto.class, pageRequest)).isNull();
+        assertThat(commentPageCache.get("todo:3", TodoCommentReadDto.class, pageRequest)).isNotNull();
+    }
+
+    @DisplayName("다른 서버의 무효화 메시지를 받으면 항목을 지운다")
+    @Test
+    void invalidateFromOtherNode() {
+        // given
+        commentPageCache.put(CommentPageCache.taskKey(1L, 2L), page("업무 댓글"), commentPageCache.version());
+
+        // when
+        commentPageCache.onMessage(new DefaultMessage("comment:cache:invalidate".getBytes(StandardCharsets.UTF_8),
+                "other-node|task:1:*".getBytes(StandardCharsets.UTF_8)), null);
+
+        // then
+        assertThat(commentPageCache.get(CommentPageCache.taskKey(1L, 2L), TodoCommentReadDto.class, pageRequest)).isNull();
+    }
+
+    private Slice<TodoCommentReadDto> page(String content) {
+        TodoCommentReadDto dto = new TodoCommentReadDto();
+        dto.setWriterName("user");
+        dto.setContent(content);
+        return new SliceImpl<>(List.of(dto), pageRequest, true);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.domain.repository.chat.ChatRepository;
+import com.example.todo.domain.repository.chat.ChatRoomRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 채팅 메시지 전송 경로(ChatService.send → 저장 버퍼 → ChatRelay → 내장 STOMP 브로커 → STOMP 프레임 인코딩)의
+ * 방 크기별 초당 메시지 수와 팬아웃 지연(send 호출부터 방의 모든 구독자 프레임이 만들어지기까지)을 측정합니다.
+ * JSON 변환은 서버 설정과 같은 Jackson 컨버터로, 프레임은 웹소켓 세션에 쓰기 직전과 같은 StompEncoder로 만들고
+ * 저장 버퍼는 H2에 실제로 INSERT합니다. 웹소켓 소켓 쓰기만 빠지며 ./gradlew benchmark 로만 실행됩니다.
+ */
+@Tag("benchmark")
+class ChatBrokerBenchmark {
+    private static final int ROOMS = 10;
+    private static final int MESSAGES = 20_000;
+    private static final int WARMUP_MESSAGES = 2_000;
+
+    EmbeddedDatabase database;
+    ThreadPoolTaskExecutor executor;
+    SimpleBrokerMessageHandler handler;
+    ChatService chatService;
+    AtomicLong delivered = new AtomicLong();
+    AtomicLong frameBytes = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table chat (id bigint auto_increment primary key, chat_room_id bigint, " +
+                "writer varchar(255), content varchar(255), created_at timestamp, updated_at timestamp, deleted_at timestamp)");
+        executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        ChatWriteBuffer chatWriteBuffer = new ChatWriteBuffer(jdbcTemplate, new DataSourceTransactionManager(database), executor);
+        ReflectionTestUtils.setField(chatWriteBuffer, "capacity", 10_000);
+        ReflectionTestUtils.setField(chatWriteBuffer, "batchSize", 500);
+        chatWriteBuffer.init();
+
+        // executor 없는 채널은 보내는 스레드에서 바로 전달한다 (send가 끝나면 팬아웃과 인코딩도 끝남)
+        ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        handler = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/topic"));
+        StompEncoder stompEncoder = new StompEncoder();
+        clientOutbound.subscribe(message -> {
+            // StompSubProtocolHandler가 세션에 보내기 전에 하는 변환
+            StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+            accessor.updateStompCommandAsServerMessage();
+            frameBytes.addAndGet(stompEncoder.encode(accessor.getMessageHeaders(), (byte[]) message.getPayload()).length);
+            delivered.incrementAndGet();
+        });
+        handler.start();
+
+        SimpMessagingTemplate simpMessagingTemplate = new SimpMessagingTemplate(brokerChannel);
+        simpMessagingTemplate.setMessageConverter(new MappingJackson2MessageConverter());
+
+        ChatRepository chatRepository = Mockito.mock(ChatRepository.class);
+        when(chatRepository.findAllByChatRoom_IdOrderByIdDesc(anyLong(), any())).thenReturn(new SliceImpl<>(List.of()));
+        ChatRecentMessages chatRecentMessages = new ChatRecentMessages(chatRepository,
+                Mockito.mock(ChatRoomRepository.class), chatWriteBuffer, 50, 10_000);
+        ChatRelay chatRelay = new ChatRelay(Mockito.mock(StringRedisTemplate.class), Mockito.mock(RedisMessageListenerContainer.class),
+                new ObjectMapper(), simpMessagingTemplate, chatRecentMessages);
+        ReflectionTestUtils.setField(chatRelay, "mode", ChatRelayMode.LOCAL);
+        chatService = new ChatService(chatRepository, Mockito.mock(ChatRoomService.class), chatWriteBuffer,
+                chatRecentMessages, chatRelay, Mockito.mock(ChatArchiveService.class));
+
+        // 입장한 방처럼 최근 메시지 버퍼를 만들어 둔다
+        for (long room = 0; room < ROOMS; room++) chatRecentMessages.recent(room);
+    }
+
+    @AfterEach
+    void tearDown() {
+        handler.stop();
+        executor.shutdown();
+        database.shutdown();
+    }
+
+    @DisplayName("방 크기별 초당 메시지 수, 팬아웃 지연")
+    @ParameterizedTest
+    @ValueSource(ints = {2, 10, 100, 1000})
+    void fanOut(int roomSize) {
+        // given
+        for (int room = 0; room < ROOMS; room++)
+            for (int member = 0; member < roomSize; member++)
+                handler.handleMessage(subscribe("session-" + room + "-" + member, ChatService.TOPIC_PREFIX + room));
+        for (int i = 0; i < WARMUP_MESSAGES; i++) chatService.send((long) (i % ROOMS), "benchmark", "hello");
+        delivered.set(0);
+        frameBytes.set(0);
+
+        // when
+        long[] latencies = new long[MESSAGES];
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            long sentAt = System.nanoTime();
+            chatService.send((long) (i % ROOMS), "benchmark", "hello " + i);
+            latencies[i] = System.nanoTime() - sentAt;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // then
+        Arrays.sort(latencies);
+        System.out.printf("room size %4d : %,.0f messages/s, %,.0f deliveries/s, %,d bytes/frame, " +
+                        "fan-out p50 %,d ns, p99 %,d ns, max %,d ns%n",
+                roomSize, MESSAGES * 1e9 / elapsed, delivered.get() * 1e9 / elapsed, frameBytes.get() / Math.max(1, delivered.get()),
+                latencies[MESSAGES / 2], latencies[MESSAGES * 99 / 100], latencies[MESSAGES - 1]);
+        assertThat(delivered.get()).isEqualTo((long) MESSAGES * roomSize);
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
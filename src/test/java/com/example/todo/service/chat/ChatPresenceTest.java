@@ -0,0 +1,153 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.config.filter.StompAuthInterceptor;
+import com.example.todo.dto.chat.ChatPresenceDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChatPresenceTest {
+
+    StringRedisTemplate stringRedisTemplate;
+    ZSetOperations<String, String> zSetOperations;
+    ValueOperations<String, String> valueOperations;
+    ChatRelay chatRelay;
+    ChatPresence chatPresence;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        stringRedisTemplate = Mockito.mock(StringRedisTemplate.class);
+        zSetOperations = Mockito.mock(ZSetOperations.class);
+        valueOperations = Mockito.mock(ValueOperations.class);
+        chatRelay = Mockito.mock(ChatRelay.class);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(zSetOperations.rangeByScore(eq("chat:presence:1"), anyDouble(), anyDouble())).thenReturn(Set.of("writer"));
+        chatPresence = new ChatPresence(stringRedisTemplate, chatRelay);
+        ReflectionTestUtils.setField(chatPresence, "ttlMillis", 60000L);
+        ReflectionTestUtils.setField(chatPresence, "flushIntervalMillis", 1000L);
+    }
+
+    @DisplayName("주기 동안 입장이 여러 번 있어도 방마다 접속자 목록은 한 번만 보낸다")
+    @Test
+    void batchRosterPerRoom() {
+        // given
+        when(zSetOperations.add(eq("chat:presence:1"), anyString(), anyDouble())).thenReturn(true);
+        chatPresence.onJoin(new ChatRoomJoinedEvent("s1", "sub", 1L, "writer", true));
+        chatPresence.onJoin(new ChatRoomJoinedEvent("s2", "sub", 1L, "other", true));
+
+        // when
+        chatPresence.flush();
+        chatPresence.flush();
+
+        // then
+        verify(chatRelay, times(1)).publishEphemeral(eq(1L), eq(ChatPresence.PRESENCE_SUFFIX), any(ChatPresenceDto.class));
+    }
+
+    @DisplayName("이미 접속 중인 사용자의 하트비트는 접속자 목록을 다시 보내지 않는다")
+    @Test
+    void heartbeatDoesNotBroadcast() {
+        // given
+        when(zSetOperations.add(eq("chat:presence:1"), anyString(), anyDouble())).thenReturn(false);
+
+        // when
+        chatPresence.refresh(1L, "writer");
+        chatPresence.flush();
+
+        // then
+        verify(zSetOperations).add(eq("chat:presence:1"), eq("writer"), anyDouble());
+        verify(chatRelay, never()).publishEphemeral(any(), any(), any());
+    }
+
+    @DisplayName("하트비트가 끊겨 만료된 접속자가 있으면 접속자 목록을 보낸다")
+    @Test
+    void broadcastOnExpiry() {
+        // given
+        when(zSetOperations.add(eq("chat:presence:1"), anyString(), anyDouble())).thenReturn(true);
+        chatPresence.onJoin(new ChatRoomJoinedEvent("s1", "sub", 1L, "writer", true));
+        chatPresence.flush();
+        when(zSetOperations.removeRangeByScore(eq("chat:presence:1"), anyDouble(), anyDouble())).thenReturn(1L);
+
+        // when
+        chatPresence.flush();
+
+        // then
+        verify(chatRelay, times(2)).publishEphemeral(eq(1L), eq(ChatPresence.PRESENCE_SUFFIX), any(ChatPresenceDto.class));
+    }
+
+    @DisplayName("다른 서버가 이번 주기에 보냈으면 다음 주기로 미룬다")
+    @Test
+    void deferWhenOtherNodeFlushed() {
+        // given
+        when(zSetOperations.add(eq("chat:presence:1"), anyString(), anyDouble())).thenReturn(true);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false, true);
+        chatPresence.onJoin(new ChatRoomJoinedEvent("s1", "sub", 1L, "writer", true));
+
+        // when
+        chatPresence.flush();
+        verify(chatRelay, never()).publishEphemeral(any(), any(), any());
+        chatPresence.flush();
+
+        // then
+        verify(chatRelay, times(1)).publishEphemeral(eq(1L), eq(ChatPresence.PRESENCE_SUFFIX), any(ChatPresenceDto.class));
+    }
+
+    @DisplayName("재구독과 전송 권한만 확인한 방은 입장 수에 넣지 않고, 연결이 끊기면 입장한 방만 세션당 한 번 나간다")
+    @Test
+    void countJoinOncePerSession() {
+        // given
+        when(zSetOperations.add(eq("chat:presence:1"), anyString(), anyDouble())).thenReturn(true);
+        Map<String, Object> sessionAttributes = new HashMap<>();
+        sessionAttributes.put(StompAuthInterceptor.SESSION_USERNAME, "writer");
+        StompAuthInterceptor.joinedRoomIds(sessionAttributes).add(1L);
+        StompAuthInterceptor.roomIds(sessionAttributes).addAll(Set.of(1L, 2L));
+        chatPresence.onJoin(new ChatRoomJoinedEvent("s1", "sub-0", 1L, "writer", true));
+        chatPresence.onJoin(new ChatRoomJoinedEvent("s1", "sub-1", 1L, "writer", false));
+        chatPresence.onJoin(new ChatRoomJoinedEvent("s2", "sub-0", 1L, "other", true));
+
+        // when
+        chatPresence.onDisconnect(disconnect("s1", sessionAttributes));
+
+        // then
+        verify(zSetOperations).remove("chat:presence:1", "writer");
+        verify(zSetOperations, never()).remove(eq("chat:presence:2"), any());
+        assertThat(localRooms()).containsOnlyKeys(1L);
+        assertThat(localRooms().get(1L)).hasValue(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, AtomicInteger> localRooms() {
+        return (Map<Long, AtomicInteger>) ReflectionTestUtils.getField(chatPresence, "localRooms");
+    }
+
+    private static SessionDisconnectEvent disconnect(String sessionId, Map<String, Object> sessionAttributes) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT);
+        accessor.setSessionId(sessionId);
+        accessor.setSessionAttributes(sessionAttributes);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return new SessionDisconnectEvent(new Object(), message, sessionId, CloseStatus.NORMAL);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.domain.entity.chat.Chat;
+import com.example.todo.domain.repository.chat.ChatRepository;
+import com.example.todo.domain.repository.chat.ChatRoomRepository;
+import com.example.todo.dto.chat.ChatMessageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChatRecentMessagesTest {
+
+    ChatRepository chatRepository;
+    ChatRoomRepository chatRoomRepository;
+    ChatRecentMessages chatRecentMessages;
+
+    @BeforeEach
+    void setUp() {
+        chatRepository = Mockito.mock(ChatRepository.class);
+        chatRoomRepository = Mockito.mock(ChatRoomRepository.class);
+        chatRecentMessages = new ChatRecentMessages(chatRepository, chatRoomRepository, Mockito.mock(ChatWriteBuffer.class), 3, 10);
+        Slice<Chat> empty = new SliceImpl<>(List.of(), PageRequest.of(0, 3), false);
+        when(chatRepository.findAllByChatRoom_IdOrderByIdDesc(eq(1L), any())).thenReturn(empty);
+    }
+
+    @DisplayName("방의 첫 입장 때만 DB에서 읽고 이후 메시지는 버퍼에서 돌려준다")
+    @Test
+    void loadOnce() {
+        // given
+        chatRecentMessages.recent(1L);
+        chatRecentMessages.add(message(1L));
+        chatRecentMessages.add(message(2L));
+
+        // when
+        Slice<ChatMessageDto> recent = chatRecentMessages.read(1L, null, 3);
+
+        // then
+        assertThat(recent.getContent()).extracting(ChatMessageDto::getId).containsExactly(2L, 1L);
+        assertThat(recent.hasNext()).isFalse();
+        assertThat(chatRecentMessages.recent(1L)).extracting(ChatMessageDto::getId).containsExactly(1L, 2L);
+        verify(chatRepository, times(1)).findAllByChatRoom_IdOrderByIdDesc(eq(1L), any());
+    }
+
+    @DisplayName("버퍼에서 밀려난 메시지가 필요하면 DB에서 읽도록 null을 돌려준다")
+    @Test
+    void readOlderThanRing() {
+        // given
+        chatRecentMessages.recent(1L);
+        for (long id = 1; id <= 5; id++) chatRecentMessages.add(message(id));
+
+        // when
+        Slice<ChatMessageDto> recent = chatRecentMessages.read(1L, null, 3);
+        Slice<ChatMessageDto> older = chatRecentMessages.read(1L, 4L, 3);
+
+        // then
+        assertThat(recent.getContent()).extracting(ChatMessageDto::getId).containsExactly(5L, 4L, 3L);
+        assertThat(recent.hasNext()).isTrue();
+        assertThat(older).isNull();
+    }
+
+    @DisplayName("세그먼트로 보관된 메시지가 있는 방은 DB를 다 읽어도 보관분을 읽도록 null을 돌려준다")
+    @Test
+    void archivedRoomIsNotComplete() {
+        // given
+        when(chatRoomRepository.findArchivedUntilIdById(1L)).thenReturn(Optional.of(10L));
+        chatRecentMessages.recent(1L);
+        chatRecentMessages.add(message(11L));
+
+        // when
+        Slice<ChatMessageDto> recent = chatRecentMessages.read(1L, null, 3);
+
+        // then
+        assertThat(recent).isNull();
+    }
+
+    @DisplayName("커서보다 앞에 id 없는 메시지(다른 서버에서 받은 메시지)가 있으면 빠뜨리지 않도록 DB에서 읽는다")
+    @Test
+    void readWithRemoteMessage() {
+        // given
+        chatRecentMessages.recent(1L);
+        chatRecentMessages.add(message(1L));
+        chatRecentMessages.add(message(null));
+        chatRecentMessages.add(message(3L));
+
+        // when
+        Slice<ChatMessageDto> older = chatRecentMessages.read(1L, 3L, 3);
+        Slice<ChatMessageDto> oldest = chatRecentMessages.read(1L, 2L, 3);
+
+        // then
+        assertThat(older).isNull();
+        assertThat(oldest).isNull();
+    }
+
+    @DisplayName("DB에서 읽은 메시지와 같은, 다른 서버에서 받은 메시지(id 없음)는 한 번만 둔다")
+    @Test
+    void loadSkipsRemoteDuplicate() {
+        // given
+        ChatRecentMessages.RecentRing ring = new ChatRecentMessages.RecentRing(5);
+        ChatMessageDto remote = message(null);
+        ChatMessageDto newer = message(null);
+        newer.setMessage("새 메시지");
+        ring.add(remote);
+        ring.add(newer);
+        ChatMessageDto saved = message(7L);
+        saved.setMessage(remote.getMessage());
+        saved.setTime(remote.getTime());
+
+        // when
+        ring.load(List.of(saved), true);
+
+        // then
+        assertThat(ring.snapshot()).extracting(ChatMessageDto::getMessage).containsExactly("새 메시지", remote.getMessage());
+        assertThat(ring.snapshot()).extracting(ChatMessageDto::getId).containsExactly(null, 7L);
+    }
+
+    private static ChatMessageDto message(Long id) {
+        ChatMessageDto chatMessageDto = ChatMessageDto.of(1L, "writer", "메시지" + id, LocalDateTime.now());
+        chatMessageDto.setId(id);
+        return chatMessageDto;
+    }
+}
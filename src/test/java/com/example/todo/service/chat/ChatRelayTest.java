@@ -0,0 +1,158 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.dto.chat.ChatMessageDto;
+import com.example.todo.dto.chat.ChatTypingDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChatRelayTest {
+
+    StringRedisTemplate stringRedisTemplate;
+    SimpMessageSendingOperations simpMessageSendingOperations;
+    ChatRecentMessages chatRecentMessages;
+    ChatRelay chatRelay;
+
+    @BeforeEach
+    void setUp() {
+        stringRedisTemplate = Mockito.mock(StringRedisTemplate.class);
+        simpMessageSendingOperations = Mockito.mock(SimpMessageSendingOperations.class);
+        chatRecentMessages = Mockito.mock(ChatRecentMessages.class);
+        chatRelay = new ChatRelay(stringRedisTemplate, Mockito.mock(RedisMessageListenerContainer.class),
+                new ObjectMapper(), simpMessageSendingOperations, chatRecentMessages);
+        ReflectionTestUtils.setField(chatRelay, "seqTtlSeconds", 60L);
+    }
+
+    @DisplayName("LOCAL 모드는 방마다 1부터 순번을 붙여 이 서버의 구독자에게 보낸다")
+    @Test
+    void localSequencePerRoom() {
+        // given
+        ReflectionTestUtils.setField(chatRelay, "mode", ChatRelayMode.LOCAL);
+        ChatMessageDto first = message(1L);
+        ChatMessageDto second = message(1L);
+        ChatMessageDto otherRoom = message(2L);
+
+        // when
+        chatRelay.publish(first);
+        chatRelay.publish(second);
+        chatRelay.publish(otherRoom);
+
+        // then
+        assertThat(first.getSeq()).isEqualTo(1L);
+        assertThat(second.getSeq()).isEqualTo(2L);
+        assertThat(otherRoom.getSeq()).isEqualTo(1L);
+        verify(simpMessageSendingOperations, times(2)).convertAndSend(eq("/topic/1"), any(Object.class));
+        verify(chatRecentMessages).add(first);
+    }
+
+    @DisplayName("REDIS 모드는 발행 스크립트가 돌려준 순번을 붙여 바로 전달한다")
+    @SuppressWarnings("unchecked")
+    @Test
+    void redisSequence() {
+        // given
+        ReflectionTestUtils.setField(chatRelay, "mode", ChatRelayMode.REDIS);
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenReturn(7L);
+        ChatMessageDto chatMessageDto = message(1L);
+
+        // when
+        chatRelay.publish(chatMessageDto);
+
+        // then
+        assertThat(chatMessageDto.getSeq()).isEqualTo(7L);
+        verify(simpMessageSendingOperations).convertAndSend("/topic/1", chatMessageDto);
+    }
+
+    @DisplayName("Redis 발행에 실패하면 Redis 순번과 겹치지 않도록 순번 없이 이 서버에만 보낸다")
+    @SuppressWarnings("unchecked")
+    @Test
+    void redisFailureWithoutSequence() {
+        // given
+        ReflectionTestUtils.setField(chatRelay, "mode", ChatRelayMode.REDIS);
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("redis down"));
+        ChatMessageDto chatMessageDto = message(1L);
+
+        // when
+        chatRelay.publish(chatMessageDto);
+
+        // then
+        assertThat(chatMessageDto.getSeq()).isNull();
+        verify(simpMessageSendingOperations).convertAndSend("/topic/1", chatMessageDto);
+    }
+
+    @DisplayName("같은 방에 동시에 보내도 순번 순서대로 전달한다")
+    @Test
+    void deliverInSequenceOrder() throws InterruptedException {
+        // given
+        ReflectionTestUtils.setField(chatRelay, "mode", ChatRelayMode.LOCAL);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++)
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 200; i++) chatRelay.publish(message(1L));
+            }));
+
+        // when
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) thread.join();
+
+        // then
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(simpMessageSendingOperations, times(800)).convertAndSend(eq("/topic/1"), captor.capture());
+        assertThat(captor.getAllValues()).extracting(payload -> ((ChatMessageDto) payload).getSeq()).isSorted();
+    }
+
+    @DisplayName("다른 서버가 발행한 메시지만 순번과 함께 이 서버의 구독자에게 보낸다")
+    @Test
+    void deliverOtherNodesOnly() {
+        // given
+        String nodeId = (String) ReflectionTestUtils.getField(chatRelay, "nodeId");
+        String other = "3|{\"nodeId\":\"other\",\"message\":{\"roomId\":1,\"sender\":\"writer\",\"message\":\"안녕\"}}";
+        String own = "4|{\"nodeId\":\"" + nodeId + "\",\"message\":{\"roomId\":1,\"sender\":\"writer\",\"message\":\"안녕\"}}";
+
+        // when
+        chatRelay.onMessage(new DefaultMessage("chat:relay".getBytes(), other.getBytes(StandardCharsets.UTF_8)), null);
+        chatRelay.onMessage(new DefaultMessage("chat:relay".getBytes(), own.getBytes(StandardCharsets.UTF_8)), null);
+
+        // then
+        verify(simpMessageSendingOperations, times(1)).convertAndSend(eq("/topic/1"),
+                argThat((Object payload) -> payload instanceof ChatMessageDto dto && dto.getSeq() == 3L && "안녕".equals(dto.getMessage())));
+        verify(chatRecentMessages, times(1)).add(any());
+    }
+
+    @DisplayName("일회성 메시지는 순번 없이 방 하위 토픽으로 보내고 최근 메시지 버퍼에 넣지 않는다")
+    @Test
+    void ephemeralNotBuffered() {
+        // given
+        ReflectionTestUtils.setField(chatRelay, "mode", ChatRelayMode.LOCAL);
+        ChatTypingDto chatTypingDto = new ChatTypingDto(1L, "writer", true);
+
+        // when
+        chatRelay.publishEphemeral(1L, ChatService.TYPING_SUFFIX, chatTypingDto);
+
+        // then
+        verify(simpMessageSendingOperations).convertAndSend("/topic/1/typing", chatTypingDto);
+        verify(chatRecentMessages, never()).add(any());
+    }
+
+    private static ChatMessageDto message(Long roomId) {
+        return ChatMessageDto.of(roomId, "writer", "메시지", LocalDateTime.now());
+    }
+}
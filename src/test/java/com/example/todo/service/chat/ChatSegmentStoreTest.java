@@ -0,0 +1,102 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.dto.chat.ChatMessageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ChatSegmentStoreTest {
+
+    @TempDir
+    Path dir;
+    ChatSegmentStore chatSegmentStore;
+
+    @BeforeEach
+    void setUp() {
+        chatSegmentStore = new ChatSegmentStore(dir.toString(), 4);
+    }
+
+    @DisplayName("여러 블록에 나눠 보관한 메시지를 커서 기준 최신순으로 읽는다")
+    @Test
+    void readAcrossBlocks() throws IOException {
+        // given
+        chatSegmentStore.append(1L, messages(1, 4));
+        chatSegmentStore.append(1L, messages(5, 8));
+
+        // when
+        Slice<ChatMessageDto> latest = chatSegmentStore.read(1L, null, 3);
+        Slice<ChatMessageDto> older = chatSegmentStore.read(1L, 6L, 3);
+        Slice<ChatMessageDto> last = chatSegmentStore.read(1L, 3L, 3);
+
+        // then
+        assertThat(latest.getContent()).extracting(ChatMessageDto::getId).containsExactly(8L, 7L, 6L);
+        assertThat(latest.hasNext()).isTrue();
+        assertThat(older.getContent()).extracting(ChatMessageDto::getId).containsExactly(5L, 4L, 3L);
+        assertThat(last.getContent()).extracting(ChatMessageDto::getId).containsExactly(2L, 1L);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(latest.getContent().get(0).getMessage()).isEqualTo("메시지8");
+        assertThat(chatSegmentStore.lastId(1L)).isEqualTo(8L);
+    }
+
+    @DisplayName("색인에 기록되지 않은 세그먼트 끝부분은 무시하고 다음 블록으로 덮어쓴다")
+    @Test
+    void ignoreUnindexedTail() throws IOException {
+        // given
+        chatSegmentStore.append(1L, messages(1, 2));
+        Files.write(dir.resolve("1.seg"), new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+        Files.write(dir.resolve("1.idx"), new byte[]{9, 9}, StandardOpenOption.APPEND);
+
+        // when
+        ChatSegmentStore reopened = new ChatSegmentStore(dir.toString(), 4);
+        reopened.append(1L, messages(3, 4));
+
+        // then
+        assertThat(reopened.read(1L, null, 10).getContent())
+                .extracting(ChatMessageDto::getId).containsExactly(4L, 3L, 2L, 1L);
+    }
+
+    @DisplayName("보관한 적 없는 방은 빈 목록을 돌려준다")
+    @Test
+    void emptyRoom() {
+        // when
+        Slice<ChatMessageDto> messages = chatSegmentStore.read(2L, null, 10);
+
+        // then
+        assertThat(messages.getContent()).isEmpty();
+        assertThat(messages.hasNext()).isFalse();
+        assertThat(chatSegmentStore.lastId(2L)).isZero();
+    }
+
+    @DisplayName("보관 디렉터리를 설정하지 않으면 보관하지 않고, 상대 경로면 시작할 때 실패한다")
+    @Test
+    void requireAbsoluteDir() {
+        // when
+        ChatSegmentStore disabled = new ChatSegmentStore("", 4);
+
+        // then
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.lastId(1L)).isZero();
+        assertThatThrownBy(() -> disabled.append(1L, messages(1, 2))).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new ChatSegmentStore("chat-archive", 4)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static List<ChatMessageDto> messages(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId).mapToObj(id -> {
+            ChatMessageDto chatMessageDto = ChatMessageDto.of(1L, "writer", "메시지" + id, LocalDateTime.now());
+            chatMessageDto.setId(id);
+            return chatMessageDto;
+        }).toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.todo.service.chat;
+
+import com.example.todo.dto.chat.ChatMessageDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ChatWriteBufferTest {
+
+    EmbeddedDatabase database;
+    JdbcTemplate jdbcTemplate;
+    ThreadPoolTaskExecutor executor;
+    ChatWriteBuffer chatWriteBuffer;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table chat (id bigint auto_increment primary key, chat_room_id bigint, " +
+                "writer varchar(255), content varchar(255), created_at timestamp, updated_at timestamp, deleted_at timestamp)");
+        executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        chatWriteBuffer = new ChatWriteBuffer(jdbcTemplate, new DataSourceTransactionManager(database), executor);
+        ReflectionTestUtils.setField(chatWriteBuffer, "capacity", 2);
+        ReflectionTestUtils.setField(chatWriteBuffer, "batchSize", 100);
+        chatWriteBuffer.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        database.shutdown();
+    }
+
+    @DisplayName("버퍼를 비우면 한 번에 저장하고 보낸 순서대로 id를 채운다")
+    @Test
+    void flushAssignsIds() {
+        // given
+        ChatMessageDto first = ChatMessageDto.of(1L, "writer", "첫 메시지", LocalDateTime.now());
+        ChatMessageDto second = ChatMessageDto.of(1L, "writer", "두번째 메시지", LocalDateTime.now());
+        chatWriteBuffer.append(first, LocalDateTime.now());
+        chatWriteBuffer.append(second, LocalDateTime.now());
+
+        // when
+        chatWriteBuffer.flush();
+
+        // then
+        assertThat(chatWriteBuffer.size()).isZero();
+        assertThat(first.getId()).isNotNull();
+        assertThat(second.getId()).isGreaterThan(first.getId());
+        assertThat(jdbcTemplate.queryForList("select content from chat order by id", String.class))
+                .containsExactly("첫 메시지", "두번째 메시지");
+    }
+
+    @DisplayName("지운 방의 메시지가 섞여도 그 메시지만 버리고 다른 방의 메시지는 저장한다")
+    @Test
+    void dropOnlyRowsOfDeletedRoom() {
+        // given
+        jdbcTemplate.execute("create table chat_room (id bigint primary key)");
+        jdbcTemplate.execute("insert into chat_room (id) values (1)");
+        jdbcTemplate.execute("alter table chat add constraint fk_chat_room foreign key (chat_room_id) references chat_room (id)");
+        ReflectionTestUtils.setField(chatWriteBuffer, "capacity", 10);
+        chatWriteBuffer.init();
+        ChatMessageDto first = ChatMessageDto.of(1L, "writer", "첫 메시지", LocalDateTime.now());
+        ChatMessageDto deleted = ChatMessageDto.of(2L, "writer", "지운 방", LocalDateTime.now());
+        ChatMessageDto last = ChatMessageDto.of(1L, "writer", "마지막 메시지", LocalDateTime.now());
+        chatWriteBuffer.append(first, LocalDateTime.now());
+        chatWriteBuffer.append(deleted, LocalDateTime.now());
+        chatWriteBuffer.append(last, LocalDateTime.now());
+
+        // when
+        chatWriteBuffer.flush();
+
+        // then
+        assertThat(jdbcTemplate.queryForList("select content from chat order by id", String.class))
+                .containsExactly("첫 메시지", "마지막 메시지");
+        assertThat(first.getId()).isNotNull();
+        assertThat(last.getId()).isGreaterThan(first.getId());
+        assertThat(deleted.getId()).isNull();
+        assertThat(chatWriteBuffer.size()).isZero();
+    }
+
+    @DisplayName("버퍼가 가득 차면 보내는 스레드가 먼저 저장한 뒤 넣는다")
+    @Test
+    void appendFlushesWhenFull() {
+        // given
+        List<ChatMessageDto> messages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) messages.add(ChatMessageDto.of(1L, "writer", "메시지" + i, LocalDateTime.now()));
+
+        // when
+        for (ChatMessageDto message : messages) chatWriteBuffer.append(message, LocalDateTime.now());
+
+        // then
+        assertThat(chatWriteBuffer.size()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from chat", Integer.class)).isEqualTo(2);
+        assertThat(messages.get(0).getId()).isNotNull();
+        assertThat(messages.get(2).getId()).isNull();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.todo.service.notification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationCoalescerTest {
+
+    NotificationService notificationService;
+    NotificationCoalescer notificationCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = Mockito.mock(NotificationService.class);
+        notificationCoalescer = new NotificationCoalescer(notificationService);
+        ReflectionTestUtils.setField(notificationCoalescer, "windowMillis", 0L);
+    }
+
+    @DisplayName("같은 사용자, 같은 팀의 알림은 요약 알림 하나로 묶인다")
+    @Test
+    void digest() {
+        // given
+        notificationCoalescer.add(1L, 10L, "개발팀", "로그인 → 완료", "로그인 완료");
+        notificationCoalescer.add(1L, 10L, "개발팀", "회원가입 → 완료", "회원가입 완료");
+        notificationCoalescer.add(2L, 10L, "개발팀", "로그인 → 완료", "로그인 완료");
+
+        // when
+        notificationCoalescer.flush();
+
+        // then
+        ArgumentCaptor<Object> content = ArgumentCaptor.forClass(Object.class);
+        verify(notificationService).notify(eq(1L), eq(10L), content.capture());
+        assertThat((String) content.getValue()).contains("2건", "로그인 → 완료", "회원가입 → 완료");
+        verify(notificationService).notify(2L, 10L, "로그인 완료");
+    }
+
+    @DisplayName("묶는 시간이 지나지 않은 알림은 보내지 않는다")
+    @Test
+    void waitWindow() {
+        // given
+        ReflectionTestUtils.setField(notificationCoalescer, "windowMillis", 60_000L);
+        notificationCoalescer.add(1L, 10L, "개발팀", "로그인 → 완료", "로그인 완료");
+
+        // when
+        notificationCoalescer.flush();
+
+        // then
+        verify(notificationService, never()).notify(any(), any(), any());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.todo.service.notification;
+
+import com.example.todo.domain.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NotificationDispatcherTest {
+
+    NotificationRepository notificationRepository;
+    ThreadPoolTaskExecutor notificationExecutor;
+    NotificationDispatcher notificationDispatcher;
+    SseConnection connection;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = Mockito.mock(NotificationRepository.class);
+        // 전송 작업을 실행하지 않아서 큐에 쌓인 상태를 확인한다
+        notificationExecutor = Mockito.mock(ThreadPoolTaskExecutor.class);
+        notificationDispatcher = new NotificationDispatcher(notificationRepository, notificationExecutor);
+        ReflectionTestUtils.setField(notificationDispatcher, "queueCapacity", 2);
+        connection = new SseConnection(1L, new SseEmitter());
+    }
+
+    @DisplayName("큐가 가득 차면 가장 오래된 이벤트를 버린다")
+    @Test
+    void dropOldest() {
+        // given
+        ReflectionTestUtils.setField(notificationDispatcher, "overflowPolicy", NotificationOverflowPolicy.DROP_OLDEST);
+
+        // when
+        notificationDispatcher.enqueue(connection, SseEvent.of("1", "첫번째"));
+        notificationDispatcher.enqueue(connection, SseEvent.of("2", "두번째"));
+        notificationDispatcher.enqueue(connection, SseEvent.of("3", "세번째"));
+
+        // then
+        assertThat(connection.getQueue()).extracting(SseEvent::getId).containsExactly("2", "3");
+        assertThat(notificationDispatcher.getMetrics().getDropped()).isEqualTo(1);
+        verify(notificationExecutor, times(1)).execute(any(Runnable.class));
+    }
+
+    @DisplayName("같은 키의 이벤트는 최신 것 하나만 남긴다")
+    @Test
+    void coalesce() {
+        // given
+        ReflectionTestUtils.setField(notificationDispatcher, "overflowPolicy", NotificationOverflowPolicy.COALESCE);
+
+        // when
+        notificationDispatcher.enqueue(connection, new SseEvent(null, "count", 1, "count"));
+        notificationDispatcher.enqueue(connection, SseEvent.of("1", "알림"));
+        notificationDispatcher.enqueue(connection, new SseEvent(null, "count", 2, "count"));
+
+        // then
+        assertThat(connection.getQueue()).extracting(SseEvent::getData).containsExactly("알림", 2);
+    }
+
+    @DisplayName("DISCONNECT 정책이면 큐가 가득 찼을 때 연결을 끊는다")
+    @Test
+    void disconnect() {
+        // given
+        ReflectionTestUtils.setField(notificationDispatcher, "overflowPolicy", NotificationOverflowPolicy.DISCONNECT);
+
+        // when
+        notificationDispatcher.enqueue(connection, SseEvent.of("1", "첫번째"));
+        notificationDispatcher.enqueue(connection, SseEvent.of("2", "두번째"));
+        notificationDispatcher.enqueue(connection, SseEvent.of("3", "세번째"));
+
+        // then
+        verify(notificationRepository).delete(connection);
+        assertThat(connection.getQueue()).isEmpty();
+    }
+
+    @DisplayName("끊을 때는 큐 상한과 관계없이 마지막 이벤트를 넣고, 전송 작업이 보낸 뒤 끊는다")
+    @Test
+    void closeAfterLastEvent() {
+        // given
+        ReflectionTestUtils.setField(notificationDispatcher, "overflowPolicy", NotificationOverflowPolicy.DROP_OLDEST);
+        notificationDispatcher.enqueue(connection, SseEvent.of("1", "첫번째"));
+        notificationDispatcher.enqueue(connection, SseEvent.of("2", "두번째"));
+
+        // when
+        notificationDispatcher.close(connection, SseEvent.shutdown(1000), "shutdown");
+        notificationDispatcher.enqueue(connection, SseEvent.of("3", "세번째"));
+
+        // then
+        assertThat(connection.getQueue()).extracting(SseEvent::getName)
+                .containsExactly(SseEvent.DEFAULT_NAME, SseEvent.DEFAULT_NAME, SseEvent.SHUTDOWN_NAME);
+        verify(notificationRepository, never()).delete(connection);
+
+        // when (전송 작업 실행)
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(notificationExecutor).execute(captor.capture());
+        captor.getValue().run();
+
+        // then
+        assertThat(connection.getQueue()).isEmpty();
+        verify(notificationRepository).delete(connection);
+        assertThat(notificationDispatcher.getMetrics().getDisconnected()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.todo.service.notification;
+
+import com.example.todo.domain.repository.NotificationRepository;
+import com.example.todo.service.task.TaskLiveChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationDrainerTest {
+
+    NotificationRepository notificationRepository;
+    NotificationDispatcher notificationDispatcher;
+    NotificationTopicRegistry notificationTopicRegistry;
+    ReactiveNotificationHub reactiveNotificationHub;
+    NotificationDrainer notificationDrainer;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = Mockito.mock(NotificationRepository.class);
+        notificationDispatcher = Mockito.mock(NotificationDispatcher.class);
+        notificationTopicRegistry = Mockito.mock(NotificationTopicRegistry.class);
+        reactiveNotificationHub = Mockito.mock(ReactiveNotificationHub.class);
+        notificationDrainer = new NotificationDrainer(notificationRepository, notificationDispatcher,
+                notificationTopicRegistry, reactiveNotificationHub, Mockito.mock(TaskLiveChannel.class));
+        ReflectionTestUtils.setField(notificationDrainer, "windowMillis", 0L);
+        ReflectionTestUtils.setField(notificationDrainer, "waves", 3);
+        ReflectionTestUtils.setField(notificationDrainer, "retryMinMillis", 1000L);
+        ReflectionTestUtils.setField(notificationDrainer, "retryMaxMillis", 5000L);
+    }
+
+    @DisplayName("종료 시 모든 연결에 retry 값이 있는 종료 이벤트를 보내고 끊는다")
+    @Test
+    void drain() {
+        // given
+        List<SseConnection> connections = new ArrayList<>();
+        for (long userId = 1; userId <= 5; userId++) connections.add(new SseConnection(userId, new SseEmitter()));
+        when(notificationRepository.findAll()).thenReturn(connections);
+        when(notificationTopicRegistry.findAllBroadcast()).thenReturn(List.of(new SseConnection(null, new SseEmitter())));
+        when(reactiveNotificationHub.findAllUserIds()).thenReturn(new ArrayList<>(List.of(7L, 8L)));
+
+        // when
+        notificationDrainer.drain();
+
+        // then
+        ArgumentCaptor<SseEvent> captor = ArgumentCaptor.forClass(SseEvent.class);
+        verify(notificationDispatcher, times(6)).close(any(), captor.capture(), eq("shutdown"));
+        verify(notificationDispatcher, never()).sendNow(any(), any());
+        assertThat(captor.getAllValues())
+                .allSatisfy(event -> {
+                    assertThat(event.getName()).isEqualTo(SseEvent.SHUTDOWN_NAME);
+                    assertThat(event.getRetryMillis()).isBetween(1000L, 5000L);
+                });
+        verify(reactiveNotificationHub).close(eq(7L), anyLong());
+        verify(reactiveNotificationHub).close(eq(8L), anyLong());
+        assertThat(notificationDrainer.isDraining()).isTrue();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.todo.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationRelayTest {
+
+    StringRedisTemplate stringRedisTemplate;
+    RedisMessageListenerContainer container;
+    NotificationSender notificationSender;
+    NotificationTopicRegistry notificationTopicRegistry;
+    NotificationRelay notificationRelay;
+
+    @BeforeEach
+    void setUp() {
+        stringRedisTemplate = Mockito.mock(StringRedisTemplate.class);
+        container = Mockito.mock(RedisMessageListenerContainer.class);
+        notificationSender = Mockito.mock(NotificationSender.class);
+        notificationTopicRegistry = Mockito.mock(NotificationTopicRegistry.class);
+        notificationRelay = new NotificationRelay(stringRedisTemplate, container, new ObjectMapper(),
+                notificationSender, notificationTopicRegistry);
+    }
+
+    @DisplayName("같은 샤드의 연결이 모두 끊길 때만 구독을 해제한다")
+    @Test
+    void subscribeOncePerShard() {
+        // given
+        Long userId = 1L;
+        Long sameShardUserId = 1L + NotificationRelay.SHARD_COUNT;
+
+        // when
+        notificationRelay.acquire(userId);
+        notificationRelay.acquire(sameShardUserId);
+        notificationRelay.release(userId);
+
+        // then
+        verify(container, times(1)).addMessageListener(eq(notificationRelay), eq(new ChannelTopic("notification:shard:1")));
+        verify(container, never()).removeMessageListener(any(), any(ChannelTopic.class));
+
+        notificationRelay.release(sameShardUserId);
+        verify(container, times(1)).removeMessageListener(eq(notificationRelay), eq(new ChannelTopic("notification:shard:1")));
+    }
+
+    @DisplayName("받은 메시지는 이 서버에 연결된 사용자에게만 전송한다")
+    @Test
+    void deliverLocalOnly() {
+        // given
+        when(notificationSender.isConnected(1L)).thenReturn(true);
+        when(notificationSender.isConnected(2L)).thenReturn(false);
+
+        // when
+        notificationRelay.onMessage(message("{\"userId\":1,\"eventId\":\"10\",\"data\":\"알림\"}"), null);
+        notificationRelay.onMessage(message("{\"userId\":2,\"eventId\":\"11\",\"data\":\"알림\"}"), null);
+
+        // then
+        verify(notificationSender).sendLocal(eq(1L), argThat(event ->
+                "10".equals(event.getId()) && "알림".equals(event.getData())));
+        verify(notificationSender, never()).sendLocal(eq(2L), any(SseEvent.class));
+    }
+
+    @DisplayName("팀 메시지는 팀 토픽 구독자에게 전달한다")
+    @Test
+    void deliverTeam() {
+        // when
+        notificationRelay.onMessage(message("{\"teamId\":10,\"eventId\":\"12\",\"data\":\"팀 알림\"}"), null);
+
+        // then
+        verify(notificationTopicRegistry).publish(eq(10L), argThat(event ->
+                "12".equals(event.getId()) && "팀 알림".equals(event.getData())));
+        verify(notificationSender, never()).sendLocal(any(), any(SseEvent.class));
+    }
+
+    @DisplayName("발행에 실패하면 false를 반환한다")
+    @Test
+    void publishFailed() {
+        // given
+        doThrow(new RuntimeException("connection refused"))
+                .when(stringRedisTemplate).convertAndSend(anyString(), anyString());
+
+        // when
+        boolean published = notificationRelay.publish(1L, "10", "알림");
+
+        // then
+        assertThat(published).isFalse();
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage("notification:shard:1".getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
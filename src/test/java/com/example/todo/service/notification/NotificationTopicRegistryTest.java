@@ -0,0 +1,57 @@
+package com.example.todo.service.notification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationTopicRegistryTest {
+
+    NotificationDispatcher notificationDispatcher;
+    NotificationTopicRegistry notificationTopicRegistry;
+
+    @BeforeEach
+    void setUp() {
+        notificationDispatcher = Mockito.mock(NotificationDispatcher.class);
+        notificationTopicRegistry = new NotificationTopicRegistry(notificationDispatcher, Mockito.mock(ReactiveNotificationHub.class));
+    }
+
+    @DisplayName("팀 알림은 팀 토픽에 가입한 연결에만 전달된다")
+    @Test
+    void publishToTeam() {
+        // given
+        SseConnection member = new SseConnection(1L, new SseEmitter());
+        SseConnection other = new SseConnection(2L, new SseEmitter());
+        notificationTopicRegistry.join(member, 10L);
+        notificationTopicRegistry.join(other, 20L);
+
+        // when
+        notificationTopicRegistry.publish(10L, SseEvent.of("1", "팀 알림"));
+
+        // then
+        verify(notificationDispatcher).enqueue(eq(member), any());
+        verify(notificationDispatcher, never()).enqueue(eq(other), any());
+    }
+
+    @DisplayName("연결이 끊기면 가입한 모든 팀 토픽에서 빠진다")
+    @Test
+    void leaveAll() {
+        // given
+        SseConnection connection = new SseConnection(1L, new SseEmitter());
+        notificationTopicRegistry.join(connection, 10L);
+        notificationTopicRegistry.join(connection, 20L);
+
+        // when
+        assertThat(notificationTopicRegistry.leaveAll(connection)).containsExactlyInAnyOrder(10L, 20L);
+        notificationTopicRegistry.publish(10L, SseEvent.of("1", "팀 알림"));
+
+        // then
+        assertThat(notificationTopicRegistry.countTeams()).isZero();
+        verify(notificationDispatcher, never()).enqueue(any(), any());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.todo.service.notification;
+
+import com.example.todo.domain.repository.NotificationInboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationUnreadCounterTest {
+
+    StringRedisTemplate stringRedisTemplate;
+    ValueOperations<String, String> valueOperations;
+    NotificationInboxRepository notificationInboxRepository;
+    NotificationRelay notificationRelay;
+    NotificationSender notificationSender;
+    NotificationUnreadCounter notificationUnreadCounter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        stringRedisTemplate = Mockito.mock(StringRedisTemplate.class);
+        valueOperations = Mockito.mock(ValueOperations.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        notificationInboxRepository = Mockito.mock(NotificationInboxRepository.class);
+        notificationRelay = Mockito.mock(NotificationRelay.class);
+        notificationSender = Mockito.mock(NotificationSender.class);
+        notificationUnreadCounter = new NotificationUnreadCounter(stringRedisTemplate, notificationInboxRepository,
+                notificationRelay, notificationSender);
+        ReflectionTestUtils.setField(notificationUnreadCounter, "ttlMillis", 60_000L);
+    }
+
+    @DisplayName("카운터가 있으면 DB를 조회하지 않는다")
+    @Test
+    void getCountFromRedis() {
+        // given
+        when(valueOperations.get("notification:unread:1")).thenReturn("3");
+
+        // when
+        long count = notificationUnreadCounter.getCount(1L);
+
+        // then
+        assertThat(count).isEqualTo(3);
+        verify(notificationInboxRepository, never()).countByReceiverIdAndReadAtIsNull(any());
+    }
+
+    @DisplayName("카운터가 없으면 개인 알림을 DB에서 세어 초기화하고, 읽음 커서 이후의 팀 알림 수를 더한다")
+    @Test
+    void getCountInitializes() {
+        // given
+        when(notificationInboxRepository.countByReceiverIdAndReadAtIsNull(1L)).thenReturn(5L);
+        when(notificationInboxRepository.countTeamUnread(1L, null, null)).thenReturn(2L);
+        when(valueOperations.setIfAbsent(eq("notification:unread:1"), eq("5"), any(Duration.class))).thenReturn(true);
+
+        // when
+        long count = notificationUnreadCounter.getCount(1L);
+
+        // then
+        assertThat(count).isEqualTo(7);
+    }
+
+    @DisplayName("증가한 값을 unread-count 이벤트로 발행하고, 카운터가 없으면 보내지 않는다")
+    @Test
+    @SuppressWarnings("unchecked")
+    void incrementPublishesCount() {
+        // given
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(List.of("notification:unread:1")), any(), any()))
+                .thenReturn(4L);
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(List.of("notification:unread:2")), any(), any()))
+                .thenReturn(-1L);
+        when(notificationRelay.publish(anyLong(), any(SseEvent.class))).thenReturn(true);
+
+        // when
+        notificationUnreadCounter.increment(1L);
+        notificationUnreadCounter.increment(2L);
+
+        // then
+        verify(notificationRelay).publish(eq(1L), argThat((SseEvent event) ->
+                SseEvent.UNREAD_COUNT_NAME.equals(event.getName()) && Long.valueOf(4L).equals(event.getData())));
+        verify(notificationRelay, never()).publish(eq(2L), any(SseEvent.class));
+    }
+}
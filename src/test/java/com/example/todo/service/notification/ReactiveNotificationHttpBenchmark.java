@@ -0,0 +1,182 @@
+package com.example.todo.service.notification;
+
+import jakarta.servlet.ServletRegistration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * /api/notifications/stream 과 같은 방식(Spring MVC가 Flux를 서블릿 비동기 요청으로 전송)으로
+ * 내장 Tomcat에 실제 HTTP 연결을 열어 연결당 힙과 이벤트 전송 CPU 시간을 측정합니다.
+ * 연결 수는 -Dbenchmark.connections 로 바꿀 수 있습니다. (연결마다 서버, 클라이언트 소켓 두 개의 파일 디스크립터 사용)
+ * 힙은 같은 JVM의 클라이언트 소켓까지 포함하므로 서버만의 값보다 조금 큽니다.
+ * 일반 테스트에서는 제외되고 ./gradlew benchmark 로만 실행됩니다.
+ */
+@Tag("benchmark")
+class ReactiveNotificationHttpBenchmark {
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 2_000);
+    private static final int EVENTS_PER_CONNECTION = 5;
+    private static final long TIMEOUT_MILLIS = 60_000;
+    private static final double GB = 1024d * 1024 * 1024;
+
+    static ReactiveNotificationHub hub;
+    WebServer webServer;
+
+    @BeforeEach
+    void setUp() {
+        hub = new ReactiveNotificationHub(3_600_000, 100);
+        AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        context.register(StreamConfig.class);
+
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        factory.addConnectorCustomizers(connector -> connector.setProperty("maxConnections", "-1"));
+        webServer = factory.getWebServer(servletContext -> {
+            ServletRegistration.Dynamic dispatcher = servletContext.addServlet("dispatcher", new DispatcherServlet(context));
+            dispatcher.setLoadOnStartup(1);
+            dispatcher.setAsyncSupported(true);
+            dispatcher.addMapping("/");
+        });
+        webServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        webServer.stop();
+    }
+
+    @DisplayName("Tomcat 위 Reactor 스트림의 실제 HTTP 연결당 메모리, 이벤트당 CPU 시간")
+    @Test
+    void httpStreams() throws Exception {
+        List<SocketChannel> channels = new ArrayList<>(CONNECTIONS);
+        Selector selector = Selector.open();
+        InetSocketAddress address = new InetSocketAddress("localhost", webServer.getPort());
+
+        // given
+        long before = usedHeap();
+        for (int i = 0; i < CONNECTIONS; i++) {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.write(StandardCharsets.US_ASCII.encode("GET /stream/" + i + " HTTP/1.1\r\n" +
+                    "Host: localhost\r\nAccept: text/event-stream\r\n\r\n"));
+            channel.configureBlocking(false);
+            // 이전 블록의 마지막 바이트 (블록 경계에 걸친 이벤트 끝 표시를 세기 위함)
+            channel.register(selector, SelectionKey.OP_READ, new int[]{0});
+            channels.add(channel);
+        }
+        waitUntil(() -> hub.count() == CONNECTIONS);
+        long heapPerConnection = (usedHeap() - before) / CONNECTIONS;
+
+        // when
+        long events = (long) CONNECTIONS * EVENTS_PER_CONNECTION;
+        long cpu = processCpuTime();
+        for (int round = 0; round < EVENTS_PER_CONNECTION; round++)
+            for (long userId = 0; userId < CONNECTIONS; userId++)
+                hub.emitToUser(userId, SseEvent.of(String.valueOf(round), "benchmark"));
+        long received = receive(selector, events);
+        long cpuPerEvent = (processCpuTime() - cpu) / events;
+
+        // then
+        System.out.printf("reactive over http : %d connections, %d bytes/connection, %.0f connections/GB, " +
+                        "%d ns cpu/event, %.0f events/core-second%n",
+                CONNECTIONS, heapPerConnection, GB / Math.max(1, heapPerConnection),
+                cpuPerEvent, 1e9 / Math.max(1, cpuPerEvent));
+        assertThat(received).isEqualTo(events);
+
+        for (SocketChannel channel : channels) channel.close();
+        selector.close();
+        waitUntil(() -> hub.count() == 0);
+    }
+
+    //이벤트 끝 표시(빈 줄)를 세어 모든 이벤트가 도착할 때까지 읽는다
+    private static long receive(Selector selector, long expected) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(16 * 1024);
+        long received = 0;
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (received < expected && System.currentTimeMillis() < deadline) {
+            if (selector.select(1_000) == 0) continue;
+            for (SelectionKey key : selector.selectedKeys()) {
+                int[] last = (int[]) key.attachment();
+                buffer.clear();
+                if (((SocketChannel) key.channel()).read(buffer) <= 0) continue;
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b == '\n' && last[0] == '\n') received++;
+                    last[0] = b;
+                }
+            }
+            selector.selectedKeys().clear();
+        }
+        return received;
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("timed out, hub subscribers : " + hub.count());
+            Thread.sleep(50);
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    //Tomcat, Reactor 스레드를 포함한 프로세스 전체 CPU 시간
+    private static long processCpuTime() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+
+    @Configuration
+    @EnableWebMvc
+    static class StreamConfig implements WebMvcConfigurer {
+        @Override
+        public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+            configurer.setDefaultTimeout(TIMEOUT_MILLIS * 10);
+        }
+
+        @Bean
+        StreamController streamController() {
+            return new StreamController();
+        }
+    }
+
+    @RestController
+    static class StreamController {
+        @GetMapping(value = "/stream/{userId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        Flux<ServerSentEvent<Object>> stream(@PathVariable("userId") Long userId) {
+            return hub.stream(userId, List.of());
+        }
+    }
+}
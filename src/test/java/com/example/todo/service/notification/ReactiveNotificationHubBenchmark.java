@@ -0,0 +1,83 @@
+package com.example.todo.service.notification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 유휴 연결 하나당 메모리와 이벤트 전송 CPU 시간을 SseEmitter 방식과 비교합니다.
+ * 일반 테스트에서는 제외되고 ./gradlew benchmark 로만 실행됩니다.
+ */
+@Tag("benchmark")
+class ReactiveNotificationHubBenchmark {
+    private static final int CONNECTIONS = 100_000;
+    private static final int USERS = 10_000;
+    private static final int EVENTS = 100_000;
+    private static final double GB = 1024d * 1024 * 1024;
+
+    @DisplayName("Reactor 스트림 10만 개의 연결당 메모리, 이벤트당 CPU 시간")
+    @Test
+    void reactiveStreams() {
+        ReactiveNotificationHub hub = new ReactiveNotificationHub(60_000, 100);
+        AtomicLong received = new AtomicLong();
+        List<Disposable> subscriptions = new ArrayList<>(CONNECTIONS);
+
+        // given
+        long before = usedHeap();
+        for (int i = 0; i < CONNECTIONS; i++) {
+            long userId = i % USERS;
+            subscriptions.add(hub.stream(userId, List.of(userId % 100))
+                    .subscribe(event -> received.incrementAndGet()));
+        }
+        long heapPerConnection = (usedHeap() - before) / CONNECTIONS;
+
+        // when
+        long cpu = cpuTime();
+        for (int i = 0; i < EVENTS; i++) hub.emitToUser((long) (i % USERS), SseEvent.of(String.valueOf(i), "benchmark"));
+        long cpuPerEvent = (cpuTime() - cpu) / EVENTS;
+
+        // then
+        System.out.printf("reactive : %d bytes/connection, %.0f connections/GB, %d ns cpu/event, %.0f events/core-second%n",
+                heapPerConnection, GB / Math.max(1, heapPerConnection), cpuPerEvent, 1e9 / Math.max(1, cpuPerEvent));
+        assertThat(hub.count()).isEqualTo(CONNECTIONS);
+        assertThat(received.get()).isEqualTo((long) EVENTS * (CONNECTIONS / USERS));
+
+        subscriptions.forEach(Disposable::dispose);
+        assertThat(hub.count()).isZero();
+    }
+
+    @DisplayName("SseEmitter 연결 10만 개의 연결당 메모리 (비교용)")
+    @Test
+    void emitterConnections() {
+        List<SseConnection> connections = new ArrayList<>(CONNECTIONS);
+
+        long before = usedHeap();
+        for (int i = 0; i < CONNECTIONS; i++) connections.add(new SseConnection((long) (i % USERS), new SseEmitter()));
+        long heapPerConnection = (usedHeap() - before) / CONNECTIONS;
+
+        System.out.printf("emitter : %d bytes/connection, %.0f connections/GB%n",
+                heapPerConnection, GB / Math.max(1, heapPerConnection));
+        assertThat(connections).hasSize(CONNECTIONS);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long cpuTime() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        return threadMXBean.getCurrentThreadCpuTime();
+    }
+}
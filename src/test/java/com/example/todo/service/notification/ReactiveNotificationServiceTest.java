@@ -0,0 +1,123 @@
+package com.example.todo.service.notification;
+
+import com.example.todo.domain.entity.NotificationEntity;
+import com.example.todo.domain.repository.MemberRepository;
+import com.example.todo.domain.repository.NotificationInboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveNotificationServiceTest {
+
+    NotificationRelay notificationRelay;
+    MemberRepository memberRepository;
+    NotificationInboxRepository notificationInboxRepository;
+    ReactiveNotificationHub reactiveNotificationHub;
+    ReactiveNotificationService reactiveNotificationService;
+
+    @BeforeEach
+    void setUp() {
+        notificationRelay = Mockito.mock(NotificationRelay.class);
+        memberRepository = Mockito.mock(MemberRepository.class);
+        notificationInboxRepository = Mockito.mock(NotificationInboxRepository.class);
+        reactiveNotificationHub = new ReactiveNotificationHub(60_000, 100);
+        reactiveNotificationService = new ReactiveNotificationService(reactiveNotificationHub, notificationRelay,
+                memberRepository, notificationInboxRepository, Mockito.mock(NotificationDrainer.class));
+        ReflectionTestUtils.setField(reactiveNotificationService, "liveBufferSize", 100);
+        when(memberRepository.findTeamIdsByUserId(1L)).thenReturn(List.of(10L));
+    }
+
+    @DisplayName("재전송 중에 연결이 끊겨도 Redis 구독을 놓는다")
+    @Test
+    void releaseWhenCancelledDuringReplay() {
+        // given
+        NotificationEntity notificationEntity = new NotificationEntity();
+        notificationEntity.setId(5L);
+        notificationEntity.setContent("알림");
+        when(notificationInboxRepository.findInboxAfter(eq(1L), eq(List.of(10L)), eq(0L), any()))
+                .thenReturn(List.of(notificationEntity));
+
+        // when
+        ServerSentEvent<Object> first = reactiveNotificationService.stream(1L, "0")
+                .take(1)
+                .blockLast(Duration.ofSeconds(5));
+
+        // then
+        assertThat(first.id()).isEqualTo("5");
+        verify(notificationRelay).acquire(1L);
+        verify(notificationRelay).acquireTeam(10L);
+        verify(notificationRelay).release(1L);
+        verify(notificationRelay).releaseTeam(10L);
+    }
+
+    @DisplayName("재전송 중에 발행된 알림은 재전송 뒤에 보내고, 이미 재전송한 알림은 다시 보내지 않는다")
+    @Test
+    void keepLiveEventsDuringReplay() {
+        // given
+        NotificationEntity notificationEntity = new NotificationEntity();
+        notificationEntity.setId(5L);
+        notificationEntity.setContent("알림");
+        when(notificationInboxRepository.findInboxAfter(eq(1L), eq(List.of(10L)), eq(0L), any()))
+                .thenAnswer(invocation -> {
+                    // 조회하는 사이에 5번(이미 저장됨), 6번 알림이 실시간으로 도착한다
+                    reactiveNotificationHub.emitToUser(1L, SseEvent.of("5", "알림"));
+                    reactiveNotificationHub.emitToUser(1L, SseEvent.of("6", "새 알림"));
+                    return List.of(notificationEntity);
+                });
+
+        // when
+        List<ServerSentEvent<Object>> events = reactiveNotificationService.stream(1L, "0")
+                .take(2)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // then
+        assertThat(events).extracting(ServerSentEvent::id).containsExactly("5", "6");
+    }
+
+    @DisplayName("재전송은 페이지 단위로 이어서 조회한다")
+    @Test
+    void replayInPages() {
+        // given
+        List<NotificationEntity> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            NotificationEntity notificationEntity = new NotificationEntity();
+            notificationEntity.setId(id);
+            firstPage.add(notificationEntity);
+        }
+        NotificationEntity last = new NotificationEntity();
+        last.setId(101L);
+        when(notificationInboxRepository.findInboxAfter(eq(1L), eq(List.of(10L)), eq(0L), any())).thenReturn(firstPage);
+        when(notificationInboxRepository.findInboxAfter(eq(1L), eq(List.of(10L)), eq(100L), any())).thenReturn(List.of(last));
+
+        // when
+        ServerSentEvent<Object> event = reactiveNotificationService.stream(1L, "0")
+                .take(101)
+                .blockLast(Duration.ofSeconds(5));
+
+        // then
+        assertThat(event.id()).isEqualTo("101");
+    }
+
+    @DisplayName("구독하기 전에는 Redis 구독을 잡지 않는다")
+    @Test
+    void acquireOnSubscribe() {
+        // when
+        reactiveNotificationService.stream(1L, null);
+
+        // then
+        verify(notificationRelay, never()).acquire(anyLong());
+        verify(notificationRelay, never()).acquireTeam(anyLong());
+    }
+}
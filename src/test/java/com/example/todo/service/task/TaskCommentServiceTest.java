@@ -0,0 +1,86 @@
+package com.example.todo.service.task;
+
+import com.example.todo.domain.entity.TaskApiEntity;
+import com.example.todo.domain.entity.TaskCommentEntity;
+import com.example.todo.domain.entity.TeamEntity;
+import com.example.todo.domain.repository.MemberRepository;
+import com.example.todo.domain.repository.TaskApiRepository;
+import com.example.todo.domain.repository.TaskCommentReplyRepository;
+import com.example.todo.domain.repository.TaskCommentRepository;
+import com.example.todo.domain.repository.TeamReposiotry;
+import com.example.todo.domain.repository.user.UserRepository;
+import com.example.todo.dto.task.TaskCommentReplyDto;
+import com.example.todo.exception.ErrorCode;
+import com.example.todo.exception.TodoAppException;
+import com.example.todo.service.cache.CommentPageCache;
+import com.example.todo.service.notification.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskCommentServiceTest {
+
+    TaskValidationUtils taskValidationUtils;
+    TaskCommentReplyRepository taskCommentReplyRepository;
+    TaskApiRepository taskApiRepository;
+    TaskCommentService taskCommentService;
+    TaskCommentReplyDto taskCommentReplyDto;
+
+    @BeforeEach
+    void setUp() {
+        taskValidationUtils = Mockito.mock(TaskValidationUtils.class);
+        taskCommentReplyRepository = Mockito.mock(TaskCommentReplyRepository.class);
+        taskApiRepository = Mockito.mock(TaskApiRepository.class);
+        taskCommentService = new TaskCommentService(Mockito.mock(TaskCommentRepository.class), Mockito.mock(MemberRepository.class),
+                Mockito.mock(UserRepository.class), Mockito.mock(TeamReposiotry.class), taskApiRepository,
+                Mockito.mock(NotificationService.class), taskValidationUtils, taskCommentReplyRepository,
+                Mockito.mock(CommentPageCache.class), Mockito.mock(TaskLiveChannel.class));
+        taskCommentReplyDto = new TaskCommentReplyDto();
+        taskCommentReplyDto.setReply("답글");
+
+        // 팀 1의 업무 10, 업무 20
+        when(taskValidationUtils.getTaskById(10L)).thenReturn(task(10L, 1L));
+        when(taskValidationUtils.getTaskById(20L)).thenReturn(task(20L, 2L));
+    }
+
+    @DisplayName("다른 업무의 댓글에는 답글을 달 수 없다")
+    @Test
+    void rejectCommentOfOtherTask() {
+        // given
+        TaskCommentEntity taskCommentEntity = new TaskCommentEntity();
+        taskCommentEntity.setId(5L);
+        taskCommentEntity.setTaskApiEntity(task(30L, 1L));
+        when(taskValidationUtils.getTaskCommentById(5L)).thenReturn(taskCommentEntity);
+
+        // when, then
+        assertThatThrownBy(() -> taskCommentService.addReply(1L, 1L, 10L, 5L, taskCommentReplyDto))
+                .isInstanceOf(TodoAppException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.NOT_FOUND_COMMENT);
+        verify(taskCommentReplyRepository, never()).save(any());
+        verify(taskApiRepository, never()).addReplyCount(anyLong(), anyInt());
+    }
+
+    @DisplayName("다른 팀의 업무에는 답글을 달 수 없다")
+    @Test
+    void rejectTaskOfOtherTeam() {
+        // when, then
+        assertThatThrownBy(() -> taskCommentService.addReply(1L, 1L, 20L, 5L, taskCommentReplyDto))
+                .isInstanceOf(TodoAppException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.NOT_MATCH_TEAM_AND_TASK);
+        verify(taskCommentReplyRepository, never()).save(any());
+    }
+
+    private static TaskApiEntity task(Long taskId, Long teamId) {
+        TeamEntity team = new TeamEntity();
+        team.setId(teamId);
+        TaskApiEntity taskApiEntity = new TaskApiEntity();
+        taskApiEntity.setId(taskId);
+        taskApiEntity.setTeam(team);
+        return taskApiEntity;
+    }
+}
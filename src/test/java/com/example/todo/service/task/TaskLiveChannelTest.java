@@ -0,0 +1,51 @@
+package com.example.todo.service.task;
+
+import com.example.todo.service.notification.NotificationDispatcher;
+import com.example.todo.service.notification.SseConnection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskLiveChannelTest {
+
+    NotificationDispatcher notificationDispatcher;
+    TaskLiveChannel taskLiveChannel;
+
+    @BeforeEach
+    void setUp() {
+        notificationDispatcher = Mockito.mock(NotificationDispatcher.class);
+        taskLiveChannel = new TaskLiveChannel(Mockito.mock(StringRedisTemplate.class),
+                Mockito.mock(RedisMessageListenerContainer.class),
+                new ObjectMapper().registerModule(new JavaTimeModule()), notificationDispatcher);
+    }
+
+    @DisplayName("업무 변경은 그 업무를 구독 중인 연결에만 전달된다")
+    @Test
+    void deliverToTaskSubscribers() {
+        // given
+        taskLiveChannel.subscribe(1L, 10L);
+        taskLiveChannel.subscribe(2L, 20L);
+
+        // when
+        taskLiveChannel.onMessage(new DefaultMessage("task:live".getBytes(StandardCharsets.UTF_8),
+                "{\"type\":\"COMMENT_CREATED\",\"taskId\":10,\"commentId\":5,\"content\":\"댓글\"}".getBytes(StandardCharsets.UTF_8)), null);
+
+        // then
+        verify(notificationDispatcher, times(1)).enqueue(argThat((SseConnection connection) -> connection.getUserId().equals(1L)),
+                argThat(event -> TaskLiveChannel.EVENT_NAME.equals(event.getName())));
+        verify(notificationDispatcher, never()).enqueue(argThat((SseConnection connection) -> connection.getUserId().equals(2L)), any());
+        assertThat(taskLiveChannel.findAll()).hasSize(2);
+    }
+}
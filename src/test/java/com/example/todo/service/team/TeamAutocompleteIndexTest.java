@@ -0,0 +1,66 @@
+package com.example.todo.service.team;
+
+import com.example.todo.domain.entity.TeamEntity;
+import com.example.todo.domain.repository.TeamReposiotry;
+import com.example.todo.dto.team.TeamAutocompleteDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TeamAutocompleteIndexTest {
+
+    TeamAutocompleteIndex teamAutocompleteIndex;
+
+    @BeforeEach
+    void setUp() {
+        TeamReposiotry teamReposiotry = Mockito.mock(TeamReposiotry.class);
+        Mockito.when(teamReposiotry.findAllByDeletedAtIsNull()).thenReturn(List.of(
+                createTeam(1L, "스프링 스터디", 3),
+                createTeam(2L, "스프링 부트 팀", 8),
+                createTeam(3L, "스위프트 모임", 5)
+        ));
+        teamAutocompleteIndex = new TeamAutocompleteIndex(teamReposiotry);
+        teamAutocompleteIndex.rebuild();
+    }
+
+    @DisplayName("prefix로 시작하는 팀이 멤버 수 순으로 조회된다")
+    @Test
+    void suggest() {
+        // when
+        List<TeamAutocompleteDto> result = teamAutocompleteIndex.suggest("스", 10);
+
+        // then
+        assertThat(result).extracting(TeamAutocompleteDto::getId).containsExactly(2L, 3L, 1L);
+        assertThat(teamAutocompleteIndex.suggest("스프", 1)).extracting(TeamAutocompleteDto::getId).containsExactly(2L);
+    }
+
+    @DisplayName("이름 변경, 멤버 수 변경, 삭제가 반영된다")
+    @Test
+    void putAndRemove() {
+        // given
+        teamAutocompleteIndex.put(createTeam(1L, "스프링 스터디", 10));
+        teamAutocompleteIndex.put(createTeam(3L, "코틀린 모임", 5));
+        teamAutocompleteIndex.remove(2L);
+
+        // when
+        List<TeamAutocompleteDto> result = teamAutocompleteIndex.suggest("스", 10);
+
+        // then
+        assertThat(result).extracting(TeamAutocompleteDto::getId).containsExactly(1L);
+        assertThat(teamAutocompleteIndex.suggest("코", 10)).extracting(TeamAutocompleteDto::getTeamName).containsExactly("코틀린 모임");
+        assertThat(teamAutocompleteIndex.suggest("스프링 부", 10)).isEmpty();
+    }
+
+    private TeamEntity createTeam(Long id, String name, Integer participantNum) {
+        TeamEntity teamEntity = new TeamEntity();
+        teamEntity.setId(id);
+        teamEntity.setName(name);
+        teamEntity.setParticipantNum(participantNum);
+        return teamEntity;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.todo.service.team;
+
+import com.example.todo.domain.entity.TeamEntity;
+import com.example.todo.domain.repository.TeamReposiotry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TeamIndexSyncTest {
+
+    TeamReposiotry teamReposiotry;
+    StringRedisTemplate stringRedisTemplate;
+    TeamSearchIndex teamSearchIndex;
+    TeamAutocompleteIndex teamAutocompleteIndex;
+    TeamIndexSync teamIndexSync;
+
+    @BeforeEach
+    void setUp() {
+        teamReposiotry = Mockito.mock(TeamReposiotry.class);
+        stringRedisTemplate = Mockito.mock(StringRedisTemplate.class);
+        teamSearchIndex = new TeamSearchIndex(teamReposiotry);
+        teamAutocompleteIndex = new TeamAutocompleteIndex(teamReposiotry);
+        teamIndexSync = new TeamIndexSync(teamReposiotry, teamSearchIndex, teamAutocompleteIndex,
+                stringRedisTemplate, Mockito.mock(RedisMessageListenerContainer.class));
+        when(teamReposiotry.findByIdAndDeletedAtIsNull(1L)).thenReturn(Optional.of(createTeam(1L, "백엔드 스터디")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @DisplayName("트랜잭션 안의 변경은 커밋된 뒤에 색인에 반영하고 다른 서버에 알린다")
+    @Test
+    void applyAfterCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        teamIndexSync.changed(1L);
+
+        // then
+        assertThat(teamSearchIndex.search("백엔드")).isEmpty();
+        verify(stringRedisTemplate, never()).convertAndSend(anyString(), anyString());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(teamSearchIndex.search("백엔드")).containsExactly(1L);
+        assertThat(teamAutocompleteIndex.suggest("백", 10)).hasSize(1);
+        verify(stringRedisTemplate).convertAndSend(eq("team:index:changed"), endsWith("|1"));
+    }
+
+    @DisplayName("다른 서버의 변경 알림을 받으면 DB에서 팀을 다시 읽어 반영한다")
+    @Test
+    void applyRemoteChange() {
+        // when
+        teamIndexSync.onMessage(new DefaultMessage("team:index:changed".getBytes(),
+                "other|1".getBytes(StandardCharsets.UTF_8)), null);
+
+        // then
+        assertThat(teamSearchIndex.search("백엔드")).containsExactly(1L);
+    }
+
+    @DisplayName("주기적인 동기화는 DB에 없는 팀을 색인에서 뺀다")
+    @Test
+    void syncRemovesStale() {
+        // given
+        teamIndexSync.changed(1L);
+        when(teamReposiotry.findAllByDeletedAtIsNull()).thenReturn(List.of(createTeam(2L, "프론트 스터디")));
+
+        // when
+        teamIndexSync.sync();
+
+        // then
+        assertThat(teamSearchIndex.search("백엔드")).isEmpty();
+        assertThat(teamSearchIndex.search("프론트")).containsExactly(2L);
+        assertThat(teamAutocompleteIndex.suggest("백", 10)).isEmpty();
+    }
+
+    private TeamEntity createTeam(Long id, String name) {
+        TeamEntity teamEntity = new TeamEntity();
+        teamEntity.setId(id);
+        teamEntity.setName(name);
+        teamEntity.setDescription("");
+        teamEntity.setParticipantNum(1);
+        return teamEntity;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.todo.service.team;
+
+import com.example.todo.domain.entity.TeamEntity;
+import com.example.todo.domain.repository.TeamReposiotry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TeamSearchIndexTest {
+
+    TeamSearchIndex teamSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        TeamReposiotry teamReposiotry = Mockito.mock(TeamReposiotry.class);
+        Mockito.when(teamReposiotry.findAllByDeletedAtIsNull()).thenReturn(List.of(
+                createTeam(1L, "알고리즘 스터디", "매주 백준 문제 풀이"),
+                createTeam(2L, "스터디 카페 모임", "알고리즘 공부도 같이 해요"),
+                createTeam(3L, "알고리즘", "이름이 검색어와 같은 팀")
+        ));
+        teamSearchIndex = new TeamSearchIndex(teamReposiotry);
+        teamSearchIndex.rebuild();
+    }
+
+    @DisplayName("이름 일치, 이름 접두사, 설명 포함 순으로 정렬된다")
+    @Test
+    void searchRanked() {
+        // when
+        List<Long> result = teamSearchIndex.search("알고리즘");
+
+        // then
+        assertThat(result).containsExactly(3L, 1L, 2L);
+    }
+
+    @DisplayName("한 글자 검색어도 검색된다")
+    @Test
+    void searchOneLetter() {
+        // when
+        List<Long> result = teamSearchIndex.search("카");
+
+        // then
+        assertThat(result).containsExactly(2L);
+    }
+
+    @DisplayName("수정, 삭제가 색인에 반영된다")
+    @Test
+    void indexAndRemove() {
+        // given
+        teamSearchIndex.search("백엔드");
+        teamSearchIndex.index(createTeam(1L, "백엔드 스터디", "스프링 공부"));
+        teamSearchIndex.remove(3L);
+
+        // when
+        List<Long> backend = teamSearchIndex.search("백엔드");
+        List<Long> algorithm = teamSearchIndex.search("알고리즘");
+
+        // then
+        assertThat(backend).containsExactly(1L);
+        assertThat(algorithm).containsExactly(2L);
+    }
+
+    private TeamEntity createTeam(Long id, String name, String description) {
+        TeamEntity teamEntity = new TeamEntity();
+        teamEntity.setId(id);
+        teamEntity.setName(name);
+        teamEntity.setDescription(description);
+        return teamEntity;
+    }
+}